@@ -0,0 +1,271 @@
+package controller;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.IntConsumer;
+import javax.swing.SwingUtilities;
+import model.KwazamModel;
+import model.KwazamPosition;
+import model.KwazamPositionCache;
+import model.ai.KwazamEngine;
+import model.ai.KwazamMonteCarloSearch;
+import model.ai.KwazamParallelSearch;
+import model.ai.KwazamSearchLimits;
+import model.ai.KwazamSearchResult;
+import model.ai.KwazamSearcher;
+import model.movements.KwazamMove;
+import utils.KwazamConstants;
+
+/**
+ * Runs the computer player's searches off the Swing EDT.
+ * The computer thinks with the alpha-beta KwazamParallelSearch or the Monte
+ * Carlo KwazamMonteCarloSearch. Searches run one at a time on a background
+ * thread, with the search's helpers beside it. Each request carries a generation token: any
+ * cancel, e.g. for a new, restarted or loaded game, starts a new generation
+ * and stops the running search at once, and a result from an older
+ * generation is never delivered. During the opponent's turn the player
+ * ponders: it predicts the reply and searches the position after it, so a
+ * correct prediction saves time on its next move.
+ * 
+ * All methods must be called on the EDT; results are delivered on the EDT.
+ */
+public class KwazamComputerPlayer {
+    // =================================================================
+    // ATTRIBUTES
+    // =================================================================
+    private final ExecutorService worker;
+    private final KwazamModel predictionModel;
+    private final KwazamPositionCache cache;
+    private volatile KwazamSearcher search;
+    private boolean monteCarlo;
+
+    // Changed only on the EDT; searches compare against it before delivering
+    private long generation;
+
+    private long moveTimeMillis;
+    private boolean ponderEnabled;
+    private boolean pondering;
+    private long ponderHash;
+    private long ponderStart;
+
+    // =================================================================
+    // CONSTRUCTION
+    // =================================================================
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Constructs a computer player with the default threads, time per move
+     * and pondering.
+     */
+    public KwazamComputerPlayer() {
+        this.worker = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "Kwazam computer player");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.predictionModel = new KwazamModel();
+        this.cache = new KwazamPositionCache(KwazamConstants.POSITION_CACHE_MB);
+        this.search = createSearch(KwazamConstants.COMPUTER_THREADS);
+        this.moveTimeMillis = KwazamConstants.COMPUTER_MOVE_TIME_MILLIS;
+        this.ponderEnabled = true;
+    }
+
+    // =================================================================
+    // SETTINGS
+    // =================================================================
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Sets the number of search threads. Cancels any running search; the
+     * cache is kept.
+     * 
+     * @param threads the number of search threads, at least 1
+     */
+    public void setThreadCount(int threads) {
+        if (threads == search.getThreadCount())
+            return;
+
+        replaceSearch(threads);
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Sets whether the computer thinks with Monte Carlo Tree Search instead
+     * of alpha-beta. Cancels any running search.
+     * 
+     * @param enabled true for Monte Carlo Tree Search
+     */
+    public void setMonteCarlo(boolean enabled) {
+        if (enabled == monteCarlo)
+            return;
+
+        monteCarlo = enabled;
+        replaceSearch(search.getThreadCount());
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets the number of search threads.
+     * 
+     * @return the thread count
+     */
+    public int getThreadCount() {
+        return search.getThreadCount();
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Sets the time budget of each move.
+     * 
+     * @param moveTimeMillis the time per move in milliseconds
+     */
+    public void setMoveTime(long moveTimeMillis) {
+        this.moveTimeMillis = moveTimeMillis;
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Sets whether the computer thinks during the opponent's turn.
+     * 
+     * @param enabled true to ponder
+     */
+    public void setPonderEnabled(boolean enabled) {
+        this.ponderEnabled = enabled;
+        if (!enabled && pondering)
+            cancel();
+    }
+
+    // =================================================================
+    // SEARCHING
+    // =================================================================
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Starts searching for a move in the background. Stops pondering first;
+     * if the opponent played the predicted reply, the time already spent on
+     * this position is taken off the budget.
+     * 
+     * @param position the position to move in
+     * @param onMove   receives the packed move on the EDT, unless cancelled
+     */
+    public void startMove(KwazamPosition position, IntConsumer onMove) {
+        long budget = moveTimeMillis;
+        if (pondering && position.getHash() == ponderHash)
+            budget = Math.max(budget - (System.currentTimeMillis() - ponderStart), budget / 4);
+        cancel();
+
+        long requestGeneration = generation;
+        KwazamSearcher requestSearch = search;
+        long stopToken = requestSearch.getStopToken();
+        KwazamSearchLimits limits = KwazamSearchLimits.time(budget);
+
+        worker.execute(() -> {
+            KwazamSearchResult result = requestSearch.search(position, limits, stopToken);
+            SwingUtilities.invokeLater(() -> {
+                if (generation != requestGeneration)
+                    return; // Cancelled, the game has moved on
+
+                if (result.getBestMove() != KwazamMove.NONE)
+                    onMove.accept(result.getBestMove());
+            });
+        });
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Starts thinking during the opponent's turn, if pondering is enabled.
+     * Searches the position after the predicted reply, or the given position
+     * if there is no prediction, until cancelled.
+     * 
+     * @param position the position with the opponent to move
+     */
+    public void startPondering(KwazamPosition position) {
+        cancel();
+        if (!ponderEnabled)
+            return;
+
+        KwazamPosition ponderPosition = predictReply(position);
+        pondering = true;
+        ponderHash = ponderPosition.getHash();
+        ponderStart = System.currentTimeMillis();
+
+        KwazamSearcher requestSearch = search;
+        long stopToken = requestSearch.getStopToken();
+        worker.execute(() -> requestSearch.search(ponderPosition, KwazamSearchLimits.depth(KwazamEngine.MAX_PLY),
+                stopToken));
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Cancels the running or queued search, if any. Its result is never
+     * delivered and its threads stop within a few milliseconds.
+     */
+    public void cancel() {
+        generation++;
+        pondering = false;
+        search.stop();
+    }
+
+    // =================================================================
+    // PRIVATE METHODS
+    // =================================================================
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Creates a search of the selected kind. Alpha-beta searches share the
+     * player's cache, so earlier results are kept.
+     * 
+     * @param threads the number of search threads
+     * @return the search
+     */
+    private KwazamSearcher createSearch(int threads) {
+        return monteCarlo ? new KwazamMonteCarloSearch(threads) : new KwazamParallelSearch(threads, cache);
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Cancels any running search and replaces the search.
+     * 
+     * @param threads the number of search threads
+     */
+    private void replaceSearch(int threads) {
+        cancel();
+        KwazamSearcher oldSearch = search;
+        search = createSearch(threads);
+        oldSearch.shutdown();
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets the position after the reply the search expects, read from the
+     * cache of the last search.
+     * 
+     * @param position the position with the opponent to move
+     * @return the position after the predicted reply, or the given position
+     */
+    private KwazamPosition predictReply(KwazamPosition position) {
+        int reply = search.getCachedMove(position);
+        if (reply == KwazamMove.NONE)
+            return position;
+
+        predictionModel.setPosition(position);
+        int[] moves = new int[KwazamMove.MAX_POSITION_MOVES];
+        int moveCount = predictionModel.isSauCaptured() ? 0 : predictionModel.generateMoves(moves);
+
+        for (int i = 0; i < moveCount; i++) {
+            if (moves[i] == reply) {
+                predictionModel.makeMove(reply);
+                return predictionModel.isSauCaptured() ? position : predictionModel.getPosition();
+            }
+        }
+        return position; // A stale or colliding cache entry
+    }
+}
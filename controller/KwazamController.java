@@ -1,16 +1,27 @@
 package controller;
 
+import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import javax.swing.SwingUtilities;
 import model.KwazamModel;
+import model.board.KwazamBitboard;
+import model.book.KwazamBookMove;
+import model.book.KwazamOpeningBook;
+import model.movements.KwazamMove;
 import model.pieces.KwazamPiece;
 import model.pieces.Ram;
+import model.tablebase.KwazamTablebase;
+import model.tablebase.KwazamTablebaseResult;
+import utils.KwazamConstants;
 import utils.KwazamPieceColor;
 import utils.KwazamPieceType;
 import utils.SoundEffect;
 import view.KwazamView;
 import view.components.KwazamRenderPiece;
+import view.dialogs.PostGameDialog;
 
 /**
  * MVC, Singleton, Mediator Patterns
@@ -37,6 +48,21 @@ public class KwazamController {
     private int pressX, pressY;
     private boolean dragging = false;
 
+    // Computer player
+    private final KwazamComputerPlayer computerPlayer;
+    private final boolean[] computerPlayers;
+
+    // Move hints
+    private final KwazamHintProvider hintProvider;
+    private long hintHash; // Position of the pending or shown hint
+
+    // Opening book, null when there is no book file
+    private final KwazamOpeningBook openingBook;
+    private boolean showBookMoves = true;
+
+    // Endgame tablebases, probed only when their files exist
+    private final KwazamTablebase tablebase;
+
     // =================================================================
     // CONSTRUCTION
     // =================================================================
@@ -54,6 +80,11 @@ public class KwazamController {
         this.mouseHandler = new KwazamMouseHandler(this);
         this.menuHandler = new KwazamMenuHandler(this);
         this.windowHandler = new KwazamWindowHandler(this);
+        this.computerPlayer = new KwazamComputerPlayer();
+        this.computerPlayers = new boolean[KwazamPieceColor.values().length];
+        this.hintProvider = new KwazamHintProvider();
+        this.openingBook = loadOpeningBook();
+        this.tablebase = new KwazamTablebase(KwazamConstants.TABLEBASE_DIRECTORY);
     }
 
     // =================================================================
@@ -304,6 +335,328 @@ public class KwazamController {
 
         SoundEffect.playBackgroundMusic();
         view.refreshLoadGameMenu();
+        scheduleComputerMove();
+    }
+
+    // =================================================================
+    // TURN HANDLING
+    // =================================================================
+    /**
+     * Author(s): Ng Wei Da, Lam Rong Yi
+     * 
+     * Finishes a move made by a player or the computer.
+     * Ends the game if a Sau was captured, otherwise passes the turn, turns
+     * the board to the next human player and saves the game.
+     */
+    public void handleMoveMade() {
+        if (model.isWinnerFound()) {
+            SoundEffect.playWinningSound();
+
+            view.showEndGameDialog(model.getWinner());
+            model.clearSavedGame();
+
+            // Show the PostGameDialog to ask the user what to do next
+            int choice = view.showPostGameDialog();
+
+            // Handle the user's choice
+            switch (choice) {
+                case PostGameDialog.RESTART_GAME:
+                    menuHandler.restartGame();
+                    break;
+                case PostGameDialog.NEW_GAME:
+                    menuHandler.newGame();
+                    break;
+                case PostGameDialog.QUIT:
+                    System.exit(0);
+                    break;
+                default:
+                    break;
+            }
+        } else {
+            model.switchColor();
+
+            // Face the board to the player to move, unless the computer moves next
+            if (!isComputerTurn()) {
+                boolean flipped = model.getCurrentColor() == KwazamPieceColor.RED;
+                if (view.getBoardPanel().isBoardFlipped() != flipped)
+                    view.getBoardPanel().flipBoard();
+            }
+            updateView();
+
+            model.saveGame(null);
+            scheduleComputerMove();
+        }
+    }
+
+    // =================================================================
+    // COMPUTER PLAYER
+    // =================================================================
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Sets whether the computer plays a color.
+     * If it is that color's turn, the computer moves right away.
+     * 
+     * @param color   the color
+     * @param enabled true to let the computer play the color
+     */
+    public void setComputerPlayer(KwazamPieceColor color, boolean enabled) {
+        computerPlayers[color.ordinal()] = enabled;
+        computerPlayer.cancel();
+        scheduleComputerMove();
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Sets the number of threads the computer searches with. The cache is
+     * kept, so earlier results are not lost.
+     * 
+     * @param threads the number of search threads, at least 1
+     */
+    public void setComputerThreads(int threads) {
+        computerPlayer.setThreadCount(threads);
+        scheduleComputerMove();
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Sets whether the computer thinks with Monte Carlo Tree Search instead
+     * of alpha-beta.
+     * 
+     * @param enabled true for Monte Carlo Tree Search
+     */
+    public void setComputerMonteCarlo(boolean enabled) {
+        computerPlayer.setMonteCarlo(enabled);
+        scheduleComputerMove();
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Sets the computer's time budget per move. Applies from its next move.
+     * 
+     * @param moveTimeMillis the time per move in milliseconds
+     */
+    public void setComputerMoveTime(long moveTimeMillis) {
+        computerPlayer.setMoveTime(moveTimeMillis);
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Sets whether the computer thinks during the opponent's turn.
+     * 
+     * @param enabled true to let the computer ponder
+     */
+    public void setComputerPonder(boolean enabled) {
+        computerPlayer.setPonderEnabled(enabled);
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Cancels the computer's search, e.g. before the game is reset, so no
+     * move from the old game is played in the new one.
+     */
+    public void cancelComputerMove() {
+        computerPlayer.cancel();
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Checks if the computer plays a color.
+     * 
+     * @param color the color
+     * @return true if the computer plays the color, false otherwise
+     */
+    public boolean isComputerPlayer(KwazamPieceColor color) {
+        return computerPlayers[color.ordinal()];
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Checks if the computer is to move in a running game.
+     * 
+     * @return true if it is the computer's turn, false otherwise
+     */
+    public boolean isComputerTurn() {
+        return model.isRunning() && isComputerPlayer(model.getCurrentColor());
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Lets the computer move after pending events, so the board is repainted
+     * before the search starts. Does nothing if it is not the computer's turn.
+     */
+    public void scheduleComputerMove() {
+        if (isComputerTurn())
+            SwingUtilities.invokeLater(this::playComputerMove);
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Starts the computer's search in the background. The move is played when
+     * the search ends, unless the search was cancelled.
+     */
+    private void playComputerMove() {
+        if (!isComputerTurn())
+            return;
+
+        long hash = model.getHash();
+        computerPlayer.startMove(model.getPosition(), move -> applyComputerMove(move, hash));
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Plays the computer's move, then lets it ponder during the human's turn.
+     * 
+     * @param move the packed move
+     * @param hash the hash of the position the move was searched in
+     */
+    private void applyComputerMove(int move, long hash) {
+        // Never play a move found for another position
+        if (!isComputerTurn() || model.getHash() != hash)
+            return;
+
+        int to = KwazamMove.getTo(move);
+        KwazamPiece piece = model.getGameBoard().getPiece(KwazamMove.getFrom(move));
+        if (model.movePiece(piece, KwazamBitboard.squareX(to), KwazamBitboard.squareY(to))) {
+            if (KwazamMove.isCapture(move)) {
+                SoundEffect.playCaptureSound();
+            } else {
+                SoundEffect.playMoveSound();
+            }
+
+            updateView();
+            handleMoveMade();
+
+            if (model.isRunning() && !isComputerTurn())
+                computerPlayer.startPondering(model.getPosition());
+        }
+    }
+
+    // =================================================================
+    // HINTS
+    // =================================================================
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Shows a suggested move for the player to move as an arrow on the board.
+     * The search runs in the background; the arrow appears when it ends, if
+     * the position has not changed.
+     */
+    public void showHint() {
+        if (!model.isRunning() || isComputerTurn())
+            return;
+
+        // Recorded now, so views of the same position keep the search running
+        long hash = model.getHash();
+        hintHash = hash;
+        hintProvider.requestHint(model.getPosition(), move -> {
+            if (model.getHash() != hash)
+                return;
+
+            int from = KwazamMove.getFrom(move);
+            int to = KwazamMove.getTo(move);
+            view.getBoardPanel().setHintMove(KwazamBitboard.squareX(from), KwazamBitboard.squareY(from),
+                    KwazamBitboard.squareX(to), KwazamBitboard.squareY(to));
+        });
+    }
+
+    // =================================================================
+    // OPENING BOOK
+    // =================================================================
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Sets whether the opening book moves are shown on the board.
+     * 
+     * @param enabled true to show the book moves
+     */
+    public void setShowBookMoves(boolean enabled) {
+        this.showBookMoves = enabled;
+        updateView();
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Maps the opening book file, if there is one. Built with
+     * model.analysis.KwazamBookBuilder.
+     * 
+     * @return the opening book, or null if there is no usable book file
+     */
+    private static KwazamOpeningBook loadOpeningBook() {
+        if (!new File(KwazamConstants.OPENING_BOOK_FILE).exists())
+            return null;
+
+        try {
+            return KwazamOpeningBook.open(KwazamConstants.OPENING_BOOK_FILE);
+        } catch (IOException e) {
+            System.out.println("Error loading opening book: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Shows the book moves of the current position, or clears them when the
+     * position is out of the book.
+     */
+    private void updateBookMoves() {
+        List<KwazamBookMove> moves = openingBook == null || !showBookMoves || !model.isRunning() ? List.of()
+                : openingBook.getMoves(model.getHash());
+        if (moves.isEmpty()) {
+            view.getBoardPanel().clearBookMoves();
+            return;
+        }
+
+        List<int[]> bookMoves = new ArrayList<>();
+        for (KwazamBookMove bookMove : moves) {
+            int from = KwazamMove.getFrom(bookMove.getMove());
+            int to = KwazamMove.getTo(bookMove.getMove());
+            bookMoves.add(new int[] { KwazamBitboard.squareX(from), KwazamBitboard.squareY(from),
+                    KwazamBitboard.squareX(to), KwazamBitboard.squareY(to),
+                    (int) Math.round(bookMove.getWinRate() * 100) });
+        }
+        view.getBoardPanel().setBookMoves(bookMoves);
+    }
+
+    // =================================================================
+    // ENDGAME TABLEBASES
+    // =================================================================
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Shows the tablebase verdict of the current position, or clears it when
+     * no table covers the position. Tables are built with
+     * model.analysis.KwazamTablebaseGenerator.
+     */
+    private void updateSolvedText() {
+        KwazamTablebaseResult result = model.isRunning() ? tablebase.probe(model.getPosition()) : null;
+        if (result == null) {
+            view.getBoardPanel().clearSolvedText();
+            return;
+        }
+
+        if (result.getOutcome() == KwazamTablebaseResult.DRAW) {
+            view.getBoardPanel().setSolvedText("Solved: draw");
+            return;
+        }
+
+        // The result is for the side to move
+        boolean blueToMove = model.getCurrentColor() == KwazamPieceColor.BLUE;
+        boolean blueWins = blueToMove == (result.getOutcome() == KwazamTablebaseResult.WIN);
+        view.getBoardPanel().setSolvedText(
+                "Solved: " + (blueWins ? "Blue" : "Red") + " wins, capture in " + result.getDistanceToCapture());
     }
 
     // =================================================================
@@ -373,5 +726,16 @@ public class KwazamController {
         } else {
             view.getBoardPanel().clearSauInCheck(); // Clear the highlight if the Sau is not in check
         }
+
+        view.getAdvantageBar().setAdvantage(model.getScore(), view.getBoardPanel().isBoardFlipped());
+
+        // A hint, pending or shown, only holds for the position it was requested in
+        if (model.getHash() != hintHash) {
+            hintProvider.cancel();
+            view.getBoardPanel().clearHintMove();
+        }
+
+        updateBookMoves();
+        updateSolvedText();
     }
 }
@@ -0,0 +1,114 @@
+package controller;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.IntConsumer;
+import javax.swing.SwingUtilities;
+import model.KwazamPosition;
+import model.KwazamPositionCache;
+import model.ai.KwazamParallelSearch;
+import model.ai.KwazamSearchLimits;
+import model.ai.KwazamSearcher;
+import model.movements.KwazamMove;
+import utils.KwazamConstants;
+
+/**
+ * Suggests moves to the player.
+ * A hint is a short search with a deadline on a background thread, with its
+ * own single-thread search so it never slows down the computer player. Hints are kept by
+ * position hash, so asking again in the same position answers at once.
+ * 
+ * All methods must be called on the EDT; hints are delivered on the EDT.
+ */
+public class KwazamHintProvider {
+    // =================================================================
+    // ATTRIBUTES
+    // =================================================================
+    private final ExecutorService worker;
+    private final KwazamSearcher search;
+    private final Map<Long, Integer> hints;
+
+    // Changed only on the EDT, read by the worker to skip outdated requests
+    private volatile long generation;
+
+    // =================================================================
+    // CONSTRUCTION
+    // =================================================================
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Constructs a hint provider with an empty hint cache.
+     */
+    public KwazamHintProvider() {
+        this.worker = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "Kwazam hint");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.search = new KwazamParallelSearch(1, new KwazamPositionCache(KwazamConstants.HINT_CACHE_MB));
+
+        // Least recently used hints are dropped first
+        this.hints = new LinkedHashMap<Long, Integer>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Integer> eldest) {
+                return size() > KwazamConstants.HINT_CACHE_SIZE;
+            }
+        };
+    }
+
+    // =================================================================
+    // HINTS
+    // =================================================================
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Finds a hint for a position. A cached hint is delivered at once;
+     * otherwise a search is started and the hint is delivered when it ends,
+     * unless another hint was asked for in the meantime.
+     * 
+     * @param position the position to find a move in
+     * @param onHint   receives the packed move on the EDT
+     */
+    public void requestHint(KwazamPosition position, IntConsumer onHint) {
+        Integer cached = hints.get(position.getHash());
+        if (cached != null) {
+            onHint.accept(cached);
+            return;
+        }
+
+        cancel();
+        long requestGeneration = generation;
+
+        // Taken now, so a cancel between the check below and the search start still stops it
+        long stopToken = search.getStopToken();
+        worker.execute(() -> {
+            if (generation != requestGeneration)
+                return; // Replaced before it started
+
+            int move = search.search(position, KwazamSearchLimits.time(KwazamConstants.HINT_TIME_MILLIS), stopToken)
+                    .getBestMove();
+            SwingUtilities.invokeLater(() -> {
+                // A cancelled search may have stopped early, so its move is not kept
+                if (move == KwazamMove.NONE || generation != requestGeneration)
+                    return;
+
+                hints.put(position.getHash(), move);
+                onHint.accept(move);
+            });
+        });
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Cancels the pending hint, if any. Its result is discarded.
+     */
+    public void cancel() {
+        generation++;
+        search.stop();
+    }
+}
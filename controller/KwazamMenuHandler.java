@@ -4,6 +4,7 @@ import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.util.Optional;
 import javax.swing.JOptionPane;
+import javax.swing.JRadioButtonMenuItem;
 
 import utils.KwazamPieceColor;
 import utils.SoundEffect;
@@ -41,8 +42,8 @@ public class KwazamMenuHandler {
      * Author(s): Ng Wei Da, Willie Teoh Chin Wei, Lam Rong Yi
      * 
      * Initializes listeners for menu options.
-     * Sets up actions for New Game, Restart, Quit, Rules, Save Game, and Toggle
-     * Sound.
+     * Sets up actions for New Game, Restart, Quit, Rules, Save Game, Toggle
+     * Sound and the computer players.
      */
     public void initMenuListeners() {
         KwazamMenuBar menuBar = controller.getView().getKwazamMenuBar();
@@ -125,6 +126,76 @@ public class KwazamMenuHandler {
                 SoundEffect.toggleBackgroundMusic();
             }
         });
+
+        // Computer Plays Blue
+        menuBar.getComputerBlueOption().addActionListener(new ActionListener() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                controller.setComputerPlayer(KwazamPieceColor.BLUE, menuBar.getComputerBlueOption().isSelected());
+            }
+        });
+
+        // Computer Plays Red
+        menuBar.getComputerRedOption().addActionListener(new ActionListener() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                controller.setComputerPlayer(KwazamPieceColor.RED, menuBar.getComputerRedOption().isSelected());
+            }
+        });
+
+        // Algorithm
+        ActionListener algorithmListener = new ActionListener() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                controller.setComputerMonteCarlo(menuBar.getComputerMonteCarloOption().isSelected());
+            }
+        };
+        menuBar.getComputerAlphaBetaOption().addActionListener(algorithmListener);
+        menuBar.getComputerMonteCarloOption().addActionListener(algorithmListener);
+
+        // Search Threads
+        for (JRadioButtonMenuItem option : menuBar.getComputerThreadOptions()) {
+            option.addActionListener(new ActionListener() {
+                @Override
+                public void actionPerformed(ActionEvent e) {
+                    controller.setComputerThreads(Integer.parseInt(e.getActionCommand()));
+                }
+            });
+        }
+
+        // Time Per Move
+        for (JRadioButtonMenuItem option : menuBar.getComputerMoveTimeOptions()) {
+            option.addActionListener(new ActionListener() {
+                @Override
+                public void actionPerformed(ActionEvent e) {
+                    controller.setComputerMoveTime(Long.parseLong(e.getActionCommand()));
+                }
+            });
+        }
+
+        // Show Hint
+        menuBar.getHintOption().addActionListener(new ActionListener() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                controller.showHint();
+            }
+        });
+
+        // Show Book Moves
+        menuBar.getBookMovesOption().addActionListener(new ActionListener() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                controller.setShowBookMoves(menuBar.getBookMovesOption().isSelected());
+            }
+        });
+
+        // Think on Opponent's Time
+        menuBar.getComputerPonderOption().addActionListener(new ActionListener() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                controller.setComputerPonder(menuBar.getComputerPonderOption().isSelected());
+            }
+        });
     }
 
     /**
@@ -156,6 +227,37 @@ public class KwazamMenuHandler {
         for (ActionListener listener : menuBar.getToggleBackgroundMusicOption().getActionListeners()) {
             menuBar.getToggleBackgroundMusicOption().removeActionListener(listener);
         }
+        for (ActionListener listener : menuBar.getComputerBlueOption().getActionListeners()) {
+            menuBar.getComputerBlueOption().removeActionListener(listener);
+        }
+        for (ActionListener listener : menuBar.getComputerRedOption().getActionListeners()) {
+            menuBar.getComputerRedOption().removeActionListener(listener);
+        }
+        for (ActionListener listener : menuBar.getComputerAlphaBetaOption().getActionListeners()) {
+            menuBar.getComputerAlphaBetaOption().removeActionListener(listener);
+        }
+        for (ActionListener listener : menuBar.getComputerMonteCarloOption().getActionListeners()) {
+            menuBar.getComputerMonteCarloOption().removeActionListener(listener);
+        }
+        for (JRadioButtonMenuItem option : menuBar.getComputerThreadOptions()) {
+            for (ActionListener listener : option.getActionListeners()) {
+                option.removeActionListener(listener);
+            }
+        }
+        for (JRadioButtonMenuItem option : menuBar.getComputerMoveTimeOptions()) {
+            for (ActionListener listener : option.getActionListeners()) {
+                option.removeActionListener(listener);
+            }
+        }
+        for (ActionListener listener : menuBar.getComputerPonderOption().getActionListeners()) {
+            menuBar.getComputerPonderOption().removeActionListener(listener);
+        }
+        for (ActionListener listener : menuBar.getHintOption().getActionListeners()) {
+            menuBar.getHintOption().removeActionListener(listener);
+        }
+        for (ActionListener listener : menuBar.getBookMovesOption().getActionListeners()) {
+            menuBar.getBookMovesOption().removeActionListener(listener);
+        }
     }
 
     // =================================================================
@@ -168,6 +270,9 @@ public class KwazamMenuHandler {
      * Resets the game state, initializes a new game, and prompts for player names.
      */
     public void newGame() {
+        // Stop the computer, so no move from the old game is played
+        controller.cancelComputerMove();
+
         // Clear the current game state (without deleting the file)
         controller.getModel().resetGame();
         controller.getModel().setCurrentFilename(null);
@@ -194,6 +299,9 @@ public class KwazamMenuHandler {
             // Exit the game if the dialog is canceled
             System.exit(0);
         }
+
+        // Let the computer open if it plays Blue
+        controller.scheduleComputerMove();
     }
 
     /**
@@ -203,6 +311,9 @@ public class KwazamMenuHandler {
      * Resets the game state and reinitializes the game with default settings.
      */
     public void restartGame() {
+        // Stop the computer, so no move from the old game is played
+        controller.cancelComputerMove();
+
         // Clear the current game state (without deleting the file)
         controller.getModel().resetGame();
 
@@ -222,6 +333,9 @@ public class KwazamMenuHandler {
         controller.getView().initView();
         controller.initController();
         controller.updateView();
+
+        // Let the computer open if it plays Blue
+        controller.scheduleComputerMove();
     }
 
     /**
@@ -264,6 +378,9 @@ public class KwazamMenuHandler {
      * @param filename the name of the file to load
      */
     public void loadGame(String filename) {
+        // Stop the computer, so no move from the old game is played
+        controller.cancelComputerMove();
+
         // Check if the game is already running and prompt to save before loading
         if (controller.getModel().isRunning()) {
             if (!controller.getModel().hasSavedGame()) {
@@ -291,6 +408,9 @@ public class KwazamMenuHandler {
         if (controller.getModel().getCurrentColor() == KwazamPieceColor.RED) {
             controller.getView().getBoardPanel().flipBoard();
         }
+
+        // Let the computer continue if it is to move in the loaded game
+        controller.scheduleComputerMove();
     }
 
     /**
@@ -300,6 +420,9 @@ public class KwazamMenuHandler {
      * Prompts for confirmation before exiting the application.
      */
     public void quitGame() {
+        // Stop the computer before quitting
+        controller.cancelComputerMove();
+
         // Check if the game has been saved
         if (!controller.getModel().hasSavedGame()) {
             // Prompt the user to save the game before quitting
@@ -11,7 +11,6 @@ import utils.KwazamPieceColor;
 import utils.KwazamPieceType;
 import utils.SoundEffect;
 import view.components.KwazamRenderPiece;
-import view.dialogs.PostGameDialog;
 
 /**
  * Handles mouse actions for the Kwazam game.
@@ -100,6 +99,10 @@ public class KwazamMouseHandler {
      * player.
      */
     public void handleMousePressed(MouseEvent e) {
+        // The board does not take input while the computer is to move
+        if (controller.isComputerTurn())
+            return;
+
         int gridX = (e.getX() - controller.getView().getBoardPanel().getXOffset())
                 / controller.getView().getBoardPanel().getSquareSize();
         int gridY = (e.getY() - controller.getView().getBoardPanel().getYOffset())
@@ -139,6 +142,9 @@ public class KwazamMouseHandler {
      * Moves the piece to the target location if valid, or deselects the piece.
      */
     public void handleMouseReleased(MouseEvent e) {
+        if (controller.isComputerTurn())
+            return;
+
         boolean moved = false;
 
         int releaseX = e.getX();
@@ -161,18 +167,6 @@ public class KwazamMouseHandler {
                 KwazamPiece targetPiece = controller.getModel().getGameBoard().getPiece(gridX, gridY);
 
                 if (controller.getModel().movePiece(controller.getDraggedPiece(), gridX, gridY)) {
-                    // Check if the piece is a Ram and update its direction immediately
-                    if (controller.getDraggedPiece().getType() == KwazamPieceType.RAM) {
-                        Ram ramPiece = (Ram) controller.getDraggedPiece();
-
-                        if (ramPiece.getY() == 0 && ramPiece.getDirection() == -1) {
-                            ramPiece.setDirection(1); // Change direction to down
-                        } else if (ramPiece.getY() == KwazamConstants.BOARD_ROWS - 1
-                                && ramPiece.getDirection() == 1) {
-                            ramPiece.setDirection(-1); // Change direction to up
-                        }
-                    }
-
                     if (targetPiece != null) {
                         SoundEffect.playCaptureSound();
                     } else {
@@ -212,19 +206,6 @@ public class KwazamMouseHandler {
                 if (gridX >= 0 && gridX < KwazamConstants.BOARD_COLS && gridY >= 0
                         && gridY < KwazamConstants.BOARD_ROWS) {
                     if (controller.getModel().movePiece(controller.getSelectedPiece(), gridX, gridY)) {
-                        // Check if the piece is a Ram and update its direction immediately
-                        if (controller.getSelectedPiece().getType() == KwazamPieceType.RAM) {
-                            Ram ramPiece = (Ram) controller.getSelectedPiece();
-
-                            // Change direction immediately when it reaches the edge
-                            if (ramPiece.getY() == 0 && ramPiece.getDirection() == -1) {
-                                ramPiece.setDirection(1); // Change direction to down
-                            } else if (ramPiece.getY() == KwazamConstants.BOARD_ROWS - 1
-                                    && ramPiece.getDirection() == 1) {
-                                ramPiece.setDirection(-1); // Change direction to up
-                            }
-                        }
-
                         if (targetPiece != null) {
                             SoundEffect.playCaptureSound();
                         } else {
@@ -243,36 +224,7 @@ public class KwazamMouseHandler {
         controller.updateView();
 
         if (moved) {
-            if (controller.getModel().isWinnerFound()) {
-                SoundEffect.playWinningSound();
-
-                controller.getView().showEndGameDialog(controller.getModel().getWinner());
-                controller.getModel().clearSavedGame();
-
-                // Show the PostGameDialog to ask the user what to do next
-                int choice = controller.getView().showPostGameDialog();
-
-                // Handle the user's choice
-                switch (choice) {
-                    case PostGameDialog.RESTART_GAME:
-                        controller.getMenuHandler().restartGame();
-                        break;
-                    case PostGameDialog.NEW_GAME:
-                        controller.getMenuHandler().newGame();
-                        break;
-                    case PostGameDialog.QUIT:
-                        System.exit(0);
-                        break;
-                    default:
-                        break;
-                }
-            } else {
-                controller.getView().getBoardPanel().flipBoard();
-                controller.getModel().switchColor();
-                controller.updateView();
-
-                controller.getModel().saveGame(null);
-            }
+            controller.handleMoveMade();
         }
     }
 
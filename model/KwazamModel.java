@@ -6,9 +6,12 @@ import java.io.File;
 import java.io.FileReader;
 import java.io.FileWriter;
 import java.io.IOException;
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import model.board.KwazamBitboard;
 import model.board.KwazamBoard;
+import model.board.KwazamZobrist;
+import model.movements.KwazamMove;
 import model.pieces.KwazamPiece;
 import model.pieces.KwazamPieceFactory;
 import model.pieces.Ram;
@@ -33,9 +36,37 @@ public class KwazamModel {
     private String player2Name;
     private String winner;
     private boolean running;
-    private float turn;
     private String currentFilename;
 
+    // Game clock: plies played, plies since the last Tor/Xor swap and since the last capture
+    private int ply;
+    private int transformationPhase;
+    private int pliesSinceCapture;
+
+    // Hashes of every position since the game started or was loaded, the current one on top
+    private long[] positionHistory;
+    private int historyCount;
+    private final KwazamPositionCounter positionCounts;
+
+    // Game record: the position the game started from and the moves played from it before the undo stack
+    private KwazamPosition recordStart;
+    private int[] recordMoves;
+
+    // Opt-in draw rules for automated play: threefold repetition and plies without capture
+    public static final int REPETITION_LIMIT = 3;
+    public static final int DEFAULT_NO_CAPTURE_LIMIT = 100;
+    private boolean drawRulesEnabled;
+    private int noCaptureLimit;
+
+    // Undo stack for makeMove/unmakeMove, preallocated so search does not allocate
+    private static final int INITIAL_UNDO_CAPACITY = 1024;
+    private int undoCount;
+    private int[] undoMoves;
+    private KwazamPiece[] undoCaptured;
+    private int[] undoRamDirections;
+    private int[] undoPliesSinceCapture;
+    private KwazamPieceColor[] undoColors;
+
     // =================================================================
     // CONSTRUCTION
     // =================================================================
@@ -51,6 +82,16 @@ public class KwazamModel {
         this.currentColor = KwazamPieceColor.BLUE;
         this.running = false;
         this.currentFilename = null;
+
+        this.undoMoves = new int[INITIAL_UNDO_CAPACITY];
+        this.undoCaptured = new KwazamPiece[INITIAL_UNDO_CAPACITY];
+        this.undoRamDirections = new int[INITIAL_UNDO_CAPACITY];
+        this.undoPliesSinceCapture = new int[INITIAL_UNDO_CAPACITY];
+        this.undoColors = new KwazamPieceColor[INITIAL_UNDO_CAPACITY];
+        this.positionHistory = new long[INITIAL_UNDO_CAPACITY + 1];
+        this.positionCounts = new KwazamPositionCounter();
+        this.noCaptureLimit = DEFAULT_NO_CAPTURE_LIMIT;
+        this.recordMoves = new int[0];
     }
 
     // =================================================================
@@ -182,16 +223,21 @@ public class KwazamModel {
      */
     public void initGame() {
         // Clear the board and reset the game state
-        gameBoard.getPieces().clear();
+        gameBoard.clearPieces();
 
         // Set up the board with the default chess piece positions
         gameBoard.setupBoard();
 
+        // Blue always opens, also when the model is reused for another game
+        currentColor = KwazamPieceColor.BLUE;
+
         // Mark the game as running
         running = true;
 
-        // Reset the turn counter
-        turn = 0.0f;
+        // Reset the game clock, the undo stack, the position history and the game record
+        resetClock(0, 0, 0);
+        recordStart = getPosition();
+        recordMoves = new int[0];
 
         // Update the game state
         updateGameState();
@@ -212,22 +258,15 @@ public class KwazamModel {
      */
     public boolean movePiece(KwazamPiece piece, int targetX, int targetY) {
         if (isValidMove(piece, targetX, targetY)) {
-            if (hasOpponentPiece(targetX, targetY))
-                gameBoard.capturePiece(piece, targetX, targetY);
-            else
-                gameBoard.movePiece(piece, targetX, targetY);
-
-            // Increment turn count after a move
-            turn += 0.5f;
-
-            if (turn % 2 == 0) {
-                swapXorTor();
-            }
+            applyMove(KwazamMove.encode(KwazamBitboard.toSquare(piece.getX(), piece.getY()),
+                    KwazamBitboard.toSquare(targetX, targetY), hasOpponentPiece(targetX, targetY)));
 
             // Check if the opponent's Sau is in check after the move
             if (isSauCaptured()) {
                 this.winner = currentColor == KwazamPieceColor.BLUE ? player1Name : player2Name;
                 stopGame();
+            } else if (isDraw()) {
+                stopGame();
             }
 
             updateGameState();
@@ -239,32 +278,304 @@ public class KwazamModel {
     }
 
     /**
-     * Author(s): Ng Wei Da, Lim Kar Joon
+     * Author(s): Ng Wei Da
      * 
-     * Swaps all Xor and Tor pieces on the board.
-     * Updates the game state after swapping.
+     * Makes a packed move for the current player and passes the turn.
+     * The move must come from generateMoves. The prior state (captured piece,
+     * Ram direction, game clock and side to move) is pushed on the undo stack, so the move can be taken back exactly with unmakeMove.
+     * Does not set the winner, check isSauCaptured for the terminal state.
+     * 
+     * @param move the packed move
      */
-    public void swapXorTor() {
-        List<KwazamPiece> piecesToRemove = new ArrayList<>();
+    public void makeMove(int move) {
+        applyMove(move);
+        switchColor();
+    }
 
-        // First, collect the pieces to be swapped
-        for (KwazamPiece piece : gameBoard.getPieces()) {
-            if (piece.getType() == KwazamPieceType.XOR || piece.getType() == KwazamPieceType.TOR) {
-                piecesToRemove.add(piece);
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Takes back the last move made with makeMove or movePiece, restoring
+     * the captured piece, Ram direction, Tor/Xor types, game clock, position
+     * history and side to move. Does not allocate.
+     */
+    public void unmakeMove() {
+        int index = --undoCount;
+        int move = undoMoves[index];
+        int from = KwazamMove.getFrom(move);
+        KwazamPiece piece = gameBoard.getPiece(KwazamMove.getTo(move));
+
+        // Undo the transformation first so the pieces have their pre-move types
+        if (transformationPhase == 0)
+            transformTorXor();
+
+        ply--;
+        transformationPhase = (transformationPhase + KwazamZobrist.PHASES - 1) % KwazamZobrist.PHASES;
+        pliesSinceCapture = undoPliesSinceCapture[index];
+        positionCounts.remove(positionHistory[--historyCount]);
+        currentColor = undoColors[index];
+
+        if (piece.getType() == KwazamPieceType.RAM)
+            gameBoard.setRamDirection((Ram) piece, undoRamDirections[index]);
+
+        gameBoard.movePiece(piece, KwazamBitboard.squareX(from), KwazamBitboard.squareY(from));
+
+        KwazamPiece captured = undoCaptured[index];
+        if (captured != null) {
+            gameBoard.addPiece(captured);
+            undoCaptured[index] = null;
+        }
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets the number of moves that can be taken back with unmakeMove.
+     * 
+     * @return the undo stack depth
+     */
+    public int getUndoDepth() {
+        return undoCount;
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Moves a piece on the board and applies the rules that follow a move:
+     * the capture, the Ram turning around at the end of the board and the
+     * Tor/Xor transformation every two turns. Advances the game clock, pushes
+     * the prior state on the undo stack and the new position on the history.
+     * Does not switch the current color.
+     * 
+     * @param move the packed move
+     */
+    private void applyMove(int move) {
+        int to = KwazamMove.getTo(move);
+        int targetX = KwazamBitboard.squareX(to);
+        int targetY = KwazamBitboard.squareY(to);
+        KwazamPiece piece = gameBoard.getPiece(KwazamMove.getFrom(move));
+        KwazamPiece captured = gameBoard.getPiece(to);
+        boolean isRam = piece.getType() == KwazamPieceType.RAM;
+
+        if (undoCount == undoMoves.length || historyCount == positionHistory.length)
+            growUndoStack();
+
+        int index = undoCount++;
+        undoMoves[index] = move;
+        undoCaptured[index] = captured;
+        undoRamDirections[index] = isRam ? ((Ram) piece).getDirection() : 0;
+        undoPliesSinceCapture[index] = pliesSinceCapture;
+        undoColors[index] = currentColor;
+
+        if (captured != null)
+            gameBoard.capturePiece(piece, targetX, targetY);
+        else
+            gameBoard.movePiece(piece, targetX, targetY);
+
+        // The Ram keeps the direction it just stepped in, and turns around as
+        // soon as it reaches the end of the board. Move generation only reads
+        // the direction, so this is the one place it changes during play.
+        if (isRam) {
+            Ram ram = (Ram) piece;
+            int direction = targetY > KwazamBitboard.squareY(KwazamMove.getFrom(move)) ? 1 : -1;
+            if (targetY == 0) {
+                direction = 1; // Change direction to down
+            } else if (targetY == gameBoard.getRows() - 1) {
+                direction = -1; // Change direction to up
             }
+            if (direction != ram.getDirection())
+                gameBoard.setRamDirection(ram, direction);
         }
 
-        // Remove the pieces
-        for (KwazamPiece piece : piecesToRemove) {
-            gameBoard.getPieces().remove(piece);
+        // Advance the game clock, Tor and Xor swap after every second full turn
+        ply++;
+        pliesSinceCapture = captured != null ? 0 : pliesSinceCapture + 1;
+        transformationPhase = (transformationPhase + 1) % KwazamZobrist.PHASES;
+        if (transformationPhase == 0) {
+            transformTorXor();
+        }
+
+        // The opponent of the piece just moved is the side to move next
+        KwazamPieceColor nextColor = piece.getColor() == KwazamPieceColor.BLUE ? KwazamPieceColor.RED
+                : KwazamPieceColor.BLUE;
+        long hash = gameBoard.getHash() ^ KwazamZobrist.sideKey(nextColor)
+                ^ KwazamZobrist.phaseKey(transformationPhase);
+        positionHistory[historyCount++] = hash;
+        positionCounts.add(hash);
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Turns every Tor into an Xor and every Xor into a Tor, in place.
+     * Applying it twice restores the original types.
+     */
+    private void transformTorXor() {
+        KwazamBitboard bitboard = gameBoard.getBitboard();
+        long tors = bitboard.getTypeBoard(KwazamPieceType.TOR);
+        long xors = bitboard.getTypeBoard(KwazamPieceType.XOR);
+
+        while (tors != 0) {
+            KwazamPiece piece = gameBoard.getPiece(Long.numberOfTrailingZeros(tors));
+            gameBoard.transformPiece(piece, KwazamPieceType.XOR,
+                    KwazamPieceFactory.getMovementStrategy(KwazamPieceType.XOR));
+            tors &= tors - 1;
+        }
+
+        while (xors != 0) {
+            KwazamPiece piece = gameBoard.getPiece(Long.numberOfTrailingZeros(xors));
+            gameBoard.transformPiece(piece, KwazamPieceType.TOR,
+                    KwazamPieceFactory.getMovementStrategy(KwazamPieceType.TOR));
+            xors &= xors - 1;
+        }
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Doubles the capacity of the undo stack and the position history.
+     */
+    private void growUndoStack() {
+        int capacity = undoMoves.length * 2;
+        undoMoves = Arrays.copyOf(undoMoves, capacity);
+        undoCaptured = Arrays.copyOf(undoCaptured, capacity);
+        undoRamDirections = Arrays.copyOf(undoRamDirections, capacity);
+        undoPliesSinceCapture = Arrays.copyOf(undoPliesSinceCapture, capacity);
+        undoColors = Arrays.copyOf(undoColors, capacity);
+        positionHistory = Arrays.copyOf(positionHistory, capacity + 1);
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Sets the game clock, empties the undo stack and restarts the position
+     * history at the current position, e.g. when a new game starts or a game
+     * is loaded.
+     * 
+     * @param ply                 the number of plies played
+     * @param transformationPhase the plies since the last Tor/Xor swap (0-3)
+     * @param pliesSinceCapture   the plies since the last capture
+     */
+    private void resetClock(int ply, int transformationPhase, int pliesSinceCapture) {
+        this.ply = ply;
+        this.transformationPhase = transformationPhase;
+        this.pliesSinceCapture = pliesSinceCapture;
+
+        Arrays.fill(undoCaptured, 0, undoCount, null);
+        undoCount = 0;
+
+        positionHistory[0] = getHash();
+        historyCount = 1;
+        positionCounts.clear();
+        positionCounts.add(positionHistory[0]);
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Restores the position history saved with a game.
+     * The saved history is only used if it ends at the current position and
+     * fits the plies since the last capture; otherwise the history restarts at
+     * the current position.
+     * 
+     * @param history the saved hashes, oldest first
+     */
+    private void restoreHistory(long[] history) {
+        if (history.length == 0 || history.length > pliesSinceCapture + 1
+                || history[history.length - 1] != getHash())
+            return;
+
+        while (positionHistory.length < history.length)
+            growUndoStack();
+
+        System.arraycopy(history, 0, positionHistory, 0, history.length);
+        historyCount = history.length;
+
+        positionCounts.clear();
+        for (long hash : history)
+            positionCounts.add(hash);
+    }
 
-            // Create the new piece and add it back
-            KwazamPieceType newType = piece.getType() == KwazamPieceType.XOR ? KwazamPieceType.TOR
-                    : KwazamPieceType.XOR;
-            KwazamPiece newPiece = KwazamPieceFactory.getPiece(piece.getColor(), newType, piece.getX(), piece.getY());
-            gameBoard.addPiece(newPiece);
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Restores the game record saved with a game.
+     * The saved record is only used if its moves are legal and lead from its
+     * start to the current position; otherwise the record restarts at the
+     * current position, as for saves written before records were kept.
+     * 
+     * @param start the saved start position, or null if there is none
+     * @param moves the saved moves, oldest first
+     */
+    private void restoreRecord(KwazamPosition start, int[] moves) {
+        recordStart = getPosition();
+        recordMoves = new int[0];
+        if (start == null)
+            return;
+
+        KwazamModel replay = new KwazamModel();
+        replay.setPosition(start);
+        int[] legalMoves = new int[KwazamMove.MAX_POSITION_MOVES];
+        for (int move : moves) {
+            int moveCount = replay.generateMoves(legalMoves);
+            boolean legal = false;
+            for (int i = 0; i < moveCount && !legal; i++)
+                legal = legalMoves[i] == move;
+            if (!legal || replay.isSauCaptured())
+                return;
+            replay.makeMove(move);
+        }
+
+        if (replay.getHash() == getHash()) {
+            recordStart = start;
+            recordMoves = moves;
         }
+    }
 
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Writes piece codes as two hex digits per square.
+     * 
+     * @param codes the piece codes, indexed by square
+     * @return the codes as text
+     */
+    private static String toCodeString(byte[] codes) {
+        StringBuilder builder = new StringBuilder();
+        for (byte code : codes)
+            builder.append(String.format("%02x", code));
+        return builder.toString();
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Reads piece codes written by toCodeString.
+     * 
+     * @param text the codes as text
+     * @return the piece codes, indexed by square
+     * @throws IllegalArgumentException if the text does not hold one code per square
+     */
+    private static byte[] fromCodeString(String text) {
+        if (text.length() != KwazamBitboard.SQUARES * 2)
+            throw new IllegalArgumentException("Not a position: " + text);
+
+        byte[] codes = new byte[KwazamBitboard.SQUARES];
+        for (int square = 0; square < codes.length; square++)
+            codes[square] = (byte) Integer.parseInt(text.substring(square * 2, square * 2 + 2), 16);
+        return codes;
+    }
+
+    /**
+     * Author(s): Ng Wei Da, Lim Kar Joon
+     * 
+     * Swaps all Xor and Tor pieces on the board.
+     * The pieces keep their identity, only their type and movement strategy
+     * change, so references held elsewhere (e.g. the selected piece) stay valid.
+     * Updates the game state after swapping.
+     */
+    public void swapXorTor() {
+        transformTorXor();
         updateGameState();
     }
 
@@ -291,6 +602,28 @@ public class KwazamModel {
         return false;
     }
 
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Writes every valid move of the current player into a caller-owned
+     * buffer as packed moves (see KwazamMove). Does not allocate.
+     * 
+     * @param moves the buffer, at least KwazamMove.MAX_POSITION_MOVES long
+     * @return the number of moves written
+     */
+    public int generateMoves(int[] moves) {
+        List<KwazamPiece> pieces = gameBoard.getPieces();
+        int count = 0;
+
+        for (int i = 0; i < pieces.size(); i++) {
+            KwazamPiece piece = pieces.get(i);
+            if (piece.getColor() == currentColor)
+                count = piece.generateMoves(gameBoard, moves, count);
+        }
+
+        return count;
+    }
+
     /**
      * Author(s): Ng Wei Da
      * 
@@ -313,25 +646,188 @@ public class KwazamModel {
      * @return true if the Sau is in check, false otherwise
      */
     public boolean isSauInCheck(KwazamPieceColor color) {
-        // Get the Sau for the current player
-        KwazamPiece sau = getSau(color);
-        if (sau == null) {
+        // Get the Sau square for the current player
+        int sauSquare = gameBoard.getSauSquare(color);
+        if (sauSquare < 0) {
             return false; // No Sau found, which shouldn't happen in a valid game
         }
 
-        // Iterate through all pieces of the opponent
-        for (KwazamPiece piece : gameBoard.getPieces()) {
-            if (piece.getColor() != color) { // Only consider opponent's pieces
-                List<int[]> validMoves = piece.getValidMoves(gameBoard);
-                for (int[] move : validMoves) {
-                    if (move[0] == sau.getX() && move[1] == sau.getY()) {
-                        return true; // Sau is under attack
-                    }
-                }
-            }
-        }
+        // Read the opponent's incrementally maintained attack map
+        KwazamPieceColor opponent = color == KwazamPieceColor.BLUE ? KwazamPieceColor.RED : KwazamPieceColor.BLUE;
+        return gameBoard.isSquareAttacked(sauSquare, opponent);
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets every square attacked by the pieces of one color.
+     * 
+     * @param color the color of the attacking pieces
+     * @return the mask of attacked squares, indexed by y * cols + x
+     */
+    public long getAttackedSquares(KwazamPieceColor color) {
+        return gameBoard.getAttackedSquares(color);
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Checks if a square is attacked by any piece of the given color.
+     * 
+     * @param x       the x-coordinate
+     * @param y       the y-coordinate
+     * @param byColor the color of the attacking pieces
+     * @return true if the square is attacked, false otherwise
+     */
+    public boolean isSquareAttacked(int x, int y, KwazamPieceColor byColor) {
+        return gameBoard.isSquareAttacked(KwazamBitboard.toSquare(x, y), byColor);
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets the Tor/Xor transformation phase: the number of plies played since
+     * the last transformation (0-3). The next transformation happens after the
+     * move that completes phase 3.
+     * 
+     * @return the transformation phase
+     */
+    public int getTransformationPhase() {
+        return transformationPhase;
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets the number of plies (single moves) played in the game.
+     * 
+     * @return the ply count
+     */
+    public int getPly() {
+        return ply;
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets the number of plies played since the last capture.
+     * 
+     * @return the plies since the last capture
+     */
+    public int getPliesSinceCapture() {
+        return pliesSinceCapture;
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets the number of positions in the position history, including the
+     * current one.
+     * 
+     * @return the history length
+     */
+    public int getHistoryLength() {
+        return historyCount;
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets the hash of a position in the history.
+     * 
+     * @param index the index, 0 for the oldest and getHistoryLength() - 1 for
+     *              the current position
+     * @return the position hash
+     */
+    public long getHistoryHash(int index) {
+        return positionHistory[index];
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets the 64-bit Zobrist hash of the current position: piece placement,
+     * Ram directions, side to move and transformation phase.
+     * The placement part is kept up to date by the board on every move,
+     * capture and Tor/Xor swap, so this is a constant-time read.
+     * 
+     * @return the position hash
+     */
+    public long getHash() {
+        return gameBoard.getHash() ^ KwazamZobrist.sideKey(currentColor)
+                ^ KwazamZobrist.phaseKey(getTransformationPhase());
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets the static score of the current position: material, piece-square
+     * and Ram direction terms kept up to date by the board on every move,
+     * capture and Tor/Xor swap, plus a share of the coming Tor/Xor swap that
+     * grows with the transformation phase. A constant-time read.
+     * 
+     * @return the score from Blue's view, in hundredths of a Ram
+     */
+    public int getScore() {
+        return gameBoard.getScore() + gameBoard.getFlipScore() * getTransformationPhase() / KwazamZobrist.PHASES;
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Captures the current position as an immutable value.
+     * 
+     * @return the position
+     */
+    public KwazamPosition getPosition() {
+        return KwazamPosition.of(this);
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Replaces the game position with the given one, e.g. to analyse it.
+     * The undo stack and position history are cleared and the game clock
+     * restarts at the position's transformation phase.
+     * 
+     * @param position the position to set up
+     */
+    public void setPosition(KwazamPosition position) {
+        position.applyTo(gameBoard);
+        currentColor = position.getSideToMove();
+        winner = null;
+        running = !isSauCaptured();
+        resetClock(0, position.getTransformationPhase(), 0);
+        recordStart = position;
+        recordMoves = new int[0];
+        updateGameState();
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets the position the game record starts from: the start of the game,
+     * or the loaded position for saves without a record.
+     * 
+     * @return the start position
+     */
+    public KwazamPosition getRecordStart() {
+        return recordStart != null ? recordStart : getPosition();
+    }
 
-        return false; // Sau is safe
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets every move played from the record start to the current position,
+     * including moves loaded from a save. Only meaningful for the game
+     * model; search models make and unmake moves on top of their position.
+     * 
+     * @return the packed moves, oldest first
+     */
+    public int[] getRecordMoves() {
+        int[] moves = Arrays.copyOf(recordMoves, recordMoves.length + undoCount);
+        System.arraycopy(undoMoves, 0, moves, recordMoves.length, undoCount);
+        return moves;
     }
 
     /**
@@ -343,12 +839,7 @@ public class KwazamModel {
      * @return the Sau piece, or null if not found
      */
     public KwazamPiece getSau(KwazamPieceColor color) {
-        for (KwazamPiece piece : gameBoard.getPieces()) {
-            if (piece.getType() == KwazamPieceType.SAU && piece.getColor() == color) {
-                return piece;
-            }
-        }
-        return null; // Sau not found
+        return color == KwazamPieceColor.RED ? gameBoard.getRedSau() : gameBoard.getBlueSau();
     }
 
     /**
@@ -385,6 +876,77 @@ public class KwazamModel {
         return winner != null;
     }
 
+    // =================================================================
+    // DRAW RULES
+    // =================================================================
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Turns the draw rules on or off. With the rules on, a game is drawn when
+     * a position occurs for the third time or when no piece has been captured
+     * for the given number of plies. The rules are off by default, as the
+     * Kwazam rules only end a game on a Sau capture.
+     * 
+     * @param enabled        true to apply the draw rules
+     * @param noCaptureLimit the plies without capture that draw the game
+     */
+    public void setDrawRules(boolean enabled, int noCaptureLimit) {
+        this.drawRulesEnabled = enabled;
+        this.noCaptureLimit = noCaptureLimit;
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Checks if the draw rules are on.
+     * 
+     * @return true if the draw rules are applied, false otherwise
+     */
+    public boolean isDrawRulesEnabled() {
+        return drawRulesEnabled;
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets how often the current position has occurred, including now.
+     * Read from the position counts, so this is a constant-time lookup.
+     * 
+     * @return the number of occurrences
+     */
+    public int getRepetitionCount() {
+        return positionCounts.count(positionHistory[historyCount - 1]);
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Checks if the game is drawn under the draw rules.
+     * Always false while the rules are off or once a Sau is captured.
+     * 
+     * @return true if the game is drawn, false otherwise
+     */
+    public boolean isDraw() {
+        return getDrawReason() != null;
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets why the game is drawn under the draw rules.
+     * 
+     * @return a description of the draw, or null if the game is not drawn
+     */
+    public String getDrawReason() {
+        if (!drawRulesEnabled || isSauCaptured())
+            return null;
+        if (getRepetitionCount() >= REPETITION_LIMIT)
+            return "Threefold repetition";
+        if (pliesSinceCapture >= noCaptureLimit)
+            return noCaptureLimit + " plies without capture";
+        return null;
+    }
+
     // =================================================================
     // GAME STATE MANAGEMENT
     // =================================================================
@@ -457,6 +1019,28 @@ public class KwazamModel {
             // Write current turn color
             writer.write("Current Turn: " + currentColor);
             writer.newLine();
+
+            // Write the game clock and the positions since the last capture
+            writer.write("Ply: " + ply);
+            writer.newLine();
+            writer.write("Transformation Phase: " + transformationPhase);
+            writer.newLine();
+            writer.write("Plies Since Capture: " + pliesSinceCapture);
+            writer.newLine();
+            writer.write("Position History:");
+            for (int i = Math.max(0, historyCount - 1 - pliesSinceCapture); i < historyCount; i++)
+                writer.write(" " + Long.toHexString(positionHistory[i]));
+            writer.newLine();
+
+            // Write the game record, so every position of the game can be replayed
+            KwazamPosition start = getRecordStart();
+            writer.write("Start Position: " + toCodeString(start.toCodes()) + " " + start.getSideToMove() + " "
+                    + start.getTransformationPhase());
+            writer.newLine();
+            writer.write("Moves:");
+            for (int move : getRecordMoves())
+                writer.write(" " + KwazamMove.toString(move));
+            writer.newLine();
             writer.newLine();
 
             // Write the game board header
@@ -488,7 +1072,18 @@ public class KwazamModel {
      */
     public void loadGame(String filename) {
         this.currentFilename = filename;
-        File saveFile = new File("data/" + filename);
+        loadGame(new File("data/" + filename));
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Loads a saved game from a file anywhere, e.g. for batch analysis,
+     * without making it the current save file.
+     * 
+     * @param saveFile the save file
+     */
+    public void loadGame(File saveFile) {
         if (!saveFile.exists())
             return;
 
@@ -497,7 +1092,15 @@ public class KwazamModel {
             String[] playerNames = new String[2];
             int playerIndex = 0;
 
-            // Read player names and current turn
+            // Saves written before the game clock was stored start from a fresh clock
+            int savedPly = 0;
+            int savedPhase = 0;
+            int savedPliesSinceCapture = 0;
+            long[] savedHistory = new long[0];
+            KwazamPosition savedStart = null;
+            int[] savedMoves = new int[0];
+
+            // Read player names, current turn and game clock
             while ((line = reader.readLine()) != null) {
                 if (line.startsWith("Player 1")) {
                     playerNames[playerIndex++] = line.split(":")[1].trim();
@@ -505,6 +1108,28 @@ public class KwazamModel {
                     playerNames[playerIndex++] = line.split(":")[1].trim();
                 } else if (line.startsWith("Current Turn")) {
                     this.currentColor = KwazamPieceColor.valueOf(line.split(":")[1].trim());
+                } else if (line.startsWith("Ply:")) {
+                    savedPly = Integer.parseInt(line.split(":")[1].trim());
+                } else if (line.startsWith("Transformation Phase:")) {
+                    savedPhase = Integer.parseInt(line.split(":")[1].trim()) % KwazamZobrist.PHASES;
+                } else if (line.startsWith("Plies Since Capture:")) {
+                    savedPliesSinceCapture = Integer.parseInt(line.split(":")[1].trim());
+                } else if (line.startsWith("Position History:")) {
+                    String hashes = line.substring(line.indexOf(':') + 1).trim();
+                    String[] parts = hashes.isEmpty() ? new String[0] : hashes.split("\\s+");
+                    savedHistory = new long[parts.length];
+                    for (int i = 0; i < parts.length; i++)
+                        savedHistory[i] = Long.parseUnsignedLong(parts[i], 16);
+                } else if (line.startsWith("Start Position:")) {
+                    String[] parts = line.substring(line.indexOf(':') + 1).trim().split("\\s+");
+                    savedStart = KwazamPosition.of(fromCodeString(parts[0]), KwazamPieceColor.valueOf(parts[1]),
+                            Integer.parseInt(parts[2]) % KwazamZobrist.PHASES);
+                } else if (line.startsWith("Moves:")) {
+                    String moves = line.substring(line.indexOf(':') + 1).trim();
+                    String[] parts = moves.isEmpty() ? new String[0] : moves.split("\\s+");
+                    savedMoves = new int[parts.length];
+                    for (int i = 0; i < parts.length; i++)
+                        savedMoves[i] = KwazamMove.parse(parts[i]);
                 } else if (line.startsWith("===== Game Board =====")) {
                     break;
                 }
@@ -527,7 +1152,7 @@ public class KwazamModel {
             }
 
             // Reconstruct the game board
-            this.gameBoard.getPieces().clear();
+            this.gameBoard.clearPieces();
             for (int i = 0; i < gameState.length; i++) {
                 for (int j = 0; j < gameState[i].length; j++) {
                     String cell = gameState[i][j];
@@ -548,6 +1173,13 @@ public class KwazamModel {
                             } else if ("D".equals(direction)) {
                                 ramPiece.setDirection(1); // Down (1)
                             }
+
+                            // Older saves may hold a Ram at the end of the board still facing off it
+                            if (i == 0 && ramPiece.getDirection() == -1) {
+                                ramPiece.setDirection(1);
+                            } else if (i == gameBoard.getRows() - 1 && ramPiece.getDirection() == 1) {
+                                ramPiece.setDirection(-1);
+                            }
                         }
 
                         gameBoard.addPiece(piece);
@@ -555,6 +1187,9 @@ public class KwazamModel {
                 }
             }
 
+            resetClock(savedPly, savedPhase, savedPliesSinceCapture);
+            restoreHistory(savedHistory);
+            restoreRecord(savedStart, savedMoves);
             updateGameState();
 
         } catch (IOException e) {
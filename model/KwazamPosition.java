@@ -0,0 +1,368 @@
+package model;
+
+import model.board.KwazamBitboard;
+import model.board.KwazamBoard;
+import model.board.KwazamZobrist;
+import model.pieces.KwazamPieceFactory;
+import utils.KwazamPieceColor;
+import utils.KwazamPieceType;
+
+/**
+ * Immutable snapshot of a Kwazam position.
+ * The piece on each square is stored as its compact piece code (see
+ * KwazamPieceFactory) spread over three bit planes, plus one mask for the Red
+ * pieces and one for the Rams facing down. Together with the transformation
+ * phase and the side to move this is the whole game-relevant state, so
+ * positions can be shared between threads, used as map keys and archived.
+ */
+public final class KwazamPosition {
+    // =================================================================
+    // CONSTANTS
+    // =================================================================
+    private static final int TYPE_PLANES = 3;
+
+    private static final KwazamPieceType[] TYPES = KwazamPieceType.values();
+
+    // =================================================================
+    // ATTRIBUTES
+    // =================================================================
+    private final long typePlane0;
+    private final long typePlane1;
+    private final long typePlane2;
+    private final long redPieces;
+    private final long ramsDown;
+    private final byte phase;
+    private final KwazamPieceColor sideToMove;
+    private final long hash;
+
+    // =================================================================
+    // CONSTRUCTION
+    // =================================================================
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Constructs a position from its bit planes.
+     * 
+     * @param typePlanes the three bit planes of the type codes (type + 1)
+     * @param redPieces  the mask of Red pieces
+     * @param ramsDown   the mask of Rams facing down
+     * @param phase      the transformation phase (0-3)
+     * @param sideToMove the color to move
+     */
+    private KwazamPosition(long[] typePlanes, long redPieces, long ramsDown, int phase,
+            KwazamPieceColor sideToMove) {
+        this.typePlane0 = typePlanes[0];
+        this.typePlane1 = typePlanes[1];
+        this.typePlane2 = typePlanes[2];
+        this.redPieces = redPieces;
+        this.ramsDown = ramsDown;
+        this.phase = (byte) phase;
+        this.sideToMove = sideToMove;
+        this.hash = computeHash();
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Captures the current position of a game.
+     * 
+     * @param model the game model
+     * @return the position
+     */
+    public static KwazamPosition of(KwazamModel model) {
+        return of(model.getGameBoard(), model.getCurrentColor(), model.getTransformationPhase());
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Captures the pieces of a board together with the side to move and the
+     * transformation phase.
+     * 
+     * @param board      the board
+     * @param sideToMove the color to move
+     * @param phase      the transformation phase (0-3)
+     * @return the position
+     */
+    public static KwazamPosition of(KwazamBoard board, KwazamPieceColor sideToMove, int phase) {
+        KwazamBitboard bitboard = board.getBitboard();
+        long[] typePlanes = new long[TYPE_PLANES];
+
+        for (KwazamPieceType type : TYPES) {
+            int typeCode = type.ordinal() + 1;
+            long pieces = bitboard.getTypeBoard(type);
+            for (int plane = 0; plane < TYPE_PLANES; plane++) {
+                if ((typeCode & (1 << plane)) != 0)
+                    typePlanes[plane] |= pieces;
+            }
+        }
+
+        long ramsDown = 0L;
+        long rams = bitboard.getTypeBoard(KwazamPieceType.RAM);
+        while (rams != 0) {
+            int square = Long.numberOfTrailingZeros(rams);
+            if ((KwazamPieceFactory.toCode(board.getPiece(square)) & KwazamPieceFactory.RAM_DOWN_FLAG) != 0)
+                ramsDown |= KwazamBitboard.squareMask(square);
+            rams &= rams - 1;
+        }
+
+        return new KwazamPosition(typePlanes, bitboard.getColorBoard(KwazamPieceColor.RED), ramsDown, phase,
+                sideToMove);
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Creates a position from one compact piece code per square.
+     * 
+     * @param codes      the piece codes, indexed by square
+     * @param sideToMove the color to move
+     * @param phase      the transformation phase (0-3)
+     * @return the position
+     */
+    public static KwazamPosition of(byte[] codes, KwazamPieceColor sideToMove, int phase) {
+        long[] typePlanes = new long[TYPE_PLANES];
+        long redPieces = 0L;
+        long ramsDown = 0L;
+
+        for (int square = 0; square < KwazamBitboard.SQUARES; square++) {
+            int code = codes[square];
+            long mask = KwazamBitboard.squareMask(square);
+            for (int plane = 0; plane < TYPE_PLANES; plane++) {
+                if ((code & (1 << plane)) != 0)
+                    typePlanes[plane] |= mask;
+            }
+            if (code != KwazamPieceFactory.EMPTY_CODE && (code >> KwazamPieceFactory.COLOR_SHIFT & 1) != 0)
+                redPieces |= mask;
+            if ((code & KwazamPieceFactory.RAM_DOWN_FLAG) != 0)
+                ramsDown |= mask;
+        }
+
+        return new KwazamPosition(typePlanes, redPieces, ramsDown, phase, sideToMove);
+    }
+
+    // =================================================================
+    // GETTERS
+    // =================================================================
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets the color to move.
+     * 
+     * @return the side to move
+     */
+    public KwazamPieceColor getSideToMove() {
+        return sideToMove;
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets the transformation phase: plies played since the last Tor/Xor swap.
+     * 
+     * @return the phase (0-3)
+     */
+    public int getTransformationPhase() {
+        return phase;
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets the Zobrist hash of the position. Equal to KwazamModel.getHash for
+     * the game the position was taken from.
+     * 
+     * @return the position hash
+     */
+    public long getHash() {
+        return hash;
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets the mask of all occupied squares.
+     * 
+     * @return the occupancy mask
+     */
+    public long getOccupied() {
+        return typePlane0 | typePlane1 | typePlane2;
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets the mask of all squares occupied by one color.
+     * 
+     * @param color the color
+     * @return the color mask
+     */
+    public long getColorBoard(KwazamPieceColor color) {
+        return color == KwazamPieceColor.RED ? redPieces : getOccupied() & ~redPieces;
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets the mask of all squares occupied by one piece type, of either color.
+     * 
+     * @param type the piece type
+     * @return the type mask
+     */
+    public long getTypeBoard(KwazamPieceType type) {
+        int typeCode = type.ordinal() + 1;
+        return ((typeCode & 1) != 0 ? typePlane0 : ~typePlane0)
+                & ((typeCode & 2) != 0 ? typePlane1 : ~typePlane1)
+                & ((typeCode & 4) != 0 ? typePlane2 : ~typePlane2);
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets the mask of the Rams facing down.
+     * 
+     * @return the mask of downward Rams
+     */
+    public long getRamsDown() {
+        return ramsDown;
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets the compact piece code of a square.
+     * 
+     * @param square the square index
+     * @return the piece code, or EMPTY_CODE for an empty square
+     */
+    public int getPieceCode(int square) {
+        int code = (int) (typePlane0 >>> square & 1) | (int) (typePlane1 >>> square & 1) << 1
+                | (int) (typePlane2 >>> square & 1) << 2;
+        if (code == KwazamPieceFactory.EMPTY_CODE)
+            return code;
+
+        code |= (int) (redPieces >>> square & 1) << KwazamPieceFactory.COLOR_SHIFT;
+        if ((ramsDown >>> square & 1) != 0)
+            code |= KwazamPieceFactory.RAM_DOWN_FLAG;
+        return code;
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Encodes the position as one compact piece code per square.
+     * 
+     * @return the piece codes, indexed by square
+     */
+    public byte[] toCodes() {
+        byte[] codes = new byte[KwazamBitboard.SQUARES];
+        for (int square = 0; square < codes.length; square++)
+            codes[square] = (byte) getPieceCode(square);
+        return codes;
+    }
+
+    // =================================================================
+    // BOARD CONVERSION
+    // =================================================================
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Replaces every piece on a board with the pieces of this position.
+     * 
+     * @param board the board to set up
+     */
+    public void applyTo(KwazamBoard board) {
+        board.setupBoard(toCodes());
+    }
+
+    // =================================================================
+    // OBJECT METHODS
+    // =================================================================
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Checks if two positions are the same.
+     * 
+     * @param obj the other object
+     * @return true if pieces, Ram directions, phase and side to move match
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj)
+            return true;
+        if (!(obj instanceof KwazamPosition))
+            return false;
+
+        KwazamPosition other = (KwazamPosition) obj;
+        return hash == other.hash && typePlane0 == other.typePlane0 && typePlane1 == other.typePlane1
+                && typePlane2 == other.typePlane2 && redPieces == other.redPieces && ramsDown == other.ramsDown
+                && phase == other.phase && sideToMove == other.sideToMove;
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets the hash code of the position, folded from the Zobrist hash.
+     * 
+     * @return the hash code
+     */
+    @Override
+    public int hashCode() {
+        return (int) (hash ^ (hash >>> 32));
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets the position in the save file board format, one row per line,
+     * followed by the side to move and phase.
+     * 
+     * @return the position as text
+     */
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        for (int square = 0; square < KwazamBitboard.SQUARES; square++) {
+            int code = getPieceCode(square);
+            if (code == KwazamPieceFactory.EMPTY_CODE) {
+                builder.append(".....");
+            } else {
+                builder.append((code >> KwazamPieceFactory.COLOR_SHIFT & 1) != 0 ? "R_" : "B_");
+                builder.append(TYPES[(code & KwazamPieceFactory.TYPE_MASK) - 1].name());
+                if ((code & KwazamPieceFactory.TYPE_MASK) == KwazamPieceType.RAM.ordinal() + 1)
+                    builder.append((code & KwazamPieceFactory.RAM_DOWN_FLAG) != 0 ? "_D" : "_U");
+            }
+            builder.append(KwazamBitboard.squareX(square) == KwazamBitboard.squareX(KwazamBitboard.SQUARES - 1)
+                    ? "\n" : " ");
+        }
+        return builder.append(sideToMove).append(" to move, phase ").append(phase).toString();
+    }
+
+    // =================================================================
+    // PRIVATE METHODS
+    // =================================================================
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Computes the Zobrist hash of the position.
+     * 
+     * @return the position hash
+     */
+    private long computeHash() {
+        long result = KwazamZobrist.sideKey(sideToMove) ^ KwazamZobrist.phaseKey(phase);
+        long occupied = getOccupied();
+
+        while (occupied != 0) {
+            int square = Long.numberOfTrailingZeros(occupied);
+            int code = getPieceCode(square);
+            KwazamPieceColor color = (redPieces >>> square & 1) != 0 ? KwazamPieceColor.RED : KwazamPieceColor.BLUE;
+            result ^= KwazamZobrist.pieceKey(color,
+                    TYPES[(code & KwazamPieceFactory.TYPE_MASK) - 1], square);
+            if ((ramsDown >>> square & 1) != 0)
+                result ^= KwazamZobrist.ramDownKey(square);
+            occupied &= occupied - 1;
+        }
+
+        return result;
+    }
+}
@@ -0,0 +1,273 @@
+package model;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free fixed-size cache of position results, keyed by the 64-bit
+ * Zobrist hash of KwazamModel.getHash (pieces, Ram directions, side to
+ * move and Tor/Xor phase).
+ * 
+ * The table is one preallocated long[] of two-long entries, grouped in
+ * buckets of four entries that are probed together. An entry holds the
+ * hash XOR the data and the data itself; a reader accepts it only if the
+ * two still XOR to its hash, so an entry torn by a concurrent writer reads
+ * as a miss instead of a wrong result. Many threads can probe and store at
+ * once without locks.
+ * 
+ * Each data word holds a 40-bit payload chosen by the caller, the search
+ * depth the result is worth, and the age (search generation) it was stored
+ * in. A full bucket replaces the entry from the oldest generation with the
+ * smallest depth.
+ */
+public class KwazamPositionCache {
+    // =================================================================
+    // CONSTANTS
+    // =================================================================
+    public static final long MISS = 0L;
+    public static final int MAX_DEPTH = 0xFF;
+    public static final long MAX_PAYLOAD = (1L << 40) - 1;
+
+    private static final int DEPTH_SHIFT = 40;
+    private static final int AGE_SHIFT = 48;
+    private static final int AGE_MASK = 0xFF;
+    private static final long VALID_FLAG = 1L << 63;
+
+    private static final int LONGS_PER_ENTRY = 2;
+    private static final int ENTRIES_PER_BUCKET = 4;
+    private static final int LONGS_PER_BUCKET = LONGS_PER_ENTRY * ENTRIES_PER_BUCKET;
+    private static final int BYTES_PER_BUCKET = LONGS_PER_BUCKET * Long.BYTES;
+
+    // =================================================================
+    // ATTRIBUTES
+    // =================================================================
+    private final long[] table;
+    private final int bucketMask;
+    private volatile int age;
+
+    private final LongAdder probes;
+    private final LongAdder hits;
+    private final LongAdder stores;
+
+    // =================================================================
+    // CONSTRUCTION
+    // =================================================================
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Constructs a cache of the given size, rounded down to a power of two
+     * number of buckets.
+     * 
+     * @param megabytes the table size in megabytes, at least 1
+     */
+    public KwazamPositionCache(int megabytes) {
+        long bytes = Math.max(1, megabytes) * 1024L * 1024L;
+        int buckets = Integer.highestOneBit((int) Math.min(bytes / BYTES_PER_BUCKET, 1 << 26));
+
+        this.table = new long[buckets * LONGS_PER_BUCKET];
+        this.bucketMask = buckets - 1;
+        this.probes = new LongAdder();
+        this.hits = new LongAdder();
+        this.stores = new LongAdder();
+    }
+
+    // =================================================================
+    // DATA WORD
+    // =================================================================
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets the caller's payload of a data word returned by probe.
+     * 
+     * @param data the data word
+     * @return the payload
+     */
+    public static long getPayload(long data) {
+        return data & MAX_PAYLOAD;
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets the depth of a data word returned by probe.
+     * 
+     * @param data the data word
+     * @return the depth
+     */
+    public static int getDepth(long data) {
+        return (int) (data >>> DEPTH_SHIFT) & MAX_DEPTH;
+    }
+
+    // =================================================================
+    // CACHE OPERATIONS
+    // =================================================================
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Looks up a position.
+     * 
+     * @param hash the position hash
+     * @return the data word, or MISS if the position is not cached
+     */
+    public long probe(long hash) {
+        probes.increment();
+        int base = bucketIndex(hash);
+
+        for (int i = base; i < base + LONGS_PER_BUCKET; i += LONGS_PER_ENTRY) {
+            long data = table[i + 1];
+            if ((table[i] ^ data) == hash && data != MISS) {
+                hits.increment();
+                return data;
+            }
+        }
+        return MISS;
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Stores a result for a position. An entry for the same position is
+     * overwritten; otherwise the least valuable entry of the bucket is.
+     * 
+     * @param hash    the position hash
+     * @param depth   the depth the result is worth (0-255), used for replacement
+     * @param payload the result, at most MAX_PAYLOAD
+     */
+    public void store(long hash, int depth, long payload) {
+        stores.increment();
+        int currentAge = age;
+        long data = VALID_FLAG | ((long) currentAge << AGE_SHIFT)
+                | ((long) Math.min(Math.max(depth, 0), MAX_DEPTH) << DEPTH_SHIFT) | (payload & MAX_PAYLOAD);
+
+        int base = bucketIndex(hash);
+        int replace = base;
+        int replaceWorth = Integer.MAX_VALUE;
+
+        for (int i = base; i < base + LONGS_PER_BUCKET; i += LONGS_PER_ENTRY) {
+            long oldData = table[i + 1];
+            if (oldData == MISS || (table[i] ^ oldData) == hash) {
+                replace = i;
+                break;
+            }
+
+            // Entries from older searches are worth less than any current one
+            int oldAge = (int) (oldData >>> AGE_SHIFT) & AGE_MASK;
+            int worth = getDepth(oldData) - ((currentAge - oldAge) & AGE_MASK) * (MAX_DEPTH + 1);
+            if (worth < replaceWorth) {
+                replaceWorth = worth;
+                replace = i;
+            }
+        }
+
+        table[replace] = hash ^ data;
+        table[replace + 1] = data;
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Starts a new generation, e.g. for each new search, so the entries of
+     * earlier generations are replaced first.
+     */
+    public void newGeneration() {
+        age = (age + 1) & AGE_MASK;
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Empties the cache and resets the statistics.
+     * Must not run while other threads use the cache.
+     */
+    public void clear() {
+        Arrays.fill(table, 0L);
+        age = 0;
+        resetStatistics();
+    }
+
+    // =================================================================
+    // STATISTICS
+    // =================================================================
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets the number of probes since the last reset.
+     * 
+     * @return the probe count
+     */
+    public long getProbes() {
+        return probes.sum();
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets the number of probes that found their position.
+     * 
+     * @return the hit count
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets the number of stores since the last reset.
+     * 
+     * @return the store count
+     */
+    public long getStores() {
+        return stores.sum();
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets the share of probes that were hits.
+     * 
+     * @return the hit rate, between 0 and 1
+     */
+    public double getHitRate() {
+        long probeCount = getProbes();
+        return probeCount == 0 ? 0.0 : (double) getHits() / probeCount;
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets the capacity of the cache.
+     * 
+     * @return the number of entries
+     */
+    public int getCapacity() {
+        return table.length / LONGS_PER_ENTRY;
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Resets the probe, hit and store counters.
+     */
+    public void resetStatistics() {
+        probes.reset();
+        hits.reset();
+        stores.reset();
+    }
+
+    // =================================================================
+    // PRIVATE METHODS
+    // =================================================================
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets the index of the first long of a position's bucket.
+     * The high bits of the hash pick the bucket, the full hash validates.
+     * 
+     * @param hash the position hash
+     * @return the table index
+     */
+    private int bucketIndex(long hash) {
+        return ((int) (hash >>> 32) & bucketMask) * LONGS_PER_BUCKET;
+    }
+}
@@ -0,0 +1,161 @@
+package model;
+
+import java.util.Arrays;
+
+/**
+ * Counts how often each position hash occurs in a game.
+ * An open-addressing hash table from 64-bit position hash to occurrence
+ * count, so adding, removing and looking up a position are O(1) amortized
+ * and do not allocate outside of a resize.
+ */
+public class KwazamPositionCounter {
+    // =================================================================
+    // CONSTANTS
+    // =================================================================
+    private static final int INITIAL_CAPACITY = 1024;
+
+    // =================================================================
+    // ATTRIBUTES
+    // =================================================================
+    private long[] keys;
+    private int[] counts;
+    private boolean[] filled;
+    private int used;
+
+    // =================================================================
+    // CONSTRUCTION
+    // =================================================================
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Constructs an empty counter.
+     */
+    public KwazamPositionCounter() {
+        this.keys = new long[INITIAL_CAPACITY];
+        this.counts = new int[INITIAL_CAPACITY];
+        this.filled = new boolean[INITIAL_CAPACITY];
+    }
+
+    // =================================================================
+    // COUNTING
+    // =================================================================
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets how often a position occurs.
+     * 
+     * @param hash the position hash
+     * @return the number of occurrences
+     */
+    public int count(long hash) {
+        int slot = find(hash);
+        return slot < 0 ? 0 : counts[slot];
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Adds one occurrence of a position.
+     * 
+     * @param hash the position hash
+     * @return the number of occurrences after adding
+     */
+    public int add(long hash) {
+        int slot = find(hash);
+        if (slot >= 0)
+            return ++counts[slot];
+
+        // Slots are never emptied, so a resize also drops positions with a zero count
+        if ((used + 1) * 4 > keys.length * 3)
+            resize();
+
+        slot = ~find(hash);
+        keys[slot] = hash;
+        counts[slot] = 1;
+        filled[slot] = true;
+        used++;
+        return 1;
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Removes one occurrence of a position, e.g. when a move is taken back.
+     * 
+     * @param hash the position hash
+     */
+    public void remove(long hash) {
+        int slot = find(hash);
+        if (slot >= 0 && counts[slot] > 0)
+            counts[slot]--;
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Removes every position.
+     */
+    public void clear() {
+        Arrays.fill(counts, 0);
+        Arrays.fill(filled, false);
+        used = 0;
+    }
+
+    // =================================================================
+    // PRIVATE METHODS
+    // =================================================================
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Finds the slot of a position by linear probing.
+     * Slots stay filled when their count drops to zero, so probe chains are
+     * never broken.
+     * 
+     * @param hash the position hash
+     * @return the slot, or the complement of the free slot to insert into
+     */
+    private int find(long hash) {
+        int mask = keys.length - 1;
+        int slot = (int) (hash ^ (hash >>> 32)) & mask;
+
+        while (filled[slot]) {
+            if (keys[slot] == hash)
+                return slot;
+            slot = (slot + 1) & mask;
+        }
+        return ~slot;
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Rebuilds the table with only the positions that still occur, doubling
+     * the capacity if it is still more than half full.
+     */
+    private void resize() {
+        long[] oldKeys = keys;
+        int[] oldCounts = counts;
+
+        int live = 0;
+        for (int count : oldCounts) {
+            if (count > 0)
+                live++;
+        }
+
+        int capacity = live * 2 > oldKeys.length ? oldKeys.length * 2 : oldKeys.length;
+        keys = new long[capacity];
+        counts = new int[capacity];
+        filled = new boolean[capacity];
+        used = 0;
+
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldCounts[i] > 0) {
+                int slot = ~find(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                counts[slot] = oldCounts[i];
+                filled[slot] = true;
+                used++;
+            }
+        }
+    }
+}
@@ -0,0 +1,506 @@
+package model.ai;
+
+import model.KwazamModel;
+import model.KwazamPosition;
+import model.KwazamPositionCache;
+import model.movements.KwazamMove;
+import model.pieces.KwazamPiece;
+import utils.KwazamConstants;
+import utils.KwazamPieceType;
+
+/**
+ * Alpha-beta game engine for Kwazam.
+ * Runs a negamax search with iterative deepening and a capture-only
+ * quiescence search on a private KwazamModel, so the real rules apply:
+ * Ram reversal, the Tor/Xor swap every two turns and the end of the game
+ * when a Sau is captured. Results are kept in a KwazamPositionCache used as
+ * a transposition table, which several engines may share. One engine
+ * searches one position at a time; use one engine per thread.
+ */
+public class KwazamEngine {
+    // =================================================================
+    // CONSTANTS
+    // =================================================================
+    public static final int MATE_SCORE = 100000;
+    public static final int MAX_PLY = 128;
+
+    private static final int INFINITY = MATE_SCORE + 1;
+    private static final int MATE_THRESHOLD = MATE_SCORE - MAX_PLY;
+    private static final int TIME_CHECK_INTERVAL = 2048;
+
+    // Lazy SMP: helper i skips depths in runs of SKIP_SIZE[i], shifted by SKIP_PHASE[i]
+    private static final int[] SKIP_SIZE = { 1, 1, 2, 2, 2, 2, 3, 3, 3, 3, 3, 3, 4, 4, 4, 4, 4, 4, 4, 4 };
+    private static final int[] SKIP_PHASE = { 0, 1, 0, 1, 2, 3, 0, 1, 2, 3, 4, 5, 0, 1, 2, 3, 4, 5, 6, 7 };
+
+    // Cache payload: bits 0-12 move, bits 13-14 bound, bits 15-32 score + SCORE_OFFSET
+    private static final int BOUND_SHIFT = 13;
+    private static final int SCORE_SHIFT = 15;
+    private static final int MOVE_MASK = (1 << BOUND_SHIFT) - 1;
+    private static final int SCORE_OFFSET = 1 << 17;
+    private static final int BOUND_EXACT = 0;
+    private static final int BOUND_LOWER = 1;
+    private static final int BOUND_UPPER = 2;
+
+    // =================================================================
+    // ATTRIBUTES
+    // =================================================================
+    private final KwazamModel model;
+    private final KwazamPositionCache cache;
+    private final int[][] moveBuffers;
+    private final int[][] scoreBuffers;
+
+    private volatile boolean stopRequested;
+    private boolean aborted;
+    private long deadline;
+    private long nodes;
+
+    // =================================================================
+    // CONSTRUCTION
+    // =================================================================
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Constructs an engine with its own model, move buffers and cache.
+     */
+    public KwazamEngine() {
+        this(new KwazamPositionCache(KwazamConstants.POSITION_CACHE_MB));
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Constructs an engine with its own model and move buffers that stores
+     * its results in the given cache.
+     * 
+     * @param cache the transposition cache, possibly shared with other engines
+     */
+    public KwazamEngine(KwazamPositionCache cache) {
+        this.model = new KwazamModel();
+        this.cache = cache;
+        this.moveBuffers = new int[MAX_PLY + 1][KwazamMove.MAX_POSITION_MOVES];
+        this.scoreBuffers = new int[MAX_PLY + 1][KwazamMove.MAX_POSITION_MOVES];
+    }
+
+    // =================================================================
+    // SEARCH API
+    // =================================================================
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Finds the best move in a position.
+     * 
+     * @param position the position to search
+     * @param limits   the depth and time limits
+     * @return the best packed move, or KwazamMove.NONE if there is no move
+     */
+    public int bestMove(KwazamPosition position, KwazamSearchLimits limits) {
+        return search(position, limits).getBestMove();
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Searches a position with iterative deepening until a limit is reached
+     * or stop is called. The result holds the best move of the deepest fully
+     * searched iteration.
+     * 
+     * @param position the position to search
+     * @param limits   the depth and time limits
+     * @return the search result
+     */
+    public KwazamSearchResult search(KwazamPosition position, KwazamSearchLimits limits) {
+        stopRequested = false;
+        cache.newGeneration();
+        return runSearch(position, limits, 0);
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Asks a running search to stop as soon as possible. Safe to call from
+     * another thread; the search returns its best move so far.
+     */
+    public void stop() {
+        stopRequested = true;
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets the transposition cache of the engine.
+     * 
+     * @return the position cache
+     */
+    public KwazamPositionCache getCache() {
+        return cache;
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets the best move stored in the cache for a position, e.g. to predict
+     * the opponent's reply. The move may be illegal after a hash collision,
+     * so check it before playing it.
+     * 
+     * @param hash the position hash
+     * @return the packed move, or KwazamMove.NONE if none is cached
+     */
+    public int getCachedMove(long hash) {
+        long cached = cache.probe(hash);
+        return cached == KwazamPositionCache.MISS ? KwazamMove.NONE
+                : (int) KwazamPositionCache.getPayload(cached) & MOVE_MASK;
+    }
+
+    // =================================================================
+    // PARALLEL SEARCH SUPPORT
+    // =================================================================
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Clears a stop request before a search is started on another thread, so
+     * a stop that comes before the search starts is not lost.
+     */
+    void prepare() {
+        stopRequested = false;
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Searches a position with iterative deepening. Helper threads of a
+     * parallel search skip some depths, staggered by their index, so the
+     * threads spread over different depths and fill the shared cache with
+     * different results.
+     * 
+     * @param position    the position to search
+     * @param limits      the depth and time limits
+     * @param helperIndex 0 for the main search, 1 and up for helpers
+     * @return the search result
+     */
+    KwazamSearchResult runSearch(KwazamPosition position, KwazamSearchLimits limits, int helperIndex) {
+        long start = System.currentTimeMillis();
+        model.setPosition(position);
+        aborted = false;
+        nodes = 0;
+        deadline = limits.getTimeMillis() > 0 ? start + limits.getTimeMillis() : Long.MAX_VALUE;
+
+        int maxDepth = limits.getMaxDepth() > 0 ? Math.min(limits.getMaxDepth(), MAX_PLY) : MAX_PLY;
+        int bestMove = KwazamMove.NONE;
+        int bestScore = 0;
+        int completedDepth = 0;
+
+        for (int depth = 1; depth <= maxDepth; depth++) {
+            if (helperIndex > 0 && depth > 1 && depth < maxDepth && isSkippedDepth(depth, helperIndex))
+                continue;
+
+            int[] result = searchRoot(depth, bestMove);
+
+            // An unfinished iteration is discarded, except that depth 1 always counts
+            if (aborted && completedDepth > 0)
+                break;
+
+            bestMove = result[0];
+            bestScore = result[1];
+            completedDepth = depth;
+
+            // Stop early when out of time, out of moves or a forced result is found
+            if (aborted || bestMove == KwazamMove.NONE || Math.abs(bestScore) >= MATE_THRESHOLD)
+                break;
+        }
+
+        return new KwazamSearchResult(bestMove, bestScore, completedDepth, nodes,
+                System.currentTimeMillis() - start);
+    }
+
+    // =================================================================
+    // SEARCH
+    // =================================================================
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Searches every root move to the given depth.
+     * 
+     * @param depth  the depth in plies
+     * @param pvMove the best move of the previous iteration, searched first
+     * @return the best move and its score
+     */
+    private int[] searchRoot(int depth, int pvMove) {
+        int[] moves = moveBuffers[0];
+        int moveCount = model.isSauCaptured() ? 0 : model.generateMoves(moves);
+        orderMoves(moves, scoreBuffers[0], moveCount, pvMove);
+
+        int bestMove = KwazamMove.NONE;
+        int alpha = -INFINITY;
+
+        for (int i = 0; i < moveCount; i++) {
+            model.makeMove(moves[i]);
+            int score = -negamax(depth - 1, -INFINITY, -alpha, 1);
+            model.unmakeMove();
+
+            if (aborted && i > 0)
+                break;
+
+            if (score > alpha) {
+                alpha = score;
+                bestMove = moves[i];
+            }
+        }
+
+        if (!aborted && bestMove != KwazamMove.NONE)
+            storeResult(depth, alpha, BOUND_EXACT, bestMove, 0);
+
+        return new int[] { bestMove, bestMove == KwazamMove.NONE ? 0 : alpha };
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Negamax alpha-beta search.
+     * 
+     * @param depth the remaining depth in plies
+     * @param alpha the lower bound
+     * @param beta  the upper bound
+     * @param ply   the distance from the root
+     * @return the score from the side to move's view
+     */
+    private int negamax(int depth, int alpha, int beta, int ply) {
+        if (checkAbort())
+            return 0;
+
+        // The side to move has lost its Sau; prefer the quickest win
+        if (model.isSauCaptured())
+            return -MATE_SCORE + ply;
+
+        // A position repeated inside the search is scored as a draw
+        if (model.getRepetitionCount() > 1)
+            return 0;
+
+        if (depth <= 0 || ply >= MAX_PLY)
+            return quiesce(alpha, beta, ply);
+
+        // A deep enough cached result may settle the node; its move is tried first anyway
+        int cachedMove = KwazamMove.NONE;
+        long cached = cache.probe(model.getHash());
+        if (cached != KwazamPositionCache.MISS) {
+            long payload = KwazamPositionCache.getPayload(cached);
+            cachedMove = (int) payload & MOVE_MASK;
+
+            if (KwazamPositionCache.getDepth(cached) >= depth) {
+                int bound = (int) (payload >>> BOUND_SHIFT) & 3;
+                int score = fromCacheScore((int) (payload >>> SCORE_SHIFT) - SCORE_OFFSET, ply);
+                if (bound == BOUND_EXACT || (bound == BOUND_LOWER && score >= beta)
+                        || (bound == BOUND_UPPER && score <= alpha))
+                    return score;
+            }
+        }
+
+        int[] moves = moveBuffers[ply];
+        int moveCount = model.generateMoves(moves);
+        if (moveCount == 0)
+            return 0; // No move left, the game cannot continue
+        orderMoves(moves, scoreBuffers[ply], moveCount, cachedMove);
+
+        int originalAlpha = alpha;
+        int bestMove = KwazamMove.NONE;
+
+        for (int i = 0; i < moveCount; i++) {
+            model.makeMove(moves[i]);
+            int score = -negamax(depth - 1, -beta, -alpha, ply + 1);
+            model.unmakeMove();
+
+            if (aborted)
+                return 0;
+
+            if (score > alpha) {
+                alpha = score;
+                bestMove = moves[i];
+                if (alpha >= beta)
+                    break;
+            }
+        }
+
+        int bound = alpha >= beta ? BOUND_LOWER : alpha > originalAlpha ? BOUND_EXACT : BOUND_UPPER;
+        storeResult(depth, alpha, bound, bestMove, ply);
+        return alpha;
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Searches captures only until the position is quiet, so the static
+     * evaluation is not taken in the middle of an exchange.
+     * 
+     * @param alpha the lower bound
+     * @param beta  the upper bound
+     * @param ply   the distance from the root
+     * @return the score from the side to move's view
+     */
+    private int quiesce(int alpha, int beta, int ply) {
+        if (checkAbort())
+            return 0;
+
+        if (model.isSauCaptured())
+            return -MATE_SCORE + ply;
+
+        int standPat = KwazamEvaluator.evaluate(model);
+        if (standPat >= beta || ply >= MAX_PLY)
+            return standPat;
+        if (standPat > alpha)
+            alpha = standPat;
+
+        int[] moves = moveBuffers[ply];
+        int moveCount = model.generateMoves(moves);
+
+        // Keep the captures only
+        int captureCount = 0;
+        for (int i = 0; i < moveCount; i++) {
+            if (KwazamMove.isCapture(moves[i]))
+                moves[captureCount++] = moves[i];
+        }
+        orderMoves(moves, scoreBuffers[ply], captureCount, KwazamMove.NONE);
+
+        for (int i = 0; i < captureCount; i++) {
+            model.makeMove(moves[i]);
+            int score = -quiesce(-beta, -alpha, ply + 1);
+            model.unmakeMove();
+
+            if (aborted)
+                return 0;
+
+            if (score > alpha) {
+                alpha = score;
+                if (alpha >= beta)
+                    break;
+            }
+        }
+
+        return alpha;
+    }
+
+    // =================================================================
+    // PRIVATE METHODS
+    // =================================================================
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Stores a search result for the current position in the cache.
+     * 
+     * @param depth the depth searched
+     * @param score the score from the side to move's view
+     * @param bound BOUND_EXACT, BOUND_LOWER or BOUND_UPPER
+     * @param move  the best move found, or KwazamMove.NONE
+     * @param ply   the distance from the root
+     */
+    private void storeResult(int depth, int score, int bound, int move, int ply) {
+        long payload = (move & MOVE_MASK) | ((long) bound << BOUND_SHIFT)
+                | ((long) (toCacheScore(score, ply) + SCORE_OFFSET) << SCORE_SHIFT);
+        cache.store(model.getHash(), depth, payload);
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Converts a win or loss score from distance to the root to distance to
+     * the current position, so the cached score holds wherever it is found.
+     * 
+     * @param score the score relative to the root
+     * @param ply   the distance from the root
+     * @return the score relative to the current position
+     */
+    private static int toCacheScore(int score, int ply) {
+        if (score >= MATE_THRESHOLD)
+            return score + ply;
+        if (score <= -MATE_THRESHOLD)
+            return score - ply;
+        return score;
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Converts a cached score back to distance from the root.
+     * 
+     * @param score the score relative to the cached position
+     * @param ply   the distance from the root
+     * @return the score relative to the root
+     */
+    private static int fromCacheScore(int score, int ply) {
+        if (score >= MATE_THRESHOLD)
+            return score - ply;
+        if (score <= -MATE_THRESHOLD)
+            return score + ply;
+        return score;
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Checks if a helper thread skips an iteration.
+     * 
+     * @param depth       the iteration depth
+     * @param helperIndex the helper index, 1 and up
+     * @return true if the depth is skipped
+     */
+    private static boolean isSkippedDepth(int depth, int helperIndex) {
+        int i = (helperIndex - 1) % SKIP_SIZE.length;
+        return ((depth + SKIP_PHASE[i]) / SKIP_SIZE[i]) % 2 != 0;
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Counts a node and checks the time and stop request now and then.
+     * 
+     * @return true if the search must stop
+     */
+    private boolean checkAbort() {
+        nodes++;
+        if ((nodes & (TIME_CHECK_INTERVAL - 1)) == 0
+                && (stopRequested || System.currentTimeMillis() >= deadline))
+            aborted = true;
+        return aborted;
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Sorts moves so the most promising are searched first: the given move,
+     * then captures of the most valuable piece by the least valuable one,
+     * then quiet moves in generation order.
+     * 
+     * @param moves     the moves
+     * @param scores    a buffer for the ordering scores
+     * @param moveCount the number of moves
+     * @param firstMove the move to search first, or KwazamMove.NONE
+     */
+    private void orderMoves(int[] moves, int[] scores, int moveCount, int firstMove) {
+        for (int i = 0; i < moveCount; i++) {
+            int move = moves[i];
+            if (move == firstMove) {
+                scores[i] = Integer.MAX_VALUE;
+            } else if (KwazamMove.isCapture(move)) {
+                KwazamPiece victim = model.getGameBoard().getPiece(KwazamMove.getTo(move));
+                KwazamPiece attacker = model.getGameBoard().getPiece(KwazamMove.getFrom(move));
+                int victimValue = victim.getType() == KwazamPieceType.SAU ? MATE_SCORE
+                        : KwazamEvaluator.getPieceValue(victim.getType());
+                scores[i] = victimValue * 8 - KwazamEvaluator.getPieceValue(attacker.getType()) / 100;
+            } else {
+                scores[i] = 0;
+            }
+        }
+
+        // Insertion sort, stable for the quiet moves
+        for (int i = 1; i < moveCount; i++) {
+            int move = moves[i];
+            int score = scores[i];
+            int j = i - 1;
+            while (j >= 0 && scores[j] < score) {
+                moves[j + 1] = moves[j];
+                scores[j + 1] = scores[j];
+                j--;
+            }
+            moves[j + 1] = move;
+            scores[j + 1] = score;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package model.ai;
+
+import model.KwazamModel;
+import model.board.KwazamScoreTables;
+import utils.KwazamPieceColor;
+import utils.KwazamPieceType;
+
+/**
+ * Static evaluation of Kwazam positions for the engine.
+ * Reads the model's incrementally maintained score (see KwazamScoreTables),
+ * so evaluating a position is constant-time. Scores are in hundredths of a
+ * Ram, from the view of the side to move.
+ */
+public final class KwazamEvaluator {
+    // =================================================================
+    // CONSTRUCTION
+    // =================================================================
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Private constructor to prevent instantiation.
+     * This is a utility class with static methods only.
+     */
+    private KwazamEvaluator() {
+    }
+
+    // =================================================================
+    // EVALUATION
+    // =================================================================
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets the material value of a piece type.
+     * 
+     * @param type the piece type
+     * @return the value in hundredths of a Ram
+     */
+    public static int getPieceValue(KwazamPieceType type) {
+        return KwazamScoreTables.getPieceValue(type);
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Evaluates the model's current position.
+     * 
+     * @param model the game model
+     * @return the score from the side to move's view
+     */
+    public static int evaluate(KwazamModel model) {
+        int score = model.getScore();
+        return model.getCurrentColor() == KwazamPieceColor.BLUE ? score : -score;
+    }
+}
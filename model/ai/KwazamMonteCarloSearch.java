@@ -0,0 +1,533 @@
+package model.ai;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import model.KwazamModel;
+import model.KwazamPosition;
+import model.movements.KwazamMove;
+import model.pieces.KwazamPiece;
+import utils.KwazamPieceType;
+import utils.KwazamThreads;
+
+/**
+ * Monte Carlo Tree Search (UCT) with parallel playouts.
+ * All threads grow one shared tree. Each thread selects a path with the UCT
+ * formula, expands the leaf, plays a fast random game from it and backs the
+ * result up the path. A thread counts its visit on every node of the path as
+ * it descends, before the result is known: this virtual loss makes the path
+ * look worse to the other threads, so they spread over the tree instead of
+ * all following the same line. Node statistics are atomic counters and a
+ * node's children are created once under the node's lock, so the threads
+ * never wait on each other otherwise.
+ * 
+ * Every thread plays on its own KwazamModel with makeMove and unmakeMove,
+ * back to the root after each playout, so a playout allocates nothing. The
+ * helpers run on a work-stealing ForkJoinPool.
+ */
+public class KwazamMonteCarloSearch implements KwazamSearcher {
+    // =================================================================
+    // CONSTANTS
+    // =================================================================
+    // UCT exploration constant, for rewards between 0 and 1
+    private static final double EXPLORATION = 1.4;
+
+    // A leaf is expanded on its second visit, so single playouts do not grow the tree
+    private static final int EXPANSION_VISITS = 2;
+
+    // Bounds memory during long searches; beyond it playouts start from the leaves
+    private static final int MAX_TREE_NODES = 2_000_000;
+
+    // Playouts longer than this are scored with the evaluator
+    private static final int PLAYOUT_MAX_PLIES = 120;
+    private static final int DECISIVE_SCORE = 200;
+
+    // Chance, in percent, that a playout takes a capture when it has one
+    private static final int CAPTURE_PERCENT = 50;
+
+    // Rewards in half points, from the view of the player who made the move
+    private static final int LOSS = 0;
+    private static final int DRAW = 1;
+    private static final int WIN = 2;
+
+    // Scale of the reported score: the best move's win rate mapped to -1000..1000
+    private static final int WIN_RATE_SCALE = 1000;
+
+    private static final AtomicIntegerFieldUpdater<Node> VISITS = AtomicIntegerFieldUpdater.newUpdater(Node.class,
+            "visits");
+    private static final AtomicLongFieldUpdater<Node> REWARD = AtomicLongFieldUpdater.newUpdater(Node.class,
+            "reward");
+
+    // =================================================================
+    // ATTRIBUTES
+    // =================================================================
+    private final Worker[] workers;
+    private final ForkJoinPool helpers;
+    private final AtomicLong stopCount;
+    private final AtomicInteger nodeCount;
+
+    private volatile boolean stopRequested;
+    private volatile Node root;
+    private long deadline;
+    private int maxTreeDepth;
+
+    // =================================================================
+    // CONSTRUCTION
+    // =================================================================
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Constructs a Monte Carlo search with the given number of threads, the
+     * calling thread included.
+     * 
+     * @param threads the number of playout threads, at least 1
+     */
+    public KwazamMonteCarloSearch(int threads) {
+        this.workers = new Worker[Math.max(threads, 1)];
+        this.stopCount = new AtomicLong();
+        this.nodeCount = new AtomicInteger();
+        for (int i = 0; i < workers.length; i++)
+            workers[i] = new Worker(i);
+
+        // Fork/join workers are daemon threads, so an idle search never keeps the game from exiting
+        this.helpers = workers.length == 1 ? null : new ForkJoinPool(workers.length - 1);
+    }
+
+    // =================================================================
+    // SEARCH API
+    // =================================================================
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Runs playouts on all threads until the time limit is reached or stop
+     * is called. A depth limit caps the depth of the tree instead of ending
+     * the search; without a time limit the search runs until stopped.
+     * 
+     * The result holds the most visited root move, its win rate scaled to
+     * -1000..1000 as the score, the length of the most visited line as the
+     * depth and the number of playouts as the nodes.
+     * 
+     * @param position  the position to search
+     * @param limits    the depth and time limits
+     * @param stopToken the stop token taken when the search was requested
+     * @return the search result
+     */
+    @Override
+    public KwazamSearchResult search(KwazamPosition position, KwazamSearchLimits limits, long stopToken) {
+        long start = System.currentTimeMillis();
+        stopRequested = false;
+
+        // Checked after the flag is cleared, so a stop that came before is not lost
+        if (stopCount.get() != stopToken)
+            stopRequested = true;
+
+        deadline = limits.getTimeMillis() > 0 ? start + limits.getTimeMillis() : Long.MAX_VALUE;
+        maxTreeDepth = limits.getMaxDepth() > 0 ? limits.getMaxDepth() : Integer.MAX_VALUE;
+
+        Node searchRoot = new Node(null, KwazamMove.NONE, position.getHash());
+        nodeCount.set(1);
+        for (Worker worker : workers)
+            worker.model.setPosition(position);
+        workers[0].expand(searchRoot);
+        root = searchRoot;
+
+        List<Future<Long>> helperResults = new ArrayList<>(workers.length - 1);
+        for (int i = 1; i < workers.length; i++)
+            helperResults.add(helpers.submit(workers[i]::run));
+
+        long playouts = workers[0].run();
+        stopRequested = true;
+        for (Future<Long> future : helperResults)
+            playouts += KwazamThreads.waitFor(future, "playout thread");
+
+        Node best = mostVisitedChild(searchRoot);
+        int bestMove = best == null ? KwazamMove.NONE : best.move;
+        int score = best == null || best.visits == 0 ? 0
+                : (int) Math.round((best.reward / (double) (WIN * best.visits) * 2 - 1) * WIN_RATE_SCALE);
+
+        return new KwazamSearchResult(bestMove, score, principalDepth(searchRoot), playouts,
+                System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Asks a running search to stop on all threads. Safe to call from another
+     * thread.
+     */
+    @Override
+    public void stop() {
+        stopCount.incrementAndGet();
+        stopRequested = true;
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets a token to pass to search, so a stop called after this point
+     * cancels that search.
+     * 
+     * @return the stop token
+     */
+    @Override
+    public long getStopToken() {
+        return stopCount.get();
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets the most visited move in a position one move deep in the last
+     * search's tree, i.e. the expected reply to one of the root moves.
+     * 
+     * @param position the position
+     * @return the packed move, or KwazamMove.NONE if the position is not in the tree
+     */
+    @Override
+    public int getCachedMove(KwazamPosition position) {
+        Node lastRoot = root;
+        if (lastRoot == null || lastRoot.children == null)
+            return KwazamMove.NONE;
+
+        for (Node child : lastRoot.children) {
+            if (child.hash == position.getHash()) {
+                Node reply = mostVisitedChild(child);
+                return reply == null ? KwazamMove.NONE : reply.move;
+            }
+        }
+        return KwazamMove.NONE;
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Stops the helper threads. The search must not be used afterwards.
+     */
+    @Override
+    public void shutdown() {
+        stop();
+        if (helpers != null)
+            helpers.shutdown();
+    }
+
+    // =================================================================
+    // GETTERS
+    // =================================================================
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets the number of playout threads.
+     * 
+     * @return the thread count
+     */
+    @Override
+    public int getThreadCount() {
+        return workers.length;
+    }
+
+    // =================================================================
+    // PRIVATE METHODS
+    // =================================================================
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Checks if the search must stop.
+     * 
+     * @return true when stopped or out of time
+     */
+    private boolean isFinished() {
+        return stopRequested || System.currentTimeMillis() >= deadline;
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets the child with the most visits.
+     * 
+     * @param node the node
+     * @return the most visited child, or null if the node has none
+     */
+    private static Node mostVisitedChild(Node node) {
+        Node[] children = node.children;
+        if (children == null)
+            return null;
+
+        Node best = null;
+        for (Node child : children) {
+            if (best == null || child.visits > best.visits)
+                best = child;
+        }
+        return best;
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets the length of the line of most visited moves from a node.
+     * 
+     * @param node the node
+     * @return the line length in plies
+     */
+    private static int principalDepth(Node node) {
+        int depth = 0;
+        for (Node child = mostVisitedChild(node); child != null && child.visits > 0; child = mostVisitedChild(child))
+            depth++;
+        return depth;
+    }
+
+    // =================================================================
+    // TREE NODE
+    // =================================================================
+    /**
+     * A position in the shared tree, reached by one move from its parent.
+     * The reward is in half points from the view of the player who made the
+     * move, so a parent picks the child that is best for the side to move.
+     */
+    private static final class Node {
+        private final Node parent;
+        private final int move;
+        private final long hash;
+
+        // Updated through VISITS and REWARD; visits include virtual losses in progress
+        private volatile int visits;
+        private volatile long reward;
+
+        // Created once, on expansion
+        private volatile Node[] children;
+
+        /**
+         * Author(s): Ng Wei Da
+         * 
+         * Constructs an unvisited node.
+         * 
+         * @param parent the parent node, or null for the root
+         * @param move   the packed move from the parent
+         * @param hash   the position hash after the move
+         */
+        private Node(Node parent, int move, long hash) {
+            this.parent = parent;
+            this.move = move;
+            this.hash = hash;
+        }
+    }
+
+    // =================================================================
+    // PLAYOUT THREAD
+    // =================================================================
+    /**
+     * One playout thread, with its own model, move buffers and random
+     * numbers.
+     */
+    private final class Worker {
+        private final KwazamModel model;
+        private final int[] moves;
+        private final int[] captures;
+        private final SplittableRandom random;
+
+        /**
+         * Author(s): Ng Wei Da
+         * 
+         * Constructs a playout thread's state.
+         * 
+         * @param index the thread index, used to seed the random numbers
+         */
+        private Worker(int index) {
+            this.model = new KwazamModel();
+            this.moves = new int[KwazamMove.MAX_POSITION_MOVES];
+            this.captures = new int[KwazamMove.MAX_POSITION_MOVES];
+            this.random = new SplittableRandom(System.nanoTime() + index);
+        }
+
+        /**
+         * Author(s): Ng Wei Da
+         * 
+         * Runs playouts from the root until the search is finished.
+         * 
+         * @return the number of playouts
+         */
+        private long run() {
+            Node searchRoot = root;
+            long playouts = 0;
+
+            while (!isFinished()) {
+                playOnce(searchRoot);
+                playouts++;
+            }
+            return playouts;
+        }
+
+        /**
+         * Author(s): Ng Wei Da
+         * 
+         * Selects a path, expands its leaf, plays out from it and backs the
+         * result up, then takes every move back to return to the root.
+         * 
+         * @param searchRoot the root of the tree
+         */
+        private void playOnce(Node searchRoot) {
+            Node node = searchRoot;
+            VISITS.incrementAndGet(node);
+            int depth = 0;
+            int result;
+
+            while (true) {
+                // The side to move has lost its Sau
+                if (model.isSauCaptured()) {
+                    result = LOSS;
+                    break;
+                }
+
+                Node[] children = node.children;
+                if (children == null) {
+                    if (node.visits < EXPANSION_VISITS || depth >= maxTreeDepth
+                            || nodeCount.get() >= MAX_TREE_NODES) {
+                        result = playout();
+                        break;
+                    }
+                    children = expand(node);
+                }
+                if (children.length == 0) {
+                    result = DRAW; // No move left, the game cannot continue
+                    break;
+                }
+
+                node = select(node, children);
+                VISITS.incrementAndGet(node);
+                model.makeMove(node.move);
+                depth++;
+            }
+
+            // The result is for the side to move at the leaf, who did not make the leaf's move
+            for (; node != null; node = node.parent) {
+                REWARD.addAndGet(node, WIN - result);
+                result = WIN - result;
+            }
+
+            while (model.getUndoDepth() > 0)
+                model.unmakeMove();
+        }
+
+        /**
+         * Author(s): Ng Wei Da
+         * 
+         * Creates the children of a node for every legal move in the model's
+         * position, unless another thread already has.
+         * 
+         * @param node the node of the model's position
+         * @return the children
+         */
+        private Node[] expand(Node node) {
+            synchronized (node) {
+                if (node.children != null)
+                    return node.children;
+
+                int moveCount = model.isSauCaptured() ? 0 : model.generateMoves(moves);
+                Node[] children = new Node[moveCount];
+                for (int i = 0; i < moveCount; i++) {
+                    model.makeMove(moves[i]);
+                    children[i] = new Node(node, moves[i], model.getHash());
+                    model.unmakeMove();
+                }
+                nodeCount.addAndGet(moveCount);
+                node.children = children;
+                return children;
+            }
+        }
+
+        /**
+         * Author(s): Ng Wei Da
+         * 
+         * Picks the child with the highest UCT value. Unvisited children come
+         * first; visits in progress count as losses.
+         * 
+         * @param node     the parent node
+         * @param children the children
+         * @return the selected child
+         */
+        private Node select(Node node, Node[] children) {
+            double logVisits = Math.log(Math.max(node.visits, 1));
+            Node best = null;
+            double bestValue = Double.NEGATIVE_INFINITY;
+
+            // Start at a random child, so threads do not all try unvisited children in the same order
+            int offset = random.nextInt(children.length);
+            for (int i = 0; i < children.length; i++) {
+                Node child = children[(i + offset) % children.length];
+                int visits = child.visits;
+                if (visits == 0)
+                    return child;
+
+                double value = child.reward / (double) (WIN * visits) + EXPLORATION * Math.sqrt(logVisits / visits);
+                if (value > bestValue) {
+                    bestValue = value;
+                    best = child;
+                }
+            }
+            return best;
+        }
+
+        /**
+         * Author(s): Ng Wei Da
+         * 
+         * Plays random moves from the model's position until a Sau is
+         * captured or the playout is too long. A Sau capture is always
+         * taken and other captures are preferred. The moves are left on the
+         * model's undo stack.
+         * 
+         * @return LOSS, DRAW or WIN for the side to move at the start
+         */
+        private int playout() {
+            int plies = 0;
+
+            while (true) {
+                if (model.isSauCaptured())
+                    return plies % 2 == 0 ? LOSS : WIN;
+
+                if (plies >= PLAYOUT_MAX_PLIES) {
+                    int score = KwazamEvaluator.evaluate(model);
+                    int result = score >= DECISIVE_SCORE ? WIN : score <= -DECISIVE_SCORE ? LOSS : DRAW;
+                    return plies % 2 == 0 ? result : WIN - result;
+                }
+
+                int moveCount = model.generateMoves(moves);
+                if (moveCount == 0)
+                    return DRAW;
+
+                model.makeMove(choosePlayoutMove(moveCount));
+                plies++;
+            }
+        }
+
+        /**
+         * Author(s): Ng Wei Da
+         * 
+         * Chooses a playout move from the generated moves.
+         * 
+         * @param moveCount the number of moves in the buffer
+         * @return the packed move
+         */
+        private int choosePlayoutMove(int moveCount) {
+            int captureCount = 0;
+            for (int i = 0; i < moveCount; i++) {
+                int move = moves[i];
+                if (!KwazamMove.isCapture(move))
+                    continue;
+
+                KwazamPiece victim = model.getGameBoard().getPiece(KwazamMove.getTo(move));
+                if (victim.getType() == KwazamPieceType.SAU)
+                    return move;
+                captures[captureCount++] = move;
+            }
+
+            if (captureCount > 0 && random.nextInt(100) < CAPTURE_PERCENT)
+                return captures[random.nextInt(captureCount)];
+            return moves[random.nextInt(moveCount)];
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package model.ai;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import model.KwazamPosition;
+import model.KwazamPositionCache;
+import model.movements.KwazamMove;
+import utils.KwazamThreads;
+
+/**
+ * Lazy SMP parallel search.
+ * Every thread runs its own KwazamEngine with iterative deepening on the same
+ * root, and all engines share one lock-free KwazamPositionCache. The threads
+ * do not talk to each other: helpers skip some depths, staggered by thread,
+ * and the results they leave in the cache speed up the main search. When the
+ * main search ends the helpers are stopped, and the deepest completed result
+ * of any thread is returned with the nodes of all threads.
+ */
+public class KwazamParallelSearch implements KwazamSearcher {
+    // =================================================================
+    // ATTRIBUTES
+    // =================================================================
+    private final KwazamPositionCache cache;
+    private final KwazamEngine[] engines;
+    private final ExecutorService helpers;
+    private final AtomicLong stopCount;
+
+    // =================================================================
+    // CONSTRUCTION
+    // =================================================================
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Constructs a parallel search with the given number of threads, the
+     * calling thread included.
+     * 
+     * @param threads the number of search threads, at least 1
+     * @param cache   the cache shared by all threads
+     */
+    public KwazamParallelSearch(int threads, KwazamPositionCache cache) {
+        this.cache = cache;
+        this.engines = new KwazamEngine[Math.max(threads, 1)];
+        this.stopCount = new AtomicLong();
+        for (int i = 0; i < engines.length; i++)
+            engines[i] = new KwazamEngine(cache);
+
+        // Daemon threads, so an idle search never keeps the game from exiting
+        this.helpers = engines.length == 1 ? null : Executors.newFixedThreadPool(engines.length - 1, runnable -> {
+            Thread thread = new Thread(runnable, "Kwazam search helper");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // =================================================================
+    // SEARCH API
+    // =================================================================
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Searches a position on all threads until a limit is reached or stop is
+     * called. Not reentrant: one search at a time.
+     * 
+     * @param position the position to search
+     * @param limits   the depth and time limits
+     * @return the best result, with the nodes of all threads
+     */
+    public KwazamSearchResult search(KwazamPosition position, KwazamSearchLimits limits) {
+        return search(position, limits, getStopToken());
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Searches a position on all threads, like search, but stops at once if
+     * stop was called after the token was taken. A search queued on another
+     * thread is then cancelled even if stop came before it started.
+     * 
+     * @param position  the position to search
+     * @param limits    the depth and time limits
+     * @param stopToken the stop token taken when the search was requested
+     * @return the best result, with the nodes of all threads
+     */
+    @Override
+    public KwazamSearchResult search(KwazamPosition position, KwazamSearchLimits limits, long stopToken) {
+        long start = System.currentTimeMillis();
+        cache.newGeneration();
+        for (KwazamEngine engine : engines)
+            engine.prepare();
+
+        // Checked after prepare, so a stop that came before is not cleared
+        if (stopCount.get() != stopToken)
+            stopEngines();
+
+        List<Future<KwazamSearchResult>> helperResults = new ArrayList<>(engines.length - 1);
+        for (int i = 1; i < engines.length; i++) {
+            KwazamEngine engine = engines[i];
+            int helperIndex = i;
+            helperResults.add(helpers.submit(() -> engine.runSearch(position, limits, helperIndex)));
+        }
+
+        KwazamSearchResult best = engines[0].runSearch(position, limits, 0);
+        for (int i = 1; i < engines.length; i++)
+            engines[i].stop();
+
+        long nodes = best.getNodes();
+        for (Future<KwazamSearchResult> future : helperResults) {
+            KwazamSearchResult result = KwazamThreads.waitFor(future, "search thread");
+            nodes += result.getNodes();
+
+            // A helper that completed a deeper iteration has the better move
+            if (result.getDepth() > best.getDepth() && result.getBestMove() != KwazamMove.NONE)
+                best = result;
+        }
+
+        return new KwazamSearchResult(best.getBestMove(), best.getScore(), best.getDepth(), nodes,
+                System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Asks a running search to stop on all threads. Safe to call from another
+     * thread.
+     */
+    @Override
+    public void stop() {
+        stopCount.incrementAndGet();
+        stopEngines();
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets a token to pass to search, so a stop called after this point
+     * cancels that search.
+     * 
+     * @return the stop token
+     */
+    @Override
+    public long getStopToken() {
+        return stopCount.get();
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets the best move stored in the shared cache for a position.
+     * 
+     * @param position the position
+     * @return the packed move, or KwazamMove.NONE if none is cached
+     */
+    @Override
+    public int getCachedMove(KwazamPosition position) {
+        return engines[0].getCachedMove(position.getHash());
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Stops the helper threads. The search must not be used afterwards.
+     */
+    @Override
+    public void shutdown() {
+        stop();
+        if (helpers != null)
+            helpers.shutdown();
+    }
+
+    // =================================================================
+    // GETTERS
+    // =================================================================
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets the number of search threads.
+     * 
+     * @return the thread count
+     */
+    @Override
+    public int getThreadCount() {
+        return engines.length;
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets the cache shared by the threads.
+     * 
+     * @return the position cache
+     */
+    public KwazamPositionCache getCache() {
+        return cache;
+    }
+
+    // =================================================================
+    // PRIVATE METHODS
+    // =================================================================
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Asks every engine to stop.
+     */
+    private void stopEngines() {
+        for (KwazamEngine engine : engines)
+            engine.stop();
+    }
+}
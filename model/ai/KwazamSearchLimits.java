@@ -0,0 +1,83 @@
+package model.ai;
+
+/**
+ * Limits for one engine search.
+ * The search stops at whichever limit is reached first: the maximum depth
+ * in plies or the time budget. A limit of 0 means no limit, but at least
+ * one of the two must be set.
+ */
+public final class KwazamSearchLimits {
+    // =================================================================
+    // ATTRIBUTES
+    // =================================================================
+    private final int maxDepth;
+    private final long timeMillis;
+
+    // =================================================================
+    // CONSTRUCTION
+    // =================================================================
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Constructs search limits.
+     * 
+     * @param maxDepth   the maximum depth in plies, or 0 for no depth limit
+     * @param timeMillis the time budget in milliseconds, or 0 for no time limit
+     */
+    public KwazamSearchLimits(int maxDepth, long timeMillis) {
+        if (maxDepth <= 0 && timeMillis <= 0)
+            throw new IllegalArgumentException("A depth or time limit is required");
+
+        this.maxDepth = maxDepth;
+        this.timeMillis = timeMillis;
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Creates limits that search to a fixed depth.
+     * 
+     * @param maxDepth the depth in plies
+     * @return the search limits
+     */
+    public static KwazamSearchLimits depth(int maxDepth) {
+        return new KwazamSearchLimits(maxDepth, 0);
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Creates limits that search for a fixed time.
+     * 
+     * @param timeMillis the time budget in milliseconds
+     * @return the search limits
+     */
+    public static KwazamSearchLimits time(long timeMillis) {
+        return new KwazamSearchLimits(0, timeMillis);
+    }
+
+    // =================================================================
+    // GETTERS
+    // =================================================================
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets the maximum depth.
+     * 
+     * @return the depth in plies, or 0 for no depth limit
+     */
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets the time budget.
+     * 
+     * @return the time in milliseconds, or 0 for no time limit
+     */
+    public long getTimeMillis() {
+        return timeMillis;
+    }
+}
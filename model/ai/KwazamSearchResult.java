@@ -0,0 +1,124 @@
+package model.ai;
+
+import model.movements.KwazamMove;
+
+/**
+ * Result of an engine search: the best move found with its score, the
+ * deepest completed iteration and the effort spent.
+ */
+public final class KwazamSearchResult {
+    // =================================================================
+    // ATTRIBUTES
+    // =================================================================
+    private final int bestMove;
+    private final int score;
+    private final int depth;
+    private final long nodes;
+    private final long elapsedMillis;
+
+    // =================================================================
+    // CONSTRUCTION
+    // =================================================================
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Constructs a search result.
+     * 
+     * @param bestMove      the best packed move, or KwazamMove.NONE
+     * @param score         the score from the side to move's view
+     * @param depth         the deepest completed depth
+     * @param nodes         the number of nodes searched
+     * @param elapsedMillis the search time in milliseconds
+     */
+    public KwazamSearchResult(int bestMove, int score, int depth, long nodes, long elapsedMillis) {
+        this.bestMove = bestMove;
+        this.score = score;
+        this.depth = depth;
+        this.nodes = nodes;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    // =================================================================
+    // GETTERS
+    // =================================================================
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets the best move.
+     * 
+     * @return the packed move, or KwazamMove.NONE if there is no move
+     */
+    public int getBestMove() {
+        return bestMove;
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets the score of the best move, in hundredths of a Ram, from the side
+     * to move's view.
+     * 
+     * @return the score
+     */
+    public int getScore() {
+        return score;
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets the deepest fully searched depth.
+     * 
+     * @return the depth in plies
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets the number of nodes searched.
+     * 
+     * @return the node count
+     */
+    public long getNodes() {
+        return nodes;
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets the search time.
+     * 
+     * @return the time in milliseconds
+     */
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets the nodes searched per second.
+     * 
+     * @return the search speed
+     */
+    public long getNodesPerSecond() {
+        return elapsedMillis > 0 ? nodes * 1000 / elapsedMillis : nodes * 1000;
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets a one-line summary of the result.
+     * 
+     * @return the summary
+     */
+    @Override
+    public String toString() {
+        return "best " + (bestMove == KwazamMove.NONE ? "none" : KwazamMove.toString(bestMove)) + " score " + score
+                + " depth " + depth + " nodes " + nodes + " time " + elapsedMillis + " ms nps "
+                + getNodesPerSecond();
+    }
+}
@@ -0,0 +1,69 @@
+package model.ai;
+
+import model.KwazamPosition;
+
+/**
+ * A multi-threaded search the computer player can think with.
+ * Implemented by the alpha-beta KwazamParallelSearch and the Monte Carlo
+ * KwazamMonteCarloSearch. A searcher runs one search at a time; stop and
+ * getStopToken may be called from any thread.
+ */
+public interface KwazamSearcher {
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Searches a position until a limit is reached or stop is called, and
+     * stops at once if stop was called after the token was taken.
+     * 
+     * @param position  the position to search
+     * @param limits    the depth and time limits
+     * @param stopToken the stop token taken when the search was requested
+     * @return the search result
+     */
+    KwazamSearchResult search(KwazamPosition position, KwazamSearchLimits limits, long stopToken);
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Asks a running search to stop on all threads.
+     */
+    void stop();
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets a token to pass to search, so a stop called after this point
+     * cancels that search.
+     * 
+     * @return the stop token
+     */
+    long getStopToken();
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets the move the last searches expect in a position, e.g. to predict
+     * the opponent's reply. The move may be illegal, so check it before
+     * playing it.
+     * 
+     * @param position the position
+     * @return the packed move, or KwazamMove.NONE if there is none
+     */
+    int getCachedMove(KwazamPosition position);
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets the number of search threads.
+     * 
+     * @return the thread count
+     */
+    int getThreadCount();
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Stops the search threads. The searcher must not be used afterwards.
+     */
+    void shutdown();
+}
@@ -0,0 +1,200 @@
+package model.analysis;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import model.KwazamModel;
+import model.KwazamPositionCache;
+import model.ai.KwazamEngine;
+import model.ai.KwazamSearchLimits;
+import model.book.KwazamBookMove;
+import model.book.KwazamOpeningBook;
+import model.movements.KwazamMove;
+import utils.KwazamConstants;
+import utils.KwazamPieceColor;
+import utils.KwazamThreads;
+
+/**
+ * Builds the opening book from automated games.
+ * Plays games from the start position on several threads. In the first
+ * plies, the book plies, each side plays a random move half of the time
+ * and the engine's move otherwise, so the games cover many openings but
+ * follow the good ones more often. The rest of each game is played by the
+ * engine at a fixed depth, with the draw rules on. For every book ply the
+ * position hash, the move and the result for the mover are counted, and the
+ * moves played in enough games are written to a KwazamOpeningBook file.
+ * 
+ * Usage: java model.analysis.KwazamBookBuilder [games] [book plies] [depth] [threads] [min games] [output]
+ */
+public class KwazamBookBuilder {
+    // =================================================================
+    // CONSTANTS
+    // =================================================================
+    private static final int DEFAULT_GAMES = 2000;
+    private static final int DEFAULT_BOOK_PLIES = 8;
+    private static final int DEFAULT_DEPTH = 2;
+    private static final int DEFAULT_MIN_GAMES = 3;
+
+    // Chance, in percent, that a book ply is a random move instead of the engine's
+    private static final int RANDOM_MOVE_PERCENT = 50;
+
+    // Games still running after this many plies are drawn
+    private static final int MAX_GAME_PLIES = 400;
+    private static final int ENGINE_CACHE_MB = 4;
+    private static final int PROGRESS_INTERVAL = 500;
+
+    // Half points for the mover
+    private static final int LOSS = 0;
+    private static final int DRAW = 1;
+    private static final int WIN = 2;
+
+    // =================================================================
+    // COMMAND LINE
+    // =================================================================
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Plays the games and writes the book.
+     * 
+     * @param args [games] [book plies] [depth] [threads] [min games] [output]
+     * @throws IOException if the book cannot be written
+     */
+    public static void main(String[] args) throws IOException {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_GAMES;
+        int bookPlies = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_BOOK_PLIES;
+        int depth = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_DEPTH;
+        int threads = args.length > 3 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+        int minGames = args.length > 4 ? Integer.parseInt(args[4]) : DEFAULT_MIN_GAMES;
+        String output = args.length > 5 ? args[5] : KwazamConstants.OPENING_BOOK_FILE;
+
+        System.out.println("Playing " + games + " games on " + threads + " threads, " + bookPlies
+                + " book plies, depth " + depth);
+        long start = System.currentTimeMillis();
+
+        AtomicInteger gamesStarted = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        List<Future<Map<Long, Map<Integer, int[]>>>> results = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            long seed = start + i;
+            results.add(pool.submit(() -> playGames(games, gamesStarted, bookPlies, depth, seed)));
+        }
+
+        // Merge the threads' counts: per position hash, per move, games and half points
+        Map<Long, Map<Integer, int[]>> counts = new HashMap<>();
+        for (Future<Map<Long, Map<Integer, int[]>>> result : results)
+            merge(counts, KwazamThreads.waitFor(result, "game thread"));
+        pool.shutdown();
+
+        List<KwazamBookMove> records = new ArrayList<>();
+        for (Map.Entry<Long, Map<Integer, int[]>> position : counts.entrySet()) {
+            for (Map.Entry<Integer, int[]> move : position.getValue().entrySet()) {
+                int[] count = move.getValue();
+                if (count[0] >= minGames)
+                    records.add(new KwazamBookMove(position.getKey(), move.getKey(), count[0], count[1]));
+            }
+        }
+        KwazamOpeningBook.write(output, records);
+
+        System.out.println("Wrote " + records.size() + " moves in " + counts.size() + " positions to " + output
+                + " in " + (System.currentTimeMillis() - start) + " ms");
+    }
+
+    // =================================================================
+    // PRIVATE METHODS
+    // =================================================================
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Plays games on one thread until the shared game count is reached.
+     * 
+     * @param games        the number of games to play on all threads
+     * @param gamesStarted the shared count of games started
+     * @param bookPlies    the number of plies counted in the book
+     * @param depth        the engine's search depth
+     * @param seed         the seed of the thread's random moves
+     * @return the thread's counts, per position hash and move
+     */
+    private static Map<Long, Map<Integer, int[]>> playGames(int games, AtomicInteger gamesStarted, int bookPlies,
+            int depth, long seed) {
+        KwazamModel model = new KwazamModel();
+        model.setDrawRules(true, KwazamModel.DEFAULT_NO_CAPTURE_LIMIT);
+        KwazamEngine engine = new KwazamEngine(new KwazamPositionCache(ENGINE_CACHE_MB));
+        KwazamSearchLimits limits = KwazamSearchLimits.depth(depth);
+        SplittableRandom random = new SplittableRandom(seed);
+
+        int[] moves = new int[KwazamMove.MAX_POSITION_MOVES];
+        long[] bookHashes = new long[bookPlies];
+        int[] bookMoves = new int[bookPlies];
+        Map<Long, Map<Integer, int[]>> counts = new HashMap<>();
+
+        int game;
+        while ((game = gamesStarted.incrementAndGet()) <= games) {
+            model.initGame();
+            int plies = 0;
+
+            while (plies < MAX_GAME_PLIES && !model.isSauCaptured() && !model.isDraw()) {
+                int move;
+                if (plies < bookPlies && random.nextInt(100) < RANDOM_MOVE_PERCENT) {
+                    int moveCount = model.generateMoves(moves);
+                    if (moveCount == 0)
+                        break;
+                    move = moves[random.nextInt(moveCount)];
+                } else {
+                    move = engine.bestMove(model.getPosition(), limits);
+                    if (move == KwazamMove.NONE)
+                        break;
+                }
+
+                if (plies < bookPlies) {
+                    bookHashes[plies] = model.getHash();
+                    bookMoves[plies] = move;
+                }
+                model.makeMove(move);
+                plies++;
+            }
+
+            // The first book ply is Blue's; the result is counted for the mover of each ply
+            KwazamPieceColor winner = !model.isSauCaptured() ? null
+                    : model.getSau(KwazamPieceColor.BLUE) == null ? KwazamPieceColor.RED : KwazamPieceColor.BLUE;
+            for (int ply = 0; ply < Math.min(plies, bookPlies); ply++) {
+                KwazamPieceColor mover = ply % 2 == 0 ? KwazamPieceColor.BLUE : KwazamPieceColor.RED;
+                int result = winner == null ? DRAW : winner == mover ? WIN : LOSS;
+
+                int[] count = counts.computeIfAbsent(bookHashes[ply], hash -> new HashMap<>())
+                        .computeIfAbsent(bookMoves[ply], m -> new int[2]);
+                count[0]++;
+                count[1] += result;
+            }
+
+            if (game % PROGRESS_INTERVAL == 0)
+                System.out.println(game + " games");
+        }
+        return counts;
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Adds one thread's counts to the total.
+     * 
+     * @param total  the total counts
+     * @param counts the thread's counts
+     */
+    private static void merge(Map<Long, Map<Integer, int[]>> total, Map<Long, Map<Integer, int[]>> counts) {
+        for (Map.Entry<Long, Map<Integer, int[]>> position : counts.entrySet()) {
+            Map<Integer, int[]> totalMoves = total.computeIfAbsent(position.getKey(), hash -> new HashMap<>());
+            for (Map.Entry<Integer, int[]> move : position.getValue().entrySet()) {
+                int[] totalCount = totalMoves.computeIfAbsent(move.getKey(), m -> new int[2]);
+                totalCount[0] += move.getValue()[0];
+                totalCount[1] += move.getValue()[1];
+            }
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package model.analysis;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import model.KwazamModel;
+import model.KwazamPosition;
+import model.KwazamPositionCache;
+import model.movements.KwazamMove;
+import utils.KwazamPieceColor;
+
+/**
+ * Benchmark for KwazamPositionCache.
+ * Replays every recorded position of the saves in data/ (and the start
+ * position), walks the game tree below each to a fixed depth and asks the
+ * questions our tools repeat: the number of legal moves and whether the side
+ * to move has its Sau attacked. The root positions are shared out between
+ * the threads, so every tree is walked once per run and the hit rate shows
+ * only the reuse within and between the games. The walks run once without
+ * and once with the cache, shared by all threads, and the times and hit
+ * rate are printed.
+ * 
+ * Usage: java model.analysis.KwazamCacheBenchmark [depth] [megabytes] [threads]
+ */
+public class KwazamCacheBenchmark {
+    // =================================================================
+    // CONSTANTS
+    // =================================================================
+    private static final int DEFAULT_DEPTH = 4;
+    private static final int DEFAULT_MEGABYTES = 64;
+
+    // Payload: bits 0-8 move count, bit 9 Sau attacked
+    private static final int CHECK_FLAG = 1 << 9;
+    private static final int COUNT_MASK = CHECK_FLAG - 1;
+
+    // =================================================================
+    // ATTRIBUTES
+    // =================================================================
+    private final KwazamModel model;
+    private final KwazamPositionCache cache;
+    private final int[][] moveBuffers;
+    private long checksum;
+
+    // =================================================================
+    // CONSTRUCTION
+    // =================================================================
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Constructs a benchmark walker for one position.
+     * 
+     * @param position the root position
+     * @param cache    the cache to use, or null to compute every answer
+     * @param maxDepth the depth of the walk
+     */
+    public KwazamCacheBenchmark(KwazamPosition position, KwazamPositionCache cache, int maxDepth) {
+        this.model = new KwazamModel();
+        this.model.setPosition(position);
+        this.cache = cache;
+        this.moveBuffers = new int[maxDepth + 1][KwazamMove.MAX_POSITION_MOVES];
+    }
+
+    // =================================================================
+    // WALK
+    // =================================================================
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Walks the tree below the root and answers the questions at every node.
+     * 
+     * @param depth the depth in plies
+     * @return a checksum of the answers, equal with and without the cache
+     */
+    public long run(int depth) {
+        checksum = 0;
+        walk(depth);
+        return checksum;
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Answers the questions for the current position and walks its children.
+     * 
+     * @param depth the remaining depth
+     */
+    private void walk(int depth) {
+        if (model.isSauCaptured())
+            return;
+
+        int[] moves = moveBuffers[depth];
+        int answer = answer(moves);
+        checksum += answer;
+
+        if (depth == 0)
+            return;
+
+        // The moves are generated here even after a cache hit, to walk the children
+        int moveCount = model.generateMoves(moves);
+        for (int i = 0; i < moveCount; i++) {
+            model.makeMove(moves[i]);
+            walk(depth - 1);
+            model.unmakeMove();
+        }
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets the move count and Sau attack flag of the current position, from
+     * the cache when possible.
+     * 
+     * @param moves a move buffer
+     * @return the move count, with CHECK_FLAG set if the Sau is attacked
+     */
+    private int answer(int[] moves) {
+        long hash = model.getHash();
+        if (cache != null) {
+            long cached = cache.probe(hash);
+            if (cached != KwazamPositionCache.MISS)
+                return (int) KwazamPositionCache.getPayload(cached);
+        }
+
+        KwazamPieceColor color = model.getCurrentColor();
+        int result = model.generateMoves(moves) & COUNT_MASK;
+        if (model.isSauInCheck(color))
+            result |= CHECK_FLAG;
+
+        if (cache != null)
+            cache.store(hash, 0, result);
+        return result;
+    }
+
+    // =================================================================
+    // COMMAND LINE
+    // =================================================================
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Loads the positions of the saves, runs the walks without and with a
+     * shared cache and prints the results.
+     * 
+     * @param args [depth] [megabytes] [threads]
+     */
+    public static void main(String[] args) throws InterruptedException {
+        int depth = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_DEPTH;
+        int megabytes = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_MEGABYTES;
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+
+        List<KwazamPosition> positions = KwazamSavedPositions.loadGamePositions();
+        System.out.println("Positions: " + positions.size() + ", depth " + depth + ", " + threads + " threads");
+
+        KwazamPositionCache cache = new KwazamPositionCache(megabytes);
+        long[] uncached = runAll(positions, null, depth, threads);
+        long[] cached = runAll(positions, cache, depth, threads);
+
+        System.out.println("Uncached:  " + uncached[1] / 1_000_000 + " ms");
+        System.out.println("Cached:    " + cached[1] / 1_000_000 + " ms (" + megabytes + " MB, "
+                + cache.getCapacity() + " entries)");
+        System.out.println("Probes:    " + cache.getProbes());
+        System.out.println("Hits:      " + cache.getHits());
+        System.out.printf("Hit rate:  %.1f%%%n", cache.getHitRate() * 100);
+        System.out.println("Checksums: " + (uncached[0] == cached[0] ? "match" : "DIFFER"));
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Walks every position once, taking the positions in turn on the
+     * threads.
+     * 
+     * @param positions the root positions
+     * @param cache     the shared cache, or null
+     * @param depth     the depth of each walk
+     * @param threads   the number of threads
+     * @return the checksum of all walks and the elapsed nanoseconds
+     */
+    private static long[] runAll(List<KwazamPosition> positions, KwazamPositionCache cache, int depth,
+            int threads) throws InterruptedException {
+        AtomicInteger nextPosition = new AtomicInteger();
+        AtomicLong checksum = new AtomicLong();
+        Thread[] workers = new Thread[threads];
+
+        for (int t = 0; t < threads; t++) {
+            workers[t] = new Thread(() -> {
+                int index;
+                while ((index = nextPosition.getAndIncrement()) < positions.size())
+                    checksum.addAndGet(new KwazamCacheBenchmark(positions.get(index), cache, depth).run(depth));
+            });
+        }
+
+        long start = System.nanoTime();
+        for (Thread worker : workers)
+            worker.start();
+        for (Thread worker : workers)
+            worker.join();
+
+        return new long[] { checksum.get(), System.nanoTime() - start };
+    }
+}
@@ -0,0 +1,284 @@
+package model.analysis;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import model.KwazamModel;
+import model.KwazamPosition;
+import model.KwazamPositionCache;
+import model.ai.KwazamEngine;
+import model.ai.KwazamSearchLimits;
+import model.ai.KwazamSearchResult;
+import model.movements.KwazamMove;
+import utils.KwazamPieceColor;
+import utils.KwazamThreads;
+
+/**
+ * Annotates saved games in batch.
+ * Replays the game record of every save in a directory and searches each
+ * position at a fixed depth for the best move. The played move is scored on
+ * the same footing, by a search one ply shallower of the position after it,
+ * so both scores look equally far ahead of the position the move was played
+ * in. A move is flagged as a blunder when its score is at least the blunder
+ * drop below the score of the best move found. The annotations of a save
+ * such as data/321.txt are written to data/321.annotations.
+ * 
+ * Games are spread over threads, one game at a time per thread. Every
+ * thread has its own engine and position cache, so consecutive positions of
+ * a game reuse the cache without contention. Saves written before game
+ * records were kept hold only their final position, which is annotated
+ * alone.
+ * 
+ * Usage: java model.analysis.KwazamGameAnnotator [directory] [depth] [threads] [blunder drop]
+ */
+public class KwazamGameAnnotator {
+    // =================================================================
+    // CONSTANTS
+    // =================================================================
+    private static final String DEFAULT_DIRECTORY = "data";
+    private static final int DEFAULT_DEPTH = 4;
+    private static final int DEFAULT_BLUNDER_DROP = 200;
+
+    // The played move is searched one ply shallower, and a depth limit of 0 means no limit
+    private static final int MIN_DEPTH = 2;
+    private static final int ENGINE_CACHE_MB = 16;
+
+    private static final String SAVE_EXTENSION = ".txt";
+    private static final String ANNOTATION_EXTENSION = ".annotations";
+
+    // Scores are clamped to this size when measuring drops, so a missed capture of the Sau counts once
+    private static final int MAX_DROP_SCORE = 2000;
+    private static final int MATE_THRESHOLD = KwazamEngine.MATE_SCORE - KwazamEngine.MAX_PLY;
+
+    // =================================================================
+    // COMMAND LINE
+    // =================================================================
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Annotates every save in the directory.
+     * 
+     * @param args [directory] [depth] [threads] [blunder drop]
+     */
+    public static void main(String[] args) {
+        String directory = args.length > 0 ? args[0] : DEFAULT_DIRECTORY;
+        int depth = Math.max(args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_DEPTH, MIN_DEPTH);
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        int blunderDrop = args.length > 3 ? Integer.parseInt(args[3]) : DEFAULT_BLUNDER_DROP;
+
+        File[] saves = new File(directory).listFiles((dir, name) -> name.endsWith(SAVE_EXTENSION));
+        if (saves == null || saves.length == 0) {
+            System.out.println("No saves in " + directory);
+            return;
+        }
+        Arrays.sort(saves);
+
+        System.out.println("Annotating " + saves.length + " games at depth " + depth + " on " + threads + " threads");
+        long start = System.currentTimeMillis();
+
+        AtomicInteger nextSave = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        List<Future<Long>> results = new ArrayList<>();
+        for (int i = 0; i < threads; i++)
+            results.add(pool.submit(() -> annotateGames(saves, nextSave, depth, blunderDrop)));
+
+        long positions = 0;
+        for (Future<Long> result : results)
+            positions += KwazamThreads.waitFor(result, "annotation thread");
+        pool.shutdown();
+
+        long time = Math.max(System.currentTimeMillis() - start, 1);
+        System.out.println("Searched " + positions + " positions in " + time + " ms, " + positions * 1000 / time
+                + " positions/s");
+    }
+
+    // =================================================================
+    // PRIVATE METHODS
+    // =================================================================
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Annotates games on one thread until every save is taken.
+     * 
+     * @param saves       the save files
+     * @param nextSave    the shared index of the next save to take
+     * @param depth       the search depth
+     * @param blunderDrop the score drop that makes a blunder
+     * @return the number of positions searched
+     */
+    private static long annotateGames(File[] saves, AtomicInteger nextSave, int depth, int blunderDrop) {
+        KwazamModel model = new KwazamModel();
+        KwazamEngine engine = new KwazamEngine(new KwazamPositionCache(ENGINE_CACHE_MB));
+        long positions = 0;
+
+        int index;
+        while ((index = nextSave.getAndIncrement()) < saves.length) {
+            File save = saves[index];
+            try {
+                positions += annotateGame(save, model, engine, depth, blunderDrop);
+            } catch (IOException | RuntimeException e) {
+                System.out.println(save.getName() + ": skipped, " + e.getMessage());
+            }
+        }
+        return positions;
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Annotates one game and writes its annotation file.
+     * 
+     * @param save        the save file
+     * @param model       the thread's model
+     * @param engine      the thread's engine
+     * @param depth       the search depth of the best move
+     * @param blunderDrop the score drop that makes a blunder
+     * @return the number of positions searched
+     * @throws IOException if the annotation file cannot be written
+     */
+    private static int annotateGame(File save, KwazamModel model, KwazamEngine engine, int depth, int blunderDrop)
+            throws IOException {
+        model.loadGame(save);
+        KwazamPosition start = model.getRecordStart();
+        int[] moves = model.getRecordMoves();
+
+        // Search every position of the game for its best move, the final one included unless a Sau is gone,
+        // and the position after every move for the played move's score
+        KwazamSearchLimits bestLimits = KwazamSearchLimits.depth(depth);
+        KwazamSearchLimits playedLimits = KwazamSearchLimits.depth(depth - 1);
+        model.setPosition(start);
+        int[] bestMoves = new int[moves.length + 1];
+        int[] bestScores = new int[moves.length + 1];
+        int[] playedScores = new int[moves.length];
+        int positions = 0;
+        for (int ply = 0; ply <= moves.length; ply++) {
+            if (model.isSauCaptured()) {
+                bestScores[ply] = -KwazamEngine.MATE_SCORE; // Only the final position can have lost a Sau
+                break;
+            }
+
+            KwazamSearchResult best = engine.search(model.getPosition(), bestLimits);
+            bestMoves[ply] = best.getBestMove();
+            bestScores[ply] = best.getScore();
+            positions++;
+            if (ply == moves.length)
+                break;
+
+            model.makeMove(moves[ply]);
+            if (moves[ply] == bestMoves[ply]) {
+                playedScores[ply] = bestScores[ply];
+            } else if (model.isSauCaptured()) {
+                playedScores[ply] = KwazamEngine.MATE_SCORE - 1; // The move captured the Sau
+            } else {
+                playedScores[ply] = fromChildScore(engine.search(model.getPosition(), playedLimits).getScore());
+                positions++;
+            }
+        }
+
+        String name = save.getName().substring(0, save.getName().length() - SAVE_EXTENSION.length());
+        File output = new File(save.getParentFile(), name + ANNOTATION_EXTENSION);
+        int[] blunders = new int[KwazamPieceColor.values().length];
+
+        try (BufferedWriter writer = new BufferedWriter(new FileWriter(output))) {
+            writer.write("===== Kwazam Game Annotations =====");
+            writer.newLine();
+            writer.write("Game: " + save.getName());
+            writer.newLine();
+            writer.write("Search Depth: " + depth + ", Blunder Drop: " + blunderDrop);
+            writer.newLine();
+            writer.write("Start: " + start.getSideToMove() + " to move, Transformation Phase: "
+                    + start.getTransformationPhase());
+            writer.newLine();
+            writer.newLine();
+
+            // Scores are in hundredths of a Ram from the mover's view; M3 is a Sau capture in 3 plies
+            writer.write(String.format("%-5s %-5s %-6s %-7s %-9s %-10s %s", "Ply", "Side", "Move", "Score", "Best Move",
+                    "Best Score", "Drop"));
+            writer.newLine();
+
+            KwazamPieceColor mover = start.getSideToMove();
+            for (int ply = 0; ply < moves.length; ply++) {
+                int bestScore = bestScores[ply];
+                int playedScore = playedScores[ply];
+                int drop = clamp(bestScore) - clamp(playedScore);
+                boolean blunder = drop >= blunderDrop && moves[ply] != bestMoves[ply];
+                if (blunder)
+                    blunders[mover.ordinal()]++;
+
+                writer.write(String.format("%-5d %-5s %-6s %-7s %-9s %-10s %d%s", ply + 1, mover,
+                        KwazamMove.toString(moves[ply]), formatScore(playedScore),
+                        bestMoves[ply] == KwazamMove.NONE ? "-" : KwazamMove.toString(bestMoves[ply]),
+                        formatScore(bestScore), Math.max(drop, 0), blunder ? " ??" : ""));
+                writer.newLine();
+                mover = mover == KwazamPieceColor.BLUE ? KwazamPieceColor.RED : KwazamPieceColor.BLUE;
+            }
+
+            writer.newLine();
+            writer.write("Final Score: " + formatScore(bestScores[moves.length]) + " for " + mover);
+            writer.newLine();
+            writer.write("Blunders: BLUE " + blunders[KwazamPieceColor.BLUE.ordinal()] + ", RED "
+                    + blunders[KwazamPieceColor.RED.ordinal()]);
+            writer.newLine();
+        }
+
+        System.out.println(save.getName() + ": " + moves.length + " plies, BLUE "
+                + blunders[KwazamPieceColor.BLUE.ordinal()] + " and RED " + blunders[KwazamPieceColor.RED.ordinal()]
+                + " blunders");
+        return positions;
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Converts the score of a search of the position after a move to the
+     * mover's view in the position before it. A Sau capture is one ply
+     * further away from there.
+     * 
+     * @param score the score for the side to move after the move
+     * @return the score for the mover
+     */
+    private static int fromChildScore(int score) {
+        if (score >= MATE_THRESHOLD)
+            return -score + 1;
+        if (score <= -MATE_THRESHOLD)
+            return -score - 1;
+        return -score;
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Clamps a score for measuring drops.
+     * 
+     * @param score the score
+     * @return the score, at most MAX_DROP_SCORE in size
+     */
+    private static int clamp(int score) {
+        return Math.max(-MAX_DROP_SCORE, Math.min(MAX_DROP_SCORE, score));
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Formats a score, e.g. "+35", "-120", "+M3" for a Sau capture in 3
+     * plies or "-M2" for losing the Sau in 2.
+     * 
+     * @param score the score
+     * @return the score as text
+     */
+    private static String formatScore(int score) {
+        if (score >= MATE_THRESHOLD)
+            return "+M" + (KwazamEngine.MATE_SCORE - score);
+        if (score <= -MATE_THRESHOLD)
+            return "-M" + (KwazamEngine.MATE_SCORE + score);
+        return String.format("%+d", score);
+    }
+}
@@ -0,0 +1,122 @@
+package model.analysis;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import model.KwazamPositionCache;
+import model.ai.KwazamMonteCarloSearch;
+import model.ai.KwazamParallelSearch;
+import model.ai.KwazamSearchLimits;
+import model.match.KwazamGreedyPlayer;
+import model.match.KwazamMatch;
+import model.match.KwazamMatchStatistics;
+import model.match.KwazamPlayer;
+import model.match.KwazamRandomPlayer;
+import model.match.KwazamSearchPlayer;
+import model.match.KwazamSprt;
+
+/**
+ * Plays a headless match between two players and reports the Elo
+ * difference of the first over the second, optionally stopping early on an
+ * SPRT.
+ * 
+ * Players: random, greedy, alphabeta:[depth] and mcts:[millis per move].
+ * The search players run single-threaded, since the match already plays
+ * one game per thread.
+ * 
+ * Usage: java model.analysis.KwazamMatchRunner [player A] [player B] [games] [threads] [elo0 elo1]
+ */
+public class KwazamMatchRunner {
+    // =================================================================
+    // CONSTANTS
+    // =================================================================
+    private static final String DEFAULT_FIRST_PLAYER = "greedy";
+    private static final String DEFAULT_SECOND_PLAYER = "random";
+    private static final int DEFAULT_GAMES = 1000;
+    private static final int DEFAULT_DEPTH = 2;
+    private static final long DEFAULT_MILLIS = 50;
+    private static final int ENGINE_CACHE_MB = 4;
+    private static final int PROGRESS_INTERVAL = 100;
+
+    // Seeds of the random and greedy players, one per instance
+    private static final AtomicLong PLAYER_SEEDS = new AtomicLong(System.nanoTime());
+
+    // =================================================================
+    // COMMAND LINE
+    // =================================================================
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Plays the match and prints the score as it goes.
+     * 
+     * @param args [player A] [player B] [games] [threads] [elo0 elo1]
+     */
+    public static void main(String[] args) {
+        String firstName = args.length > 0 ? args[0] : DEFAULT_FIRST_PLAYER;
+        String secondName = args.length > 1 ? args[1] : DEFAULT_SECOND_PLAYER;
+        int games = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_GAMES;
+        int threads = args.length > 3 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+        KwazamSprt sprt = args.length > 5 ? new KwazamSprt(Double.parseDouble(args[4]), Double.parseDouble(args[5]),
+                KwazamSprt.DEFAULT_ALPHA, KwazamSprt.DEFAULT_BETA) : null;
+
+        KwazamMatch match = new KwazamMatch(createPlayer(firstName), createPlayer(secondName));
+        match.setThreads(threads);
+        match.setSprt(sprt);
+        match.setProgressListener(statistics -> {
+            if (statistics.getGames() % PROGRESS_INTERVAL == 0)
+                System.out.println(statistics.getGames() + " games: " + statistics
+                        + (sprt != null ? String.format(", LLR %.2f", sprt.getLogLikelihoodRatio(statistics)) : ""));
+        });
+
+        System.out.println(firstName + " vs " + secondName + ", up to " + games + " games on " + threads + " threads"
+                + (sprt != null ? ", " + sprt : ""));
+        long start = System.currentTimeMillis();
+        KwazamMatchStatistics result = match.run(games);
+        long time = Math.max(System.currentTimeMillis() - start, 1);
+
+        System.out.println("Final: " + result);
+        System.out.printf("%d games in %d ms, %d games per hour%n", result.getGames(), time,
+                result.getGames() * 3600000L / time);
+        if (sprt != null) {
+            int decision = sprt.decide(result);
+            System.out.printf("SPRT: LLR %.2f, %s%n", sprt.getLogLikelihoodRatio(result),
+                    decision == KwazamSprt.ACCEPT_H1 ? "H1 accepted" : decision == KwazamSprt.ACCEPT_H0
+                            ? "H0 accepted" : "inconclusive");
+        }
+    }
+
+    // =================================================================
+    // PRIVATE METHODS
+    // =================================================================
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Parses a player name into a factory of player instances.
+     * 
+     * @param name the player name, e.g. "alphabeta:3"
+     * @return the player factory
+     * @throws IllegalArgumentException if the name is not a known player
+     */
+    private static Supplier<KwazamPlayer> createPlayer(String name) {
+        String[] parts = name.split(":");
+        switch (parts[0]) {
+            case "random":
+                return () -> new KwazamRandomPlayer(PLAYER_SEEDS.getAndIncrement());
+            case "greedy":
+                return () -> new KwazamGreedyPlayer(PLAYER_SEEDS.getAndIncrement());
+            case "alphabeta": {
+                int depth = parts.length > 1 ? Integer.parseInt(parts[1]) : DEFAULT_DEPTH;
+                return () -> new KwazamSearchPlayer(name,
+                        new KwazamParallelSearch(1, new KwazamPositionCache(ENGINE_CACHE_MB)),
+                        KwazamSearchLimits.depth(depth));
+            }
+            case "mcts": {
+                long millis = parts.length > 1 ? Long.parseLong(parts[1]) : DEFAULT_MILLIS;
+                return () -> new KwazamSearchPlayer(name, new KwazamMonteCarloSearch(1),
+                        KwazamSearchLimits.time(millis));
+            }
+            default:
+                throw new IllegalArgumentException(
+                        "Unknown player " + name + "; use random, greedy, alphabeta:[depth] or mcts:[millis]");
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package model.analysis;
+
+import java.util.List;
+import model.KwazamPosition;
+import model.ai.KwazamMonteCarloSearch;
+import model.ai.KwazamSearchLimits;
+import model.ai.KwazamSearchResult;
+
+/**
+ * Scaling benchmark for KwazamMonteCarloSearch.
+ * Runs a timed search on the start position and every save in data/ with
+ * 1, 2, 4, ... threads up to the given count, and prints the playouts per
+ * second and the speedup over one thread.
+ * 
+ * Usage: java model.analysis.KwazamMonteCarloBenchmark [millis per position] [max threads]
+ */
+public class KwazamMonteCarloBenchmark {
+    // =================================================================
+    // CONSTANTS
+    // =================================================================
+    private static final long DEFAULT_MILLIS = 1000;
+
+    // =================================================================
+    // COMMAND LINE
+    // =================================================================
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Runs the benchmark and prints one line per thread count.
+     * 
+     * @param args [millis per position] [max threads]
+     */
+    public static void main(String[] args) {
+        long millis = args.length > 0 ? Long.parseLong(args[0]) : DEFAULT_MILLIS;
+        int maxThreads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+
+        List<KwazamPosition> positions = KwazamSavedPositions.loadFinalPositions();
+        System.out.println("Positions: " + positions.size() + ", " + millis + " ms each");
+        System.out.println("Threads   Time (ms)   Playouts       Playouts/s   Speedup");
+
+        // Warm up the JIT, so the single thread run is not measured cold
+        runPositions(positions, 1, millis);
+
+        long baseRate = 0;
+        for (int threads = 1; threads <= maxThreads; threads = threads == maxThreads ? threads + 1
+                : Math.min(threads * 2, maxThreads)) {
+            long[] totals = runPositions(positions, threads, millis);
+            long time = totals[0];
+            long playouts = totals[1];
+
+            long rate = time > 0 ? playouts * 1000 / time : 0;
+            if (threads == 1)
+                baseRate = rate;
+
+            System.out.printf("%-9d %-11d %-14d %-12d %.2f%n", threads, time, playouts, rate,
+                    baseRate > 0 ? (double) rate / baseRate : 0.0);
+        }
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Searches every position with a new Monte Carlo search.
+     * 
+     * @param positions the positions
+     * @param threads   the number of threads
+     * @param millis    the search time per position
+     * @return the total time in milliseconds and the total playouts
+     */
+    private static long[] runPositions(List<KwazamPosition> positions, int threads, long millis) {
+        KwazamMonteCarloSearch search = new KwazamMonteCarloSearch(threads);
+        long time = 0;
+        long playouts = 0;
+
+        for (KwazamPosition position : positions) {
+            KwazamSearchResult result = search.search(position, KwazamSearchLimits.time(millis),
+                    search.getStopToken());
+            time += result.getElapsedMillis();
+            playouts += result.getNodes();
+        }
+        search.shutdown();
+
+        return new long[] { time, playouts };
+    }
+}
@@ -0,0 +1,261 @@
+package model.analysis;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import model.KwazamModel;
+import model.KwazamPosition;
+import model.movements.KwazamMove;
+
+/**
+ * Perft (performance test) node counter for Kwazam.
+ * Counts the leaf nodes of the full game tree to a fixed depth, following the
+ * real rules: Ram reversal, the Tor/Xor swap every two turns, and the end of
+ * the game when a Sau is captured (such positions are not expanded further).
+ * Used to check move generation after changes and to measure its speed.
+ * 
+ * Usage: java model.analysis.KwazamPerft depth [save file in data/]
+ * [--divide] [--parallel [threads]]
+ */
+public class KwazamPerft {
+    // =================================================================
+    // ATTRIBUTES
+    // =================================================================
+    private final KwazamModel model;
+    private final int[][] moveBuffers;
+
+    // =================================================================
+    // CONSTRUCTION
+    // =================================================================
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Constructs a perft counter on a game model.
+     * The model is searched with makeMove/unmakeMove and left unchanged.
+     * 
+     * @param model    the game model, positioned at the root
+     * @param maxDepth the deepest depth that will be counted
+     */
+    public KwazamPerft(KwazamModel model, int maxDepth) {
+        this.model = model;
+        this.moveBuffers = new int[Math.max(maxDepth, 1)][KwazamMove.MAX_POSITION_MOVES];
+    }
+
+    // =================================================================
+    // COUNTING
+    // =================================================================
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Counts the leaf nodes to the given depth from the model's position.
+     * 
+     * @param depth the depth in plies
+     * @return the number of leaf nodes
+     */
+    public long count(int depth) {
+        if (depth == 0)
+            return 1;
+        if (model.isSauCaptured())
+            return 0; // The game is over, there are no moves
+
+        int[] moves = moveBuffers[depth - 1];
+        int moveCount = model.generateMoves(moves);
+
+        // Every move leads to a leaf, so there is no need to make them
+        if (depth == 1)
+            return moveCount;
+
+        long nodes = 0;
+        for (int i = 0; i < moveCount; i++) {
+            model.makeMove(moves[i]);
+            nodes += count(depth - 1);
+            model.unmakeMove();
+        }
+        return nodes;
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Counts the leaf nodes below each root move.
+     * 
+     * @param depth   the depth in plies, at least 1
+     * @param divided receives one line per root move, e.g. "C7-C6: 1234"
+     * @return the total number of leaf nodes
+     */
+    public long divide(int depth, List<String> divided) {
+        long nodes = 0;
+        int[] rootMoves = new int[KwazamMove.MAX_POSITION_MOVES];
+        int moveCount = model.isSauCaptured() ? 0 : model.generateMoves(rootMoves);
+
+        for (int i = 0; i < moveCount; i++) {
+            model.makeMove(rootMoves[i]);
+            long moveNodes = count(depth - 1);
+            model.unmakeMove();
+
+            nodes += moveNodes;
+            divided.add(KwazamMove.toString(rootMoves[i]) + ": " + moveNodes);
+        }
+        return nodes;
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Counts the leaf nodes to the given depth on a fork-join pool, with one
+     * task per root move. Each task searches its own copy of the position.
+     * 
+     * @param model   the game model, positioned at the root
+     * @param depth   the depth in plies, at least 1
+     * @param pool    the pool to run the tasks on
+     * @param divided if not null, receives one line per root move
+     * @return the number of leaf nodes
+     */
+    public static long countParallel(KwazamModel model, int depth, ForkJoinPool pool, List<String> divided) {
+        if (model.isSauCaptured())
+            return 0;
+
+        int[] rootMoves = new int[KwazamMove.MAX_POSITION_MOVES];
+        int moveCount = model.generateMoves(rootMoves);
+        List<RootMoveTask> tasks = new ArrayList<>(moveCount);
+
+        for (int i = 0; i < moveCount; i++) {
+            model.makeMove(rootMoves[i]);
+            tasks.add(new RootMoveTask(model.getPosition(), depth - 1));
+            model.unmakeMove();
+        }
+
+        for (RootMoveTask task : tasks)
+            pool.execute(task);
+
+        long nodes = 0;
+        for (int i = 0; i < moveCount; i++) {
+            long moveNodes = tasks.get(i).join();
+            nodes += moveNodes;
+            if (divided != null)
+                divided.add(KwazamMove.toString(rootMoves[i]) + ": " + moveNodes);
+        }
+        return nodes;
+    }
+
+    // =================================================================
+    // ROOT MOVE TASK
+    // =================================================================
+    /**
+     * Counts the subtree below one root move on a private model.
+     */
+    private static class RootMoveTask extends RecursiveTask<Long> {
+        private static final long serialVersionUID = 1L;
+
+        private final KwazamPosition position;
+        private final int depth;
+
+        /**
+         * Author(s): Ng Wei Da
+         * 
+         * Constructs a task for the position after a root move.
+         * 
+         * @param position the position after the root move
+         * @param depth    the remaining depth
+         */
+        RootMoveTask(KwazamPosition position, int depth) {
+            this.position = position;
+            this.depth = depth;
+        }
+
+        /**
+         * Author(s): Ng Wei Da
+         * 
+         * Counts the leaf nodes of the subtree.
+         * 
+         * @return the number of leaf nodes
+         */
+        @Override
+        protected Long compute() {
+            KwazamModel model = new KwazamModel();
+            model.setPosition(position);
+            return new KwazamPerft(model, depth).count(depth);
+        }
+    }
+
+    // =================================================================
+    // COMMAND LINE
+    // =================================================================
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Runs perft from the start position or a saved game and prints the node
+     * count, time and nodes per second.
+     * 
+     * @param args depth [save file in data/] [--divide] [--parallel [threads]]
+     */
+    public static void main(String[] args) {
+        if (args.length == 0) {
+            System.out.println("Usage: java model.analysis.KwazamPerft depth [save file in data/]"
+                    + " [--divide] [--parallel [threads]]");
+            return;
+        }
+
+        int depth = Integer.parseInt(args[0]);
+        String saveFile = null;
+        boolean divide = false;
+        int threads = 0;
+
+        for (int i = 1; i < args.length; i++) {
+            if (args[i].equals("--divide")) {
+                divide = true;
+            } else if (args[i].equals("--parallel")) {
+                threads = Runtime.getRuntime().availableProcessors();
+                if (i + 1 < args.length && args[i + 1].matches("\\d+"))
+                    threads = Integer.parseInt(args[++i]);
+            } else {
+                saveFile = args[i];
+            }
+        }
+
+        KwazamModel model = new KwazamModel();
+        if (saveFile != null) {
+            // Saves load from data/, which may also be given as part of the path
+            File save = new File(saveFile);
+            if (KwazamSavedPositions.SAVE_DIRECTORY.equals(save.getParent()))
+                saveFile = save.getName();
+
+            // A missing save would leave the board empty and count it without complaint
+            if (!new File(KwazamSavedPositions.SAVE_DIRECTORY, saveFile).exists()) {
+                System.out.println("Save file not found in " + KwazamSavedPositions.SAVE_DIRECTORY + "/: " + saveFile);
+                return;
+            }
+            model.loadGame(saveFile);
+        } else {
+            model.initGame();
+        }
+
+        List<String> divided = divide ? new ArrayList<>() : null;
+        long start = System.nanoTime();
+        long nodes;
+
+        if (threads > 0 && depth > 0) {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            nodes = countParallel(model, depth, pool, divided);
+            pool.shutdown();
+        } else {
+            KwazamPerft perft = new KwazamPerft(model, depth);
+            nodes = divide && depth > 0 ? perft.divide(depth, divided) : perft.count(depth);
+        }
+
+        long elapsed = System.nanoTime() - start;
+
+        if (divided != null) {
+            for (String line : divided)
+                System.out.println(line);
+            System.out.println();
+        }
+
+        System.out.println("Depth:   " + depth + (threads > 0 ? " (" + threads + " threads)" : ""));
+        System.out.println("Nodes:   " + nodes);
+        System.out.println("Time:    " + elapsed / 1_000_000 + " ms");
+        System.out.println("Nodes/s: " + (elapsed > 0 ? nodes * 1_000_000_000L / elapsed : 0));
+    }
+}
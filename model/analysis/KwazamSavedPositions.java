@@ -0,0 +1,119 @@
+package model.analysis;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import model.KwazamModel;
+import model.KwazamPosition;
+
+/**
+ * Test positions for the benchmarks, taken from the start position and the
+ * saves in data/.
+ */
+public final class KwazamSavedPositions {
+    // =================================================================
+    // CONSTANTS
+    // =================================================================
+    public static final String SAVE_DIRECTORY = "data";
+
+    private static final String SAVE_EXTENSION = ".txt";
+
+    // =================================================================
+    // CONSTRUCTION
+    // =================================================================
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Private constructor to prevent instantiation.
+     * This is a utility class with static methods only.
+     */
+    private KwazamSavedPositions() {
+    }
+
+    // =================================================================
+    // LOADING
+    // =================================================================
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets the start position and the final position of every save whose
+     * game is still running.
+     * 
+     * @return the positions
+     */
+    public static List<KwazamPosition> loadFinalPositions() {
+        return loadPositions(false);
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets the start position and every position of every save's game
+     * record, each once, leaving out positions where a Sau is gone. Saves
+     * without a record add their final position only.
+     * 
+     * @return the positions
+     */
+    public static List<KwazamPosition> loadGamePositions() {
+        return loadPositions(true);
+    }
+
+    // =================================================================
+    // PRIVATE METHODS
+    // =================================================================
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets the start position and the positions of the saves.
+     * 
+     * @param replay true for every recorded position, false for the final one
+     * @return the positions, without repeats
+     */
+    private static List<KwazamPosition> loadPositions(boolean replay) {
+        List<KwazamPosition> positions = new ArrayList<>();
+        Set<Long> hashes = new HashSet<>();
+        KwazamModel model = new KwazamModel();
+        model.initGame();
+        addPosition(model, positions, hashes);
+
+        File[] saves = new File(SAVE_DIRECTORY).listFiles((dir, name) -> name.endsWith(SAVE_EXTENSION));
+        if (saves == null)
+            return positions;
+
+        Arrays.sort(saves);
+        for (File save : saves) {
+            model.loadGame(save);
+            if (!replay) {
+                addPosition(model, positions, hashes);
+                continue;
+            }
+
+            // Setting the start position clears the record, so take the moves first
+            int[] moves = model.getRecordMoves();
+            model.setPosition(model.getRecordStart());
+            addPosition(model, positions, hashes);
+            for (int move : moves) {
+                model.makeMove(move);
+                addPosition(model, positions, hashes);
+            }
+        }
+        return positions;
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Adds the model's position unless a Sau is gone or it was added before.
+     * 
+     * @param model     the model
+     * @param positions the positions so far
+     * @param hashes    the hashes of the positions so far
+     */
+    private static void addPosition(KwazamModel model, List<KwazamPosition> positions, Set<Long> hashes) {
+        if (!model.isSauCaptured() && hashes.add(model.getHash()))
+            positions.add(model.getPosition());
+    }
+}
@@ -0,0 +1,91 @@
+package model.analysis;
+
+import java.util.List;
+import model.KwazamPosition;
+import model.KwazamPositionCache;
+import model.ai.KwazamParallelSearch;
+import model.ai.KwazamSearchLimits;
+import model.ai.KwazamSearchResult;
+import utils.KwazamConstants;
+
+/**
+ * Scaling benchmark for KwazamParallelSearch.
+ * Searches the start position and every save in data/ to a fixed depth with
+ * 1, 2, 4, ... threads up to the given count, each run with a fresh cache,
+ * and prints the time to depth, the aggregate nodes per second and the
+ * speedups over one thread.
+ * 
+ * Usage: java model.analysis.KwazamSearchBenchmark [depth] [max threads]
+ */
+public class KwazamSearchBenchmark {
+    // =================================================================
+    // CONSTANTS
+    // =================================================================
+    private static final int DEFAULT_DEPTH = 9;
+
+    // =================================================================
+    // COMMAND LINE
+    // =================================================================
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Runs the benchmark and prints one line per thread count.
+     * 
+     * @param args [depth] [max threads]
+     */
+    public static void main(String[] args) {
+        int depth = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_DEPTH;
+        int maxThreads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+
+        List<KwazamPosition> positions = KwazamSavedPositions.loadFinalPositions();
+        System.out.println("Positions: " + positions.size() + ", depth " + depth);
+        System.out.println("Threads   Time (ms)   Nodes          Nodes/s      Time speedup   Nodes/s speedup");
+
+        // Warm up the JIT, so the single thread run is not measured cold
+        runPositions(positions, 1, depth);
+
+        long baseTime = 0;
+        long baseRate = 0;
+        for (int threads = 1; threads <= maxThreads; threads = threads == maxThreads ? threads + 1
+                : Math.min(threads * 2, maxThreads)) {
+            long[] totals = runPositions(positions, threads, depth);
+            long time = totals[0];
+            long nodes = totals[1];
+
+            long rate = time > 0 ? nodes * 1000 / time : 0;
+            if (threads == 1) {
+                baseTime = time;
+                baseRate = rate;
+            }
+
+            System.out.printf("%-9d %-11d %-14d %-12d %-14.2f %.2f%n", threads, time, nodes, rate,
+                    time > 0 ? (double) baseTime / time : 0.0, baseRate > 0 ? (double) rate / baseRate : 0.0);
+        }
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Searches every position with a new parallel search and a fresh cache.
+     * 
+     * @param positions the positions
+     * @param threads   the number of threads
+     * @param depth     the search depth
+     * @return the total time in milliseconds and the total nodes
+     */
+    private static long[] runPositions(List<KwazamPosition> positions, int threads, int depth) {
+        KwazamParallelSearch search = new KwazamParallelSearch(threads,
+                new KwazamPositionCache(KwazamConstants.POSITION_CACHE_MB));
+        long time = 0;
+        long nodes = 0;
+
+        for (KwazamPosition position : positions) {
+            KwazamSearchResult result = search.search(position, KwazamSearchLimits.depth(depth));
+            time += result.getElapsedMillis();
+            nodes += result.getNodes();
+        }
+        search.shutdown();
+
+        return new long[] { time, nodes };
+    }
+}
@@ -0,0 +1,614 @@
+package model.analysis;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import model.board.KwazamBitboard;
+import model.board.KwazamZobrist;
+import model.movements.KwazamAttackTables;
+import model.tablebase.KwazamEndgame;
+import model.tablebase.KwazamTablebase;
+import model.tablebase.KwazamTablebaseResult;
+import utils.KwazamConstants;
+import utils.KwazamThreads;
+
+/**
+ * Generates endgame tablebases by retrograde analysis.
+ * The first pass visits every position index: a position where the side to
+ * move can take the Sau is a win in 1, and a capture of any other piece is
+ * looked up in the smaller endgame, which is generated first when missing.
+ * Every other position counts its moves that are not yet known to lose.
+ * Each later pass n takes the positions decided in n plies and un-makes the
+ * last move into their parents: a parent with a lost child is won in n + 1,
+ * and a parent whose count drops to zero is lost in n + 1. Positions left
+ * undecided when a pass finds nothing are draws.
+ * 
+ * Both passes split the index range among threads. Parents are shared, so
+ * each position keeps its state and move count in one int, updated by
+ * compare-and-set. The
+ * index includes the Ram directions and the transformation phase, so every
+ * Ram turn and Tor/Xor swap is part of the solution; the draw rules are
+ * not, a repeated or long game without a capture is simply not a win.
+ * 
+ * Usage: java model.analysis.KwazamTablebaseGenerator [threads] [directory] [endgames...]
+ */
+public class KwazamTablebaseGenerator {
+    // =================================================================
+    // CONSTANTS
+    // =================================================================
+    private static final String[] DEFAULT_ENDGAMES = { "STvS", "SBvS", "SRvS" };
+
+    // Position state while generating; the decided ones are written as they are
+    private static final int UNKNOWN = 4;
+
+    // A position's entry is its state above its count of moves not known to lose
+    private static final int STATE_SHIFT = 8;
+    private static final int COUNT_MASK = 0xFF;
+
+    // Indices per task
+    private static final int CHUNK_SIZE = 1 << 16;
+    private static final int MAX_DISTANCE = 255;
+
+    private static final VarHandle ENTRIES = MethodHandles.arrayElementVarHandle(int[].class);
+
+    // =================================================================
+    // ATTRIBUTES
+    // =================================================================
+    private final KwazamTablebase tablebase;
+    private final ExecutorService pool;
+    private final KwazamEndgame endgame;
+    private final int[] entries;
+    private final byte[] distances;
+
+    // Per captured slot: the smaller endgame, and the slots it keeps, in its slot order
+    private final KwazamEndgame[] reducedEndgames;
+    private final int[][] reducedSlots;
+
+    // =================================================================
+    // CONSTRUCTION
+    // =================================================================
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Constructs a generator for one endgame whose smaller endgames are all
+     * available.
+     * 
+     * @param tablebase the tablebase to read the smaller endgames from and write to
+     * @param pool      the worker threads
+     * @param endgame   the endgame
+     */
+    private KwazamTablebaseGenerator(KwazamTablebase tablebase, ExecutorService pool, KwazamEndgame endgame) {
+        this.tablebase = tablebase;
+        this.pool = pool;
+        this.endgame = endgame;
+        this.entries = new int[endgame.getSize()];
+        this.distances = new byte[endgame.getSize()];
+
+        int slots = endgame.getSlotCount();
+        this.reducedEndgames = new KwazamEndgame[slots];
+        this.reducedSlots = new int[slots][];
+        for (int slot = 0; slot < slots; slot++) {
+            if (endgame.getSlotClass(slot) == KwazamEndgame.SAU)
+                continue;
+
+            reducedEndgames[slot] = endgame.without(slot);
+            int[] kept = new int[slots - 1];
+            int next = 0;
+            boolean swapped = endgame.isSwappedWithout(slot);
+            for (int pass = 0; pass < 2; pass++) {
+                int group = swapped ? 1 - pass : pass;
+                for (int other = 0; other < slots; other++) {
+                    if (other != slot && endgame.getSlotGroup(other) == group)
+                        kept[next++] = other;
+                }
+            }
+            reducedSlots[slot] = kept;
+        }
+    }
+
+    // =================================================================
+    // COMMAND LINE
+    // =================================================================
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Generates the given endgames and the smaller ones they lead into.
+     * 
+     * @param args [threads] [directory] [endgames...]
+     * @throws IOException if a table cannot be read or written
+     */
+    public static void main(String[] args) throws IOException {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+        String directory = args.length > 1 ? args[1] : KwazamConstants.TABLEBASE_DIRECTORY;
+        String[] names = args.length > 2 ? Arrays.copyOfRange(args, 2, args.length) : DEFAULT_ENDGAMES;
+
+        KwazamTablebase tablebase = new KwazamTablebase(directory);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            for (String name : names)
+                generate(tablebase, KwazamEndgame.of(name), pool);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Generates an endgame unless it is available, generating the smaller
+     * endgames it leads into first.
+     * 
+     * @param tablebase the tablebase to write to
+     * @param endgame   the endgame
+     * @param pool      the worker threads
+     * @throws IOException if a table cannot be read or written
+     */
+    public static void generate(KwazamTablebase tablebase, KwazamEndgame endgame, ExecutorService pool)
+            throws IOException {
+        if (tablebase.isAvailable(endgame))
+            return;
+
+        for (int slot = 0; slot < endgame.getSlotCount(); slot++) {
+            if (endgame.getSlotClass(slot) != KwazamEndgame.SAU)
+                generate(tablebase, endgame.without(slot), pool);
+        }
+
+        long start = System.currentTimeMillis();
+        KwazamTablebaseGenerator generator = new KwazamTablebaseGenerator(tablebase, pool, endgame);
+        byte[] outcomes = generator.solve();
+        tablebase.write(endgame, outcomes, generator.distances);
+
+        int[] totals = new int[UNKNOWN];
+        int longest = 0;
+        for (int index = 0; index < outcomes.length; index++) {
+            totals[outcomes[index]]++;
+            longest = Math.max(longest, generator.distances[index] & 0xFF);
+        }
+        System.out.println(endgame + ": " + totals[KwazamTablebaseResult.WIN] + " won, "
+                + totals[KwazamTablebaseResult.LOSS] + " lost, " + totals[KwazamTablebaseResult.DRAW]
+                + " drawn, longest capture in " + longest + ", " + (System.currentTimeMillis() - start) + " ms");
+    }
+
+    // =================================================================
+    // PRIVATE METHODS
+    // =================================================================
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Runs the first pass and the retrograde passes.
+     * 
+     * @return the outcome of each index, as KwazamTablebase writes them
+     */
+    private byte[] solve() {
+        runPass(this::initialize);
+
+        int distance = 1;
+        while (true) {
+            int level = distance;
+            long[] decided = runPass((from, to) -> retract(from, to, level));
+            if (sum(decided) == 0)
+                break;
+            if (++distance >= MAX_DISTANCE)
+                throw new IllegalStateException(endgame + ": distance to capture over " + MAX_DISTANCE);
+        }
+
+        byte[] outcomes = new byte[entries.length];
+        for (int index = 0; index < entries.length; index++) {
+            int state = entries[index] >> STATE_SHIFT;
+            outcomes[index] = (byte) (state == UNKNOWN ? KwazamTablebaseResult.DRAW : state);
+        }
+        return outcomes;
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Splits the index range into chunks, runs a pass over them on the
+     * worker threads and waits for it to finish.
+     * 
+     * @param pass the pass over one chunk, returning a count
+     * @return the count of every chunk
+     */
+    private long[] runPass(ChunkPass pass) {
+        int chunks = (entries.length + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        List<Future<Long>> results = new ArrayList<>(chunks);
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            int from = chunk * CHUNK_SIZE;
+            int to = Math.min(from + CHUNK_SIZE, entries.length);
+            results.add(pool.submit(() -> pass.run(from, to)));
+        }
+
+        long[] totals = new long[chunks];
+        for (int chunk = 0; chunk < chunks; chunk++)
+            totals[chunk] = KwazamThreads.waitFor(results.get(chunk), "tablebase pass");
+        return totals;
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * First pass: marks unused indices, wins by a capture and positions
+     * without a move that does not lose, and counts the moves of the rest.
+     * 
+     * @param from the first index
+     * @param to   the index after the last
+     * @return the number of positions decided
+     */
+    private long initialize(int from, int to) {
+        int slots = endgame.getSlotCount();
+        int[] squares = new int[slots];
+        int[] bits = new int[slots];
+        int[] childSquares = new int[slots];
+        int[] childBits = new int[slots];
+        long decided = 0;
+
+        for (int index = from; index < to; index++) {
+            int sideAndPhase = endgame.decode(index, squares, bits);
+            long occupied = occupancy(squares);
+            if (Long.bitCount(occupied) < slots) {
+                entries[index] = KwazamTablebase.UNUSED << STATE_SHIFT;
+                continue;
+            }
+
+            int side = sideAndPhase / KwazamZobrist.PHASES;
+            int phase = sideAndPhase % KwazamZobrist.PHASES;
+            long own = groupOccupancy(squares, side);
+            int moves = 0;
+            int losingCaptures = 0;
+            int state = UNKNOWN;
+
+            for (int slot = 0; slot < slots && state == UNKNOWN; slot++) {
+                if (endgame.getSlotGroup(slot) != side)
+                    continue;
+
+                long targets = attacks(endgame.getSlotClass(slot), squares[slot], bits[slot], occupied) & ~own;
+                while (targets != 0 && state == UNKNOWN) {
+                    int target = Long.numberOfTrailingZeros(targets);
+                    targets &= targets - 1;
+
+                    move(side, phase, squares, bits, slot, target, childSquares, childBits);
+                    int victim = slotAt(squares, target);
+                    if (victim < 0) {
+                        moves++;
+                    } else if (endgame.getSlotClass(victim) == KwazamEndgame.SAU) {
+                        state = KwazamTablebaseResult.WIN;
+                    } else {
+                        int outcome = probeCapture(side, phase, victim, childSquares, childBits);
+                        if (outcome == KwazamTablebaseResult.LOSS)
+                            state = KwazamTablebaseResult.WIN;
+                        else if (outcome == KwazamTablebaseResult.DRAW)
+                            moves++;
+                        else
+                            losingCaptures++;
+                    }
+                }
+            }
+
+            if (state == UNKNOWN && moves == 0)
+                state = losingCaptures > 0 ? KwazamTablebaseResult.LOSS : KwazamTablebaseResult.DRAW;
+
+            entries[index] = state << STATE_SHIFT | moves;
+            if (state == KwazamTablebaseResult.WIN || state == KwazamTablebaseResult.LOSS) {
+                distances[index] = 1;
+                decided++;
+            }
+        }
+        return decided;
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Retrograde pass: un-makes the last move of every position decided in
+     * the given number of plies and updates the parents.
+     * 
+     * @param from     the first index
+     * @param to       the index after the last
+     * @param distance the distance to capture of the positions to retract
+     * @return the number of parents decided
+     */
+    private long retract(int from, int to, int distance) {
+        int slots = endgame.getSlotCount();
+        int[] squares = new int[slots];
+        int[] bits = new int[slots];
+        int[] parentBits = new int[slots];
+        long decided = 0;
+
+        for (int index = from; index < to; index++) {
+            if ((distances[index] & 0xFF) != distance)
+                continue;
+
+            boolean childLost = entries[index] >> STATE_SHIFT == KwazamTablebaseResult.LOSS;
+            int sideAndPhase = endgame.decode(index, squares, bits);
+            int side = 1 - sideAndPhase / KwazamZobrist.PHASES;
+            int childPhase = sideAndPhase % KwazamZobrist.PHASES;
+            int phase = (childPhase + KwazamZobrist.PHASES - 1) % KwazamZobrist.PHASES;
+            long occupied = occupancy(squares);
+
+            // The Tor/Xor swap after the last move is undone for every piece
+            for (int slot = 0; slot < slots; slot++) {
+                parentBits[slot] = bits[slot];
+                if (childPhase == 0 && endgame.getSlotClass(slot) == KwazamEndgame.TOR_XOR)
+                    parentBits[slot] ^= 1;
+            }
+
+            for (int slot = 0; slot < slots; slot++) {
+                if (endgame.getSlotGroup(slot) != side)
+                    continue;
+
+                int square = squares[slot];
+                int pieceClass = endgame.getSlotClass(slot);
+                if (pieceClass == KwazamEndgame.RAM) {
+                    // Try both neighbours in the file and both directions
+                    int bit = parentBits[slot];
+                    for (int origin = square - KwazamConstants.BOARD_COLS; origin <= square
+                            + KwazamConstants.BOARD_COLS; origin += 2 * KwazamConstants.BOARD_COLS) {
+                        if (origin < 0 || origin >= KwazamBitboard.SQUARES || (occupied & 1L << origin) != 0)
+                            continue;
+                        for (int originBit = 0; originBit < 2; originBit++) {
+                            if ((KwazamAttackTables.ramAttacks(origin, ramDirection(originBit)) & 1L << square) == 0
+                                    || ramBitAfter(origin, square) != bits[slot])
+                                continue;
+
+                            squares[slot] = origin;
+                            parentBits[slot] = originBit;
+                            decided += update(endgame.index(side, phase, squares, parentBits), childLost, distance);
+                        }
+                    }
+                    squares[slot] = square;
+                    parentBits[slot] = bit;
+                } else {
+                    // The other pieces move the same way in both directions
+                    long origins = attacks(pieceClass, square, parentBits[slot], occupied) & ~occupied;
+                    while (origins != 0) {
+                        squares[slot] = Long.numberOfTrailingZeros(origins);
+                        origins &= origins - 1;
+                        decided += update(endgame.index(side, phase, squares, parentBits), childLost, distance);
+                    }
+                    squares[slot] = square;
+                }
+            }
+        }
+        return decided;
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Updates a parent of a position decided in the given number of plies.
+     * 
+     * @param parent    the parent's index
+     * @param childLost true if the child is lost for its side to move
+     * @param distance  the child's distance to capture
+     * @return 1 if the parent is decided by this update, 0 otherwise
+     */
+    private int update(int parent, boolean childLost, int distance) {
+        while (true) {
+            int entry = (int) ENTRIES.getVolatile(entries, parent);
+            if (entry >> STATE_SHIFT != UNKNOWN)
+                return 0;
+
+            // The parent's side to move wins by moving into a lost child; otherwise one
+            // more of its moves is known to lose, and the last one decides it
+            int count = entry & COUNT_MASK;
+            int next = childLost ? KwazamTablebaseResult.WIN << STATE_SHIFT
+                    : count == 1 ? KwazamTablebaseResult.LOSS << STATE_SHIFT : entry - 1;
+            if (!ENTRIES.compareAndSet(entries, parent, entry, next))
+                continue;
+            if (next >> STATE_SHIFT == UNKNOWN)
+                return 0;
+
+            distances[parent] = (byte) (distance + 1);
+            return 1;
+        }
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Looks up the outcome after a capture in the smaller endgame.
+     * 
+     * @param side          the capturing group
+     * @param phase         the transformation phase before the capture
+     * @param victim        the captured slot
+     * @param childSquares  the squares after the capture, the victim's included
+     * @param childBits     the bits after the capture
+     * @return the outcome for the side to move after the capture
+     */
+    private int probeCapture(int side, int phase, int victim, int[] childSquares, int[] childBits) {
+        int[] kept = reducedSlots[victim];
+        int[] squares = new int[kept.length];
+        int[] bits = new int[kept.length];
+        for (int slot = 0; slot < kept.length; slot++) {
+            squares[slot] = childSquares[kept[slot]];
+            bits[slot] = childBits[kept[slot]];
+        }
+
+        int childSide = 1 - side;
+        if (endgame.isSwappedWithout(victim))
+            childSide = 1 - childSide;
+        KwazamEndgame reduced = reducedEndgames[victim];
+        KwazamTablebaseResult result = tablebase.probe(reduced,
+                reduced.index(childSide, (phase + 1) % KwazamZobrist.PHASES, squares, bits));
+        if (result == null)
+            throw new IllegalStateException("Missing tablebase " + reduced);
+        return result.getOutcome();
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Makes a move on index coordinates. The target's occupant, if any,
+     * keeps its square in the result.
+     * 
+     * @param side         the moving group
+     * @param phase        the transformation phase before the move
+     * @param squares      the squares before the move
+     * @param bits         the bits before the move
+     * @param slot         the moving slot
+     * @param target       the target square
+     * @param childSquares receives the squares after the move
+     * @param childBits    receives the bits after the move
+     */
+    private void move(int side, int phase, int[] squares, int[] bits, int slot, int target, int[] childSquares,
+            int[] childBits) {
+        boolean swap = (phase + 1) % KwazamZobrist.PHASES == 0;
+        for (int other = 0; other < squares.length; other++) {
+            childSquares[other] = squares[other];
+            childBits[other] = bits[other];
+            if (swap && endgame.getSlotClass(other) == KwazamEndgame.TOR_XOR)
+                childBits[other] ^= 1;
+        }
+
+        childSquares[slot] = target;
+        if (endgame.getSlotClass(slot) == KwazamEndgame.RAM)
+            childBits[slot] = ramBitAfter(squares[slot], target);
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets the squares a piece attacks.
+     * 
+     * @param pieceClass the piece class
+     * @param square     the piece's square
+     * @param bit        the piece's bit: 1 for an Xor or a Ram facing down
+     * @param occupied   the occupied squares
+     * @return the attack mask
+     */
+    private static long attacks(int pieceClass, int square, int bit, long occupied) {
+        switch (pieceClass) {
+            case KwazamEndgame.SAU:
+                return KwazamAttackTables.sauAttacks(square);
+            case KwazamEndgame.BIZ:
+                return KwazamAttackTables.bizAttacks(square);
+            case KwazamEndgame.RAM:
+                return KwazamAttackTables.ramAttacks(square, ramDirection(bit));
+            default:
+                return bit == 1 ? KwazamAttackTables.xorAttacks(square, occupied)
+                        : KwazamAttackTables.torAttacks(square, occupied);
+        }
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets a Ram's bit after a step, as KwazamModel sets it: the step's
+     * direction, turned around at either end of the board.
+     * 
+     * @param from the Ram's square before the step
+     * @param to   the Ram's square after the step
+     * @return 1 if the Ram faces down after the step
+     */
+    private static int ramBitAfter(int from, int to) {
+        int y = KwazamBitboard.squareY(to);
+        if (y == 0)
+            return 1;
+        if (y == KwazamConstants.BOARD_ROWS - 1)
+            return 0;
+        return y > KwazamBitboard.squareY(from) ? 1 : 0;
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets the Ram direction of a bit.
+     * 
+     * @param bit 1 for facing down
+     * @return the direction (1 down, -1 up)
+     */
+    private static int ramDirection(int bit) {
+        return bit == 1 ? 1 : -1;
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets the slot on a square.
+     * 
+     * @param squares the square of each slot
+     * @param square  the square
+     * @return the slot, or -1 if the square is empty
+     */
+    private static int slotAt(int[] squares, int square) {
+        for (int slot = 0; slot < squares.length; slot++) {
+            if (squares[slot] == square)
+                return slot;
+        }
+        return -1;
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets the squares occupied by all slots.
+     * 
+     * @param squares the square of each slot
+     * @return the occupancy mask
+     */
+    private static long occupancy(int[] squares) {
+        long occupied = 0;
+        for (int square : squares)
+            occupied |= 1L << square;
+        return occupied;
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets the squares occupied by one group.
+     * 
+     * @param squares the square of each slot
+     * @param group   the group
+     * @return the occupancy mask
+     */
+    private long groupOccupancy(int[] squares, int group) {
+        long occupied = 0;
+        for (int slot = 0; slot < squares.length; slot++) {
+            if (endgame.getSlotGroup(slot) == group)
+                occupied |= 1L << squares[slot];
+        }
+        return occupied;
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Adds up counts.
+     * 
+     * @param counts the counts
+     * @return the total
+     */
+    private static long sum(long[] counts) {
+        long total = 0;
+        for (long count : counts)
+            total += count;
+        return total;
+    }
+
+    // =================================================================
+    // PASSES
+    // =================================================================
+    /**
+     * A pass over one chunk of position indices.
+     */
+    @FunctionalInterface
+    private interface ChunkPass {
+        /**
+         * Author(s): Ng Wei Da
+         * 
+         * Runs the pass over a chunk.
+         * 
+         * @param from the first index
+         * @param to   the index after the last
+         * @return a count, e.g. of the positions decided
+         */
+        long run(int from, int to);
+    }
+}
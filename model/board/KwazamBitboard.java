@@ -0,0 +1,291 @@
+package model.board;
+
+import utils.KwazamConstants;
+import utils.KwazamPieceColor;
+import utils.KwazamPieceType;
+
+/**
+ * Bitboard core of the Kwazam board.
+ * The 5x8 board has 40 squares, so a whole position fits in one 64-bit mask
+ * per color and one per piece type. Square index is y * BOARD_COLS + x.
+ */
+public class KwazamBitboard {
+    // =================================================================
+    // CONSTANTS
+    // =================================================================
+    public static final int SQUARES = KwazamConstants.BOARD_ROWS * KwazamConstants.BOARD_COLS;
+    public static final long BOARD_MASK = (1L << SQUARES) - 1;
+
+    private static final KwazamPieceColor[] COLORS = KwazamPieceColor.values();
+    private static final KwazamPieceType[] TYPES = KwazamPieceType.values();
+
+    // =================================================================
+    // ATTRIBUTES
+    // =================================================================
+    private final long[] colorBoards;
+    private final long[] typeBoards;
+
+    // =================================================================
+    // CONSTRUCTION
+    // =================================================================
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Constructs an empty KwazamBitboard.
+     * One mask is kept per color and one per piece type.
+     */
+    public KwazamBitboard() {
+        this.colorBoards = new long[COLORS.length];
+        this.typeBoards = new long[TYPES.length];
+    }
+
+    // =================================================================
+    // SQUARE UTILITIES
+    // =================================================================
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Converts board coordinates to a square index.
+     * 
+     * @param x the x-coordinate
+     * @param y the y-coordinate
+     * @return the square index
+     */
+    public static int toSquare(int x, int y) {
+        return y * KwazamConstants.BOARD_COLS + x;
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets the x-coordinate of a square index.
+     * 
+     * @param square the square index
+     * @return the x-coordinate
+     */
+    public static int squareX(int square) {
+        return square % KwazamConstants.BOARD_COLS;
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets the y-coordinate of a square index.
+     * 
+     * @param square the square index
+     * @return the y-coordinate
+     */
+    public static int squareY(int square) {
+        return square / KwazamConstants.BOARD_COLS;
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets the single-bit mask of a square index.
+     * 
+     * @param square the square index
+     * @return the mask with only that square set
+     */
+    public static long squareMask(int square) {
+        return 1L << square;
+    }
+
+    // =================================================================
+    // GETTERS
+    // =================================================================
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets the mask of all occupied squares.
+     * 
+     * @return the occupancy mask
+     */
+    public long getOccupied() {
+        return colorBoards[0] | colorBoards[1];
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets the mask of all squares occupied by one color.
+     * 
+     * @param color the color
+     * @return the color mask
+     */
+    public long getColorBoard(KwazamPieceColor color) {
+        return colorBoards[color.ordinal()];
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets the mask of all squares occupied by one piece type, of either color.
+     * 
+     * @param type the piece type
+     * @return the type mask
+     */
+    public long getTypeBoard(KwazamPieceType type) {
+        return typeBoards[type.ordinal()];
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets the mask of all pieces of one color and type.
+     * 
+     * @param color the color
+     * @param type  the piece type
+     * @return the piece mask
+     */
+    public long getPieces(KwazamPieceColor color, KwazamPieceType type) {
+        return colorBoards[color.ordinal()] & typeBoards[type.ordinal()];
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Checks if a square is occupied.
+     * 
+     * @param square the square index
+     * @return true if a piece is on the square, false otherwise
+     */
+    public boolean isOccupied(int square) {
+        return (getOccupied() & squareMask(square)) != 0;
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets the color of the piece on a square.
+     * 
+     * @param square the square index
+     * @return the color, or null if the square is empty
+     */
+    public KwazamPieceColor getColorAt(int square) {
+        long mask = squareMask(square);
+        for (int i = 0; i < COLORS.length; i++) {
+            if ((colorBoards[i] & mask) != 0)
+                return COLORS[i];
+        }
+        return null;
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets the type of the piece on a square.
+     * 
+     * @param square the square index
+     * @return the type, or null if the square is empty
+     */
+    public KwazamPieceType getTypeAt(int square) {
+        long mask = squareMask(square);
+        for (int i = 0; i < TYPES.length; i++) {
+            if ((typeBoards[i] & mask) != 0)
+                return TYPES[i];
+        }
+        return null;
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Counts the pieces of one color and type.
+     * 
+     * @param color the color
+     * @param type  the piece type
+     * @return the number of pieces
+     */
+    public int count(KwazamPieceColor color, KwazamPieceType type) {
+        return Long.bitCount(getPieces(color, type));
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Finds the lowest square holding a piece of one color and type.
+     * 
+     * @param color the color
+     * @param type  the piece type
+     * @return the square index, or -1 if there is no such piece
+     */
+    public int findPiece(KwazamPieceColor color, KwazamPieceType type) {
+        long pieces = getPieces(color, type);
+        return pieces == 0 ? -1 : Long.numberOfTrailingZeros(pieces);
+    }
+
+    // =================================================================
+    // PIECE MANAGEMENT
+    // =================================================================
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Places a piece on a square.
+     * 
+     * @param color  the color of the piece
+     * @param type   the type of the piece
+     * @param square the square index
+     */
+    public void addPiece(KwazamPieceColor color, KwazamPieceType type, int square) {
+        long mask = squareMask(square);
+        colorBoards[color.ordinal()] |= mask;
+        typeBoards[type.ordinal()] |= mask;
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Removes a piece from a square.
+     * 
+     * @param color  the color of the piece
+     * @param type   the type of the piece
+     * @param square the square index
+     */
+    public void removePiece(KwazamPieceColor color, KwazamPieceType type, int square) {
+        long mask = ~squareMask(square);
+        colorBoards[color.ordinal()] &= mask;
+        typeBoards[type.ordinal()] &= mask;
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Moves a piece between two squares.
+     * The target square must be empty.
+     * 
+     * @param color the color of the piece
+     * @param type  the type of the piece
+     * @param from  the source square index
+     * @param to    the target square index
+     */
+    public void movePiece(KwazamPieceColor color, KwazamPieceType type, int from, int to) {
+        long mask = squareMask(from) | squareMask(to);
+        colorBoards[color.ordinal()] ^= mask;
+        typeBoards[type.ordinal()] ^= mask;
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Removes every piece from the bitboard.
+     */
+    public void clear() {
+        for (int i = 0; i < colorBoards.length; i++)
+            colorBoards[i] = 0L;
+        for (int i = 0; i < typeBoards.length; i++)
+            typeBoards[i] = 0L;
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Copies every mask of another bitboard into this one.
+     * 
+     * @param other the bitboard to copy from
+     */
+    public void copyFrom(KwazamBitboard other) {
+        System.arraycopy(other.colorBoards, 0, colorBoards, 0, colorBoards.length);
+        System.arraycopy(other.typeBoards, 0, typeBoards, 0, typeBoards.length);
+    }
+}
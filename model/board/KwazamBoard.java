@@ -1,10 +1,15 @@
 package model.board;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import model.movements.KwazamAttackTables;
+import model.movements.MovementStrategy;
 import model.pieces.KwazamPiece;
 import model.pieces.KwazamPieceFactory;
+import model.pieces.Ram;
 import utils.KwazamConstants;
 import utils.KwazamPieceColor;
 import utils.KwazamPieceType;
@@ -20,6 +25,22 @@ public class KwazamBoard {
     private final int cols;
     private final int rows;
     private final List<KwazamPiece> pieces;
+    private final List<KwazamPiece> piecesView;
+    private final KwazamBitboard bitboard;
+    private final KwazamPiece[] squares;
+    private final int[] sauSquares;
+
+    // Attack maps, kept up to date on every piece change
+    private final long[] pieceAttacks;
+    private final int[][] attackCounts;
+    private final long[] attackMaps;
+
+    // Zobrist hash of the piece placement and Ram directions
+    private long hash;
+
+    // Material and piece-square score from Blue's view, and its change if Tor and Xor swapped now
+    private int score;
+    private int flipScore;
 
     // =================================================================
     // CONSTRUCTION
@@ -28,10 +49,19 @@ public class KwazamBoard {
      * Author(s): Ng Wei Da
      * 
      * Constructs a KwazamBoard with default dimensions.
-     * Initializes the board and piece list.
+     * Initializes the board, piece list, bitboard core, square index and attack
+     * maps.
      */
     public KwazamBoard() {
         pieces = new ArrayList<>();
+        piecesView = Collections.unmodifiableList(pieces);
+        bitboard = new KwazamBitboard();
+        squares = new KwazamPiece[KwazamBitboard.SQUARES];
+        sauSquares = new int[KwazamPieceColor.values().length];
+        Arrays.fill(sauSquares, -1);
+        pieceAttacks = new long[KwazamBitboard.SQUARES];
+        attackCounts = new int[KwazamPieceColor.values().length][KwazamBitboard.SQUARES];
+        attackMaps = new long[KwazamPieceColor.values().length];
         cols = KwazamConstants.BOARD_COLS;
         rows = KwazamConstants.BOARD_ROWS;
     }
@@ -65,11 +95,23 @@ public class KwazamBoard {
      * Author(s): Ng Wei Da
      * 
      * Gets the list of pieces on the board.
+     * The list is read-only, use the piece management methods to change it.
      * 
      * @return list of pieces
      */
     public List<KwazamPiece> getPieces() {
-        return pieces;
+        return piecesView;
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets the bitboard core of the board.
+     * 
+     * @return the bitboard
+     */
+    public KwazamBitboard getBitboard() {
+        return bitboard;
     }
 
     /**
@@ -80,11 +122,7 @@ public class KwazamBoard {
      * @return red Sau piece, or null if not found
      */
     public KwazamPiece getRedSau() {
-        for (KwazamPiece piece : pieces) {
-            if (piece.getColor() == KwazamPieceColor.RED && piece.getType() == KwazamPieceType.SAU)
-                return piece;
-        }
-        return null;
+        return getPiece(sauSquares[KwazamPieceColor.RED.ordinal()]);
     }
 
     /**
@@ -95,11 +133,57 @@ public class KwazamBoard {
      * @return blue Sau piece, or null if not found
      */
     public KwazamPiece getBlueSau() {
-        for (KwazamPiece piece : pieces) {
-            if (piece.getColor() == KwazamPieceColor.BLUE && piece.getType() == KwazamPieceType.SAU)
-                return piece;
-        }
-        return null;
+        return getPiece(sauSquares[KwazamPieceColor.BLUE.ordinal()]);
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets the square index of the Sau of the given color.
+     * 
+     * @param color the color of the Sau
+     * @return the square index, or -1 if the Sau is not on the board
+     */
+    public int getSauSquare(KwazamPieceColor color) {
+        return sauSquares[color.ordinal()];
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets the Zobrist hash of the piece placement and Ram directions.
+     * Maintained incrementally on every piece change; the model adds the side
+     * to move and the transformation phase.
+     * 
+     * @return the placement hash
+     */
+    public long getHash() {
+        return hash;
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets the material and piece-square score of the board, including the
+     * Ram direction bonus (see KwazamScoreTables). Maintained incrementally on
+     * every piece change.
+     * 
+     * @return the score from Blue's view, in hundredths of a Ram
+     */
+    public int getScore() {
+        return score;
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets how much the score would change if every Tor and Xor swapped now.
+     * Maintained incrementally on every piece change.
+     * 
+     * @return the score change from Blue's view
+     */
+    public int getFlipScore() {
+        return flipScore;
     }
 
     /**
@@ -112,12 +196,23 @@ public class KwazamBoard {
      * @return piece at (x, y), or null if no piece exists
      */
     public KwazamPiece getPiece(int x, int y) {
-        for (KwazamPiece piece : pieces) {
-            if (piece.getX() == x && piece.getY() == y) {
-                return piece;
-            }
-        }
-        return null;
+        if (!isWithinBounds(x, y))
+            return null;
+        return squares[KwazamBitboard.toSquare(x, y)];
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets the piece on the specified square index.
+     * 
+     * @param square the square index, or -1
+     * @return piece on the square, or null if no piece exists
+     */
+    public KwazamPiece getPiece(int square) {
+        if (square < 0)
+            return null;
+        return squares[square];
     }
 
     // =================================================================
@@ -155,6 +250,39 @@ public class KwazamBoard {
         addPiece(KwazamPieceFactory.getPiece(KwazamPieceColor.BLUE, KwazamPieceType.TOR, 4, 7));
     }
 
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Sets up the board from a compact position encoding.
+     * Replaces every piece on the board.
+     * 
+     * @param codes one piece code per square index (see KwazamPieceFactory)
+     */
+    public void setupBoard(byte[] codes) {
+        clearPieces();
+        for (int square = 0; square < codes.length; square++) {
+            if (codes[square] != KwazamPieceFactory.EMPTY_CODE) {
+                addPiece(KwazamPieceFactory.getPiece(codes[square], KwazamBitboard.squareX(square),
+                        KwazamBitboard.squareY(square)));
+            }
+        }
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Encodes the board as a compact position, one piece code per square index.
+     * 
+     * @return the position codes (see KwazamPieceFactory)
+     */
+    public byte[] getPositionCodes() {
+        byte[] codes = new byte[KwazamBitboard.SQUARES];
+        for (int square = 0; square < codes.length; square++) {
+            codes[square] = (byte) KwazamPieceFactory.toCode(squares[square]);
+        }
+        return codes;
+    }
+
     // =================================================================
     // PIECE MANAGEMENT
     // =================================================================
@@ -167,6 +295,7 @@ public class KwazamBoard {
      */
     public void addPiece(KwazamPiece piece) {
         pieces.add(piece);
+        placePiece(piece, KwazamBitboard.toSquare(piece.getX(), piece.getY()));
     }
 
     /**
@@ -182,6 +311,7 @@ public class KwazamBoard {
             KwazamPiece piece = iterator.next();
             if (p == piece) {
                 iterator.remove();
+                liftPiece(piece, KwazamBitboard.toSquare(piece.getX(), piece.getY()));
             }
         }
     }
@@ -195,13 +325,9 @@ public class KwazamBoard {
      * @param y the y-coordinate
      */
     public void removePiece(int x, int y) {
-        // Use an iterator to safely remove elements during iteration
-        for (Iterator<KwazamPiece> iterator = pieces.iterator(); iterator.hasNext();) {
-            KwazamPiece piece = iterator.next();
-            if (piece.getX() == x && piece.getY() == y) {
-                iterator.remove();
-            }
-        }
+        KwazamPiece piece = getPiece(x, y);
+        if (piece != null)
+            removePiece(piece);
     }
 
     /**
@@ -228,8 +354,264 @@ public class KwazamBoard {
      * @param targetY the target y-coordinate
      */
     public void movePiece(KwazamPiece piece, int targetX, int targetY) {
+        liftPiece(piece, KwazamBitboard.toSquare(piece.getX(), piece.getY()));
         piece.setX(targetX);
         piece.setY(targetY);
+        placePiece(piece, KwazamBitboard.toSquare(targetX, targetY));
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Changes the type and movement strategy of a piece in place, keeping the
+     * same piece object on the same square.
+     * 
+     * @param piece            the piece to transform
+     * @param type             the new type
+     * @param movementStrategy the new movement strategy
+     */
+    public void transformPiece(KwazamPiece piece, KwazamPieceType type, MovementStrategy movementStrategy) {
+        int square = KwazamBitboard.toSquare(piece.getX(), piece.getY());
+        hash ^= KwazamZobrist.pieceKey(piece, square);
+        removeScore(piece, square);
+        bitboard.removePiece(piece.getColor(), piece.getType(), square);
+        piece.setType(type);
+        piece.setMovementStrategy(movementStrategy);
+        bitboard.addPiece(piece.getColor(), type, square);
+        hash ^= KwazamZobrist.pieceKey(piece, square);
+        addScore(piece, square);
+
+        // Occupancy is unchanged, so only the piece's own attacks change
+        updatePieceAttacks(square);
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Sets the direction of a Ram on the board and updates its attacks, the
+     * position hash and the score.
+     * 
+     * @param ram       the Ram piece
+     * @param direction the new direction (1 down, -1 up)
+     */
+    public void setRamDirection(Ram ram, int direction) {
+        int square = KwazamBitboard.toSquare(ram.getX(), ram.getY());
+        if (squares[square] != ram) {
+            ram.setDirection(direction);
+            return;
+        }
+
+        hash ^= KwazamZobrist.pieceKey(ram, square);
+        removeScore(ram, square);
+        ram.setDirection(direction);
+        hash ^= KwazamZobrist.pieceKey(ram, square);
+        addScore(ram, square);
+        updatePieceAttacks(square);
+    }
+
+    /**
+     * Author(s): Willie Teoh Chin Wei
+     * 
+     * Removes every piece from the board.
+     */
+    public void clearPieces() {
+        pieces.clear();
+        bitboard.clear();
+        Arrays.fill(squares, null);
+        Arrays.fill(sauSquares, -1);
+        Arrays.fill(pieceAttacks, 0L);
+        Arrays.fill(attackMaps, 0L);
+        for (int[] counts : attackCounts)
+            Arrays.fill(counts, 0);
+        hash = 0L;
+        score = 0;
+        flipScore = 0;
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Records a piece on a square in the bitboard, square index, Sau squares,
+     * attack maps, hash and score.
+     * 
+     * @param piece  the piece
+     * @param square the square index
+     */
+    private void placePiece(KwazamPiece piece, int square) {
+        bitboard.addPiece(piece.getColor(), piece.getType(), square);
+        squares[square] = piece;
+        if (piece.getType() == KwazamPieceType.SAU)
+            sauSquares[piece.getColor().ordinal()] = square;
+        hash ^= KwazamZobrist.pieceKey(piece, square);
+        addScore(piece, square);
+
+        refreshSlidersThrough(square);
+        updatePieceAttacks(square);
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Clears a piece from a square in the bitboard, square index, Sau squares,
+     * attack maps, hash and score.
+     * 
+     * @param piece  the piece
+     * @param square the square index
+     */
+    private void liftPiece(KwazamPiece piece, int square) {
+        setPieceAttacks(square, piece.getColor().ordinal(), 0L);
+        bitboard.removePiece(piece.getColor(), piece.getType(), square);
+        if (squares[square] == piece)
+            squares[square] = null;
+        if (piece.getType() == KwazamPieceType.SAU && sauSquares[piece.getColor().ordinal()] == square)
+            sauSquares[piece.getColor().ordinal()] = -1;
+        hash ^= KwazamZobrist.pieceKey(piece, square);
+        removeScore(piece, square);
+
+        refreshSlidersThrough(square);
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Adds a piece's share to the score and flip score.
+     * 
+     * @param piece  the piece
+     * @param square the square index
+     */
+    private void addScore(KwazamPiece piece, int square) {
+        score += KwazamScoreTables.pieceScore(piece, square);
+        flipScore += KwazamScoreTables.flipScore(piece, square);
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Removes a piece's share from the score and flip score.
+     * 
+     * @param piece  the piece
+     * @param square the square index
+     */
+    private void removeScore(KwazamPiece piece, int square) {
+        score -= KwazamScoreTables.pieceScore(piece, square);
+        flipScore -= KwazamScoreTables.flipScore(piece, square);
+    }
+
+    // =================================================================
+    // ATTACK MAPS
+    // =================================================================
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets every square attacked by the pieces of one color.
+     * The map is maintained incrementally, so this is a constant-time read.
+     * Squares holding the color's own pieces are included when defended.
+     * 
+     * @param color the color of the attacking pieces
+     * @return the mask of attacked squares
+     */
+    public long getAttackedSquares(KwazamPieceColor color) {
+        return attackMaps[color.ordinal()];
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Checks if a square is attacked by any piece of the given color.
+     * 
+     * @param square  the square index
+     * @param byColor the color of the attacking pieces
+     * @return true if the square is attacked, false otherwise
+     */
+    public boolean isSquareAttacked(int square, KwazamPieceColor byColor) {
+        return (attackMaps[byColor.ordinal()] & KwazamBitboard.squareMask(square)) != 0;
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Recomputes the attacks of the piece on a square from the attack tables.
+     * 
+     * @param square the square index
+     */
+    private void updatePieceAttacks(int square) {
+        KwazamPiece piece = squares[square];
+        long attacks;
+
+        switch (piece.getType()) {
+            case BIZ:
+                attacks = KwazamAttackTables.bizAttacks(square);
+                break;
+            case SAU:
+                attacks = KwazamAttackTables.sauAttacks(square);
+                break;
+            case RAM:
+                attacks = KwazamAttackTables.ramAttacks(square, ((Ram) piece).getDirection());
+                break;
+            case TOR:
+                attacks = KwazamAttackTables.torAttacks(square, bitboard.getOccupied());
+                break;
+            case XOR:
+                attacks = KwazamAttackTables.xorAttacks(square, bitboard.getOccupied());
+                break;
+            default:
+                attacks = 0L;
+                break;
+        }
+
+        setPieceAttacks(square, piece.getColor().ordinal(), attacks);
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Recomputes the attacks of every Tor and Xor whose ray reaches a square,
+     * after the occupancy of that square changed.
+     * 
+     * @param square the square index
+     */
+    private void refreshSlidersThrough(int square) {
+        long occupied = bitboard.getOccupied();
+        long sliders = (KwazamAttackTables.torAttacks(square, occupied) & bitboard.getTypeBoard(KwazamPieceType.TOR))
+                | (KwazamAttackTables.xorAttacks(square, occupied) & bitboard.getTypeBoard(KwazamPieceType.XOR));
+
+        while (sliders != 0) {
+            updatePieceAttacks(Long.numberOfTrailingZeros(sliders));
+            sliders &= sliders - 1;
+        }
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Replaces the attacks of the piece on a square and updates the per-square
+     * attacker counts and the attack map of its color with the difference.
+     * 
+     * @param square     the square index
+     * @param colorIndex the ordinal of the piece's color
+     * @param attacks    the new attack mask
+     */
+    private void setPieceAttacks(int square, int colorIndex, long attacks) {
+        long previous = pieceAttacks[square];
+        long removed = previous & ~attacks;
+        long added = attacks & ~previous;
+        int[] counts = attackCounts[colorIndex];
+
+        while (removed != 0) {
+            int target = Long.numberOfTrailingZeros(removed);
+            if (--counts[target] == 0)
+                attackMaps[colorIndex] &= ~KwazamBitboard.squareMask(target);
+            removed &= removed - 1;
+        }
+
+        while (added != 0) {
+            int target = Long.numberOfTrailingZeros(added);
+            if (counts[target]++ == 0)
+                attackMaps[colorIndex] |= KwazamBitboard.squareMask(target);
+            added &= added - 1;
+        }
+
+        pieceAttacks[square] = attacks;
     }
 
     // =================================================================
@@ -0,0 +1,197 @@
+package model.board;
+
+import model.pieces.KwazamPiece;
+import model.pieces.Ram;
+import utils.KwazamConstants;
+import utils.KwazamPieceColor;
+import utils.KwazamPieceType;
+
+/**
+ * Material and piece-square scores for incremental position scoring.
+ * A position score is the sum of one score per piece on its square, plus a
+ * bonus for each Ram facing the opponent's side. Scores are in hundredths of
+ * a Ram and from Blue's view: Blue pieces count positive, Red negative. Like
+ * the Zobrist keys, each piece's share can be added and removed on its own,
+ * so the board keeps the score up to date on every piece change.
+ */
+public final class KwazamScoreTables {
+    // =================================================================
+    // CONSTANTS
+    // =================================================================
+    // Indexed by KwazamPieceType ordinal: RAM, BIZ, TOR, XOR, SAU. The Sau is
+    // not material, losing it loses the game.
+    private static final int[] PIECE_VALUES = { 100, 300, 500, 500, 0 };
+
+    // Bonus for a Ram facing the opponent's side instead of its own
+    private static final int RAM_FORWARD_BONUS = 10;
+
+    // Piece-square tables from the owner's view, row 0 is the owner's back rank
+    private static final int[][] RAM_TABLE = {
+            { 0, 0, 0, 0, 0 },
+            { 0, 0, 0, 0, 0 },
+            { 5, 5, 10, 5, 5 },
+            { 10, 10, 15, 10, 10 },
+            { 15, 15, 20, 15, 15 },
+            { 20, 20, 25, 20, 20 },
+            { 20, 20, 25, 20, 20 },
+            { 10, 10, 15, 10, 10 } };
+
+    private static final int[][] BIZ_TABLE = {
+            { -10, -5, -5, -5, -10 },
+            { -5, 0, 5, 0, -5 },
+            { -5, 5, 10, 5, -5 },
+            { -5, 5, 15, 5, -5 },
+            { -5, 5, 15, 5, -5 },
+            { -5, 5, 10, 5, -5 },
+            { -5, 0, 5, 0, -5 },
+            { -10, -5, -5, -5, -10 } };
+
+    private static final int[][] TOR_TABLE = {
+            { 0, 0, 5, 0, 0 },
+            { 0, 0, 5, 0, 0 },
+            { 0, 5, 5, 5, 0 },
+            { 0, 5, 5, 5, 0 },
+            { 0, 5, 5, 5, 0 },
+            { 0, 5, 5, 5, 0 },
+            { 5, 10, 10, 10, 5 },
+            { 0, 0, 5, 0, 0 } };
+
+    private static final int[][] XOR_TABLE = {
+            { -10, -5, -5, -5, -10 },
+            { -5, 5, 0, 5, -5 },
+            { -5, 0, 10, 0, -5 },
+            { -5, 10, 5, 10, -5 },
+            { -5, 10, 5, 10, -5 },
+            { -5, 0, 10, 0, -5 },
+            { -5, 5, 0, 5, -5 },
+            { -10, -5, -5, -5, -10 } };
+
+    private static final int[][] SAU_TABLE = {
+            { 5, 10, 10, 10, 5 },
+            { 0, 5, 5, 5, 0 },
+            { -10, -5, -5, -5, -10 },
+            { -20, -15, -15, -15, -20 },
+            { -25, -20, -20, -20, -25 },
+            { -30, -25, -25, -25, -30 },
+            { -30, -25, -25, -25, -30 },
+            { -30, -25, -25, -25, -30 } };
+
+    // Indexed by KwazamPieceType ordinal
+    private static final int[][][] TABLES = { RAM_TABLE, BIZ_TABLE, TOR_TABLE, XOR_TABLE, SAU_TABLE };
+
+    // =================================================================
+    // SCORES
+    // =================================================================
+    // Blue's view, with every Ram counted as facing up
+    private static final int[][][] PIECE_SCORES = new int[KwazamPieceColor.values().length][KwazamPieceType
+            .values().length][KwazamBitboard.SQUARES];
+
+    static {
+        for (KwazamPieceColor color : KwazamPieceColor.values()) {
+            int sign = color == KwazamPieceColor.BLUE ? 1 : -1;
+
+            for (KwazamPieceType type : KwazamPieceType.values()) {
+                for (int square = 0; square < KwazamBitboard.SQUARES; square++) {
+                    // Blue starts at the bottom row, Red at the top row
+                    int y = KwazamBitboard.squareY(square);
+                    int row = color == KwazamPieceColor.BLUE ? KwazamConstants.BOARD_ROWS - 1 - y : y;
+                    int value = PIECE_VALUES[type.ordinal()]
+                            + TABLES[type.ordinal()][row][KwazamBitboard.squareX(square)];
+
+                    // Blue Rams advance up, Red Rams advance down
+                    if (type == KwazamPieceType.RAM && color == KwazamPieceColor.BLUE)
+                        value += RAM_FORWARD_BONUS;
+                    PIECE_SCORES[color.ordinal()][type.ordinal()][square] = sign * value;
+                }
+            }
+        }
+    }
+
+    // =================================================================
+    // CONSTRUCTION
+    // =================================================================
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Private constructor to prevent instantiation.
+     * This is a utility class with static methods only.
+     */
+    private KwazamScoreTables() {
+    }
+
+    // =================================================================
+    // SCORE LOOKUP
+    // =================================================================
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets the material value of a piece type.
+     * 
+     * @param type the piece type
+     * @return the value in hundredths of a Ram
+     */
+    public static int getPieceValue(KwazamPieceType type) {
+        return PIECE_VALUES[type.ordinal()];
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets the score of a piece on a square, including its Ram direction.
+     * 
+     * @param piece  the piece
+     * @param square the square index
+     * @return the score from Blue's view
+     */
+    public static int pieceScore(KwazamPiece piece, int square) {
+        int score = PIECE_SCORES[piece.getColor().ordinal()][piece.getType().ordinal()][square];
+        // Facing down costs a Blue Ram its bonus and gives a Red Ram its bonus, -10 for Blue either way
+        if (piece.getType() == KwazamPieceType.RAM && ((Ram) piece).getDirection() > 0)
+            score -= RAM_FORWARD_BONUS;
+        return score;
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets how much the score of a piece changes when the Tor/Xor swap turns
+     * it into the other type. Zero for every other piece.
+     * 
+     * @param piece  the piece
+     * @param square the square index
+     * @return the score change from Blue's view
+     */
+    public static int flipScore(KwazamPiece piece, int square) {
+        int[][] colorScores = PIECE_SCORES[piece.getColor().ordinal()];
+        int tor = colorScores[KwazamPieceType.TOR.ordinal()][square];
+        int xor = colorScores[KwazamPieceType.XOR.ordinal()][square];
+
+        switch (piece.getType()) {
+            case TOR:
+                return xor - tor;
+            case XOR:
+                return tor - xor;
+            default:
+                return 0;
+        }
+    }
+
+    // =================================================================
+    // FULL SCORE
+    // =================================================================
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Computes the score of a board from scratch.
+     * Used to check the incrementally maintained score.
+     * 
+     * @param board the board
+     * @return the score from Blue's view
+     */
+    public static int computeScore(KwazamBoard board) {
+        int score = 0;
+        for (KwazamPiece piece : board.getPieces())
+            score += pieceScore(piece, KwazamBitboard.toSquare(piece.getX(), piece.getY()));
+        return score;
+    }
+}
@@ -0,0 +1,154 @@
+package model.board;
+
+import java.util.Random;
+import model.pieces.KwazamPiece;
+import model.pieces.Ram;
+import utils.KwazamPieceColor;
+import utils.KwazamPieceType;
+
+/**
+ * Zobrist keys for 64-bit Kwazam position hashing.
+ * A position hash is the XOR of one key per piece on its square, one extra
+ * key per Ram facing down, the side-to-move key when Red is to move, and the
+ * key of the Tor/Xor transformation phase. Keys come from a fixed seed, so
+ * hashes are stable across runs and can be stored.
+ */
+public final class KwazamZobrist {
+    // =================================================================
+    // CONSTANTS
+    // =================================================================
+    public static final int PHASES = 4;
+
+    private static final long SEED = 0x4B77617A616DL;
+
+    // =================================================================
+    // KEYS
+    // =================================================================
+    private static final long[][][] PIECE_KEYS = new long[KwazamPieceColor.values().length][KwazamPieceType
+            .values().length][KwazamBitboard.SQUARES];
+    private static final long[] RAM_DOWN_KEYS = new long[KwazamBitboard.SQUARES];
+    private static final long[] PHASE_KEYS = new long[PHASES];
+    private static final long SIDE_KEY;
+
+    static {
+        Random random = new Random(SEED);
+
+        for (long[][] colorKeys : PIECE_KEYS) {
+            for (long[] typeKeys : colorKeys) {
+                for (int square = 0; square < typeKeys.length; square++)
+                    typeKeys[square] = random.nextLong();
+            }
+        }
+
+        for (int square = 0; square < RAM_DOWN_KEYS.length; square++)
+            RAM_DOWN_KEYS[square] = random.nextLong();
+
+        // Phase 0 is the phase right after a transformation, it keeps a zero key
+        for (int phase = 1; phase < PHASES; phase++)
+            PHASE_KEYS[phase] = random.nextLong();
+
+        SIDE_KEY = random.nextLong();
+    }
+
+    // =================================================================
+    // CONSTRUCTION
+    // =================================================================
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Private constructor to prevent instantiation.
+     * This is a utility class with static methods only.
+     */
+    private KwazamZobrist() {
+    }
+
+    // =================================================================
+    // KEY LOOKUP
+    // =================================================================
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets the key of a piece on a square, including its Ram direction.
+     * 
+     * @param piece  the piece
+     * @param square the square index
+     * @return the piece key
+     */
+    public static long pieceKey(KwazamPiece piece, int square) {
+        long key = PIECE_KEYS[piece.getColor().ordinal()][piece.getType().ordinal()][square];
+        if (piece.getType() == KwazamPieceType.RAM && ((Ram) piece).getDirection() > 0)
+            key ^= RAM_DOWN_KEYS[square];
+        return key;
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets the key of a piece of one color and type on a square, ignoring
+     * the Ram direction.
+     * 
+     * @param color  the color
+     * @param type   the piece type
+     * @param square the square index
+     * @return the piece key
+     */
+    public static long pieceKey(KwazamPieceColor color, KwazamPieceType type, int square) {
+        return PIECE_KEYS[color.ordinal()][type.ordinal()][square];
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets the key added for a Ram facing down on a square.
+     * 
+     * @param square the square index
+     * @return the Ram direction key
+     */
+    public static long ramDownKey(int square) {
+        return RAM_DOWN_KEYS[square];
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets the key of the side to move. Blue to move has no key.
+     * 
+     * @param color the side to move
+     * @return the side key
+     */
+    public static long sideKey(KwazamPieceColor color) {
+        return color == KwazamPieceColor.RED ? SIDE_KEY : 0L;
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets the key of a Tor/Xor transformation phase, the number of plies
+     * played since the last transformation (0-3).
+     * 
+     * @param phase the transformation phase
+     * @return the phase key
+     */
+    public static long phaseKey(int phase) {
+        return PHASE_KEYS[phase];
+    }
+
+    // =================================================================
+    // FULL HASH
+    // =================================================================
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Computes the piece placement hash of a board from scratch.
+     * Used to check the incrementally maintained hash.
+     * 
+     * @param board the board
+     * @return the placement hash
+     */
+    public static long computeHash(KwazamBoard board) {
+        long hash = 0L;
+        for (KwazamPiece piece : board.getPieces())
+            hash ^= pieceKey(piece, KwazamBitboard.toSquare(piece.getX(), piece.getY()));
+        return hash;
+    }
+}
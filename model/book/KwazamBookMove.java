@@ -0,0 +1,108 @@
+package model.book;
+
+import model.movements.KwazamMove;
+
+/**
+ * One opening book record: a move played in a position, with how often it
+ * was played and how it scored for the player who made it.
+ */
+public final class KwazamBookMove {
+    // =================================================================
+    // ATTRIBUTES
+    // =================================================================
+    private final long hash;
+    private final int move;
+    private final int games;
+    private final int halfPoints;
+
+    // =================================================================
+    // CONSTRUCTION
+    // =================================================================
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Constructs a book move.
+     * 
+     * @param hash       the hash of the position the move is played in
+     * @param move       the packed move
+     * @param games      the number of games the move was played in
+     * @param halfPoints the points scored by the mover, two per win and one per draw
+     */
+    public KwazamBookMove(long hash, int move, int games, int halfPoints) {
+        this.hash = hash;
+        this.move = move;
+        this.games = games;
+        this.halfPoints = halfPoints;
+    }
+
+    // =================================================================
+    // GETTERS
+    // =================================================================
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets the hash of the position the move is played in.
+     * 
+     * @return the position hash
+     */
+    public long getHash() {
+        return hash;
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets the move.
+     * 
+     * @return the packed move
+     */
+    public int getMove() {
+        return move;
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets the number of games the move was played in.
+     * 
+     * @return the game count
+     */
+    public int getGames() {
+        return games;
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets the points scored by the mover, two per win and one per draw.
+     * 
+     * @return the half points
+     */
+    public int getHalfPoints() {
+        return halfPoints;
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets the share of the points the mover scored, draws counting half.
+     * 
+     * @return the win rate between 0 and 1
+     */
+    public double getWinRate() {
+        return games > 0 ? halfPoints / (2.0 * games) : 0;
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets a one-line summary of the book move.
+     * 
+     * @return the summary
+     */
+    @Override
+    public String toString() {
+        return KwazamMove.toString(move) + " games " + games + " win rate "
+                + String.format("%.1f%%", getWinRate() * 100);
+    }
+}
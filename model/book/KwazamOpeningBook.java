@@ -0,0 +1,215 @@
+package model.book;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Read-only opening book, memory-mapped from a file.
+ * The file is a 16-byte header followed by fixed 20-byte records, sorted by
+ * position hash and, for one position, by games played, most first:
+ * 
+ * header: magic (int), version (int), record count (int), reserved (int)
+ * record: position hash (long), packed move (int), games (int), half points (int)
+ * 
+ * All values are big-endian. A lookup is a binary search on the mapped file,
+ * so opening the book costs neither a parse step nor heap space for the
+ * records, and the operating system pages in only the parts that are read.
+ * Lookups use absolute reads only, so any thread may use the book.
+ */
+public final class KwazamOpeningBook {
+    // =================================================================
+    // CONSTANTS
+    // =================================================================
+    private static final int MAGIC = 0x4B5A424B; // "KZBK"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 16;
+    private static final int RECORD_BYTES = 20;
+
+    // Record field offsets
+    private static final int HASH_OFFSET = 0;
+    private static final int MOVE_OFFSET = 8;
+    private static final int GAMES_OFFSET = 12;
+    private static final int HALF_POINTS_OFFSET = 16;
+
+    // Sorting order of the records in the file
+    private static final Comparator<KwazamBookMove> RECORD_ORDER = Comparator
+            .comparingLong(KwazamBookMove::getHash)
+            .thenComparing(Comparator.comparingInt(KwazamBookMove::getGames).reversed())
+            .thenComparingInt(KwazamBookMove::getMove);
+
+    // =================================================================
+    // ATTRIBUTES
+    // =================================================================
+    private final MappedByteBuffer buffer;
+    private final int recordCount;
+
+    // =================================================================
+    // CONSTRUCTION
+    // =================================================================
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Constructs a book on a mapped file whose header has been checked.
+     * 
+     * @param buffer      the mapped file
+     * @param recordCount the number of records
+     */
+    private KwazamOpeningBook(MappedByteBuffer buffer, int recordCount) {
+        this.buffer = buffer;
+        this.recordCount = recordCount;
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Maps a book file into memory.
+     * 
+     * @param path the path of the book file
+     * @return the opening book
+     * @throws IOException if the file cannot be read or is not a book
+     */
+    public static KwazamOpeningBook open(String path) throws IOException {
+        try (FileChannel channel = FileChannel.open(Path.of(path), StandardOpenOption.READ)) {
+            // The mapping stays valid after the channel is closed
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+
+            if (buffer.capacity() < HEADER_BYTES || buffer.getInt(0) != MAGIC)
+                throw new IOException("Not an opening book: " + path);
+            if (buffer.getInt(4) != VERSION)
+                throw new IOException("Unsupported opening book version " + buffer.getInt(4) + ": " + path);
+
+            int recordCount = buffer.getInt(8);
+            if (buffer.capacity() != HEADER_BYTES + (long) recordCount * RECORD_BYTES)
+                throw new IOException("Truncated opening book: " + path);
+
+            return new KwazamOpeningBook(buffer, recordCount);
+        }
+    }
+
+    // =================================================================
+    // LOOKUP
+    // =================================================================
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets the book moves of a position, most played first.
+     * 
+     * @param hash the position hash
+     * @return the book moves, empty if the position is not in the book
+     */
+    public List<KwazamBookMove> getMoves(long hash) {
+        List<KwazamBookMove> moves = new ArrayList<>();
+        for (int i = findFirst(hash); i < recordCount && getHash(i) == hash; i++) {
+            int offset = HEADER_BYTES + i * RECORD_BYTES;
+            moves.add(new KwazamBookMove(hash, buffer.getInt(offset + MOVE_OFFSET),
+                    buffer.getInt(offset + GAMES_OFFSET), buffer.getInt(offset + HALF_POINTS_OFFSET)));
+        }
+        return moves;
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Checks if a position is in the book.
+     * 
+     * @param hash the position hash
+     * @return true if the book has moves for the position
+     */
+    public boolean contains(long hash) {
+        int index = findFirst(hash);
+        return index < recordCount && getHash(index) == hash;
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets the number of records in the book.
+     * 
+     * @return the record count
+     */
+    public int getRecordCount() {
+        return recordCount;
+    }
+
+    // =================================================================
+    // WRITING
+    // =================================================================
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Writes book moves to a book file, sorted as the reader expects.
+     * Missing parent directories are created.
+     * 
+     * @param path  the path of the book file
+     * @param moves the book moves, in any order
+     * @throws IOException if the file cannot be written
+     */
+    public static void write(String path, List<KwazamBookMove> moves) throws IOException {
+        List<KwazamBookMove> records = new ArrayList<>(moves);
+        records.sort(RECORD_ORDER);
+
+        File file = new File(path);
+        if (file.getParentFile() != null)
+            file.getParentFile().mkdirs();
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(records.size());
+            out.writeInt(0);
+
+            for (KwazamBookMove record : records) {
+                out.writeLong(record.getHash());
+                out.writeInt(record.getMove());
+                out.writeInt(record.getGames());
+                out.writeInt(record.getHalfPoints());
+            }
+        }
+    }
+
+    // =================================================================
+    // PRIVATE METHODS
+    // =================================================================
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Finds the first record whose hash is not less than the given one.
+     * 
+     * @param hash the position hash
+     * @return the record index, or the record count if there is none
+     */
+    private int findFirst(long hash) {
+        int low = 0;
+        int high = recordCount;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (getHash(middle) < hash)
+                low = middle + 1;
+            else
+                high = middle;
+        }
+        return low;
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets the position hash of a record.
+     * 
+     * @param index the record index
+     * @return the position hash
+     */
+    private long getHash(int index) {
+        return buffer.getLong(HEADER_BYTES + index * RECORD_BYTES + HASH_OFFSET);
+    }
+}
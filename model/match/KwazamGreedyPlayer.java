@@ -0,0 +1,93 @@
+package model.match;
+
+import java.util.SplittableRandom;
+import model.KwazamModel;
+import model.ai.KwazamEvaluator;
+import model.movements.KwazamMove;
+import model.pieces.KwazamPiece;
+import utils.KwazamPieceType;
+
+/**
+ * Baseline player that always captures when it can.
+ * Takes the Sau if possible, otherwise the most valuable piece it can
+ * capture, and plays a random move when there is no capture. Ties are
+ * broken at random. It never looks at the opponent's replies.
+ */
+public class KwazamGreedyPlayer implements KwazamPlayer {
+    // =================================================================
+    // CONSTANTS
+    // =================================================================
+    // Capture value of the Sau, above every other piece
+    private static final int SAU_VALUE = Integer.MAX_VALUE;
+
+    // =================================================================
+    // ATTRIBUTES
+    // =================================================================
+    private final SplittableRandom random;
+    private final int[] moves;
+
+    // =================================================================
+    // CONSTRUCTION
+    // =================================================================
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Constructs a greedy player.
+     * 
+     * @param seed the seed of the player's tie breaks
+     */
+    public KwazamGreedyPlayer(long seed) {
+        this.random = new SplittableRandom(seed);
+        this.moves = new int[KwazamMove.MAX_POSITION_MOVES];
+    }
+
+    // =================================================================
+    // PLAYER API
+    // =================================================================
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets the player name.
+     * 
+     * @return "greedy"
+     */
+    @Override
+    public String getName() {
+        return "greedy";
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Chooses the most valuable capture, or a random move if there is none.
+     * 
+     * @param game the game, with the player to move
+     * @return the packed move, or KwazamMove.NONE if there is no legal move
+     */
+    @Override
+    public int selectMove(KwazamModel game) {
+        int moveCount = game.generateMoves(moves);
+        if (moveCount == 0)
+            return KwazamMove.NONE;
+
+        int bestValue = -1;
+        int bestCount = 0;
+        for (int i = 0; i < moveCount; i++) {
+            int value = -1;
+            if (KwazamMove.isCapture(moves[i])) {
+                KwazamPiece captured = game.getGameBoard().getPiece(KwazamMove.getTo(moves[i]));
+                value = captured.getType() == KwazamPieceType.SAU ? SAU_VALUE
+                        : KwazamEvaluator.getPieceValue(captured.getType());
+            }
+
+            // Keep the best moves at the front of the array, one of them is picked at random
+            if (value > bestValue) {
+                bestValue = value;
+                bestCount = 0;
+            }
+            if (value == bestValue)
+                moves[bestCount++] = moves[i];
+        }
+        return moves[random.nextInt(bestCount)];
+    }
+}
@@ -0,0 +1,318 @@
+package model.match;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import model.KwazamModel;
+import model.movements.KwazamMove;
+import utils.KwazamPieceColor;
+import utils.KwazamThreads;
+
+/**
+ * Plays a headless match between two players.
+ * Games run concurrently, one per thread, each thread with its own
+ * KwazamModel and its own instances of both players, so the games follow
+ * exactly the rules of the real game. Games come in pairs: both games of a
+ * pair start with the same random opening plies, and the players swap
+ * colors between them, so neither the opening nor moving first favours a
+ * player. A game ends when a Sau is captured, on the draw rules, when the
+ * side to move has no move, or as a draw after the ply limit; a player that
+ * returns an illegal move loses.
+ * 
+ * After every game the score is passed to the progress listener and, if an
+ * SPRT is set, tested; the match stops early once the test is decided.
+ */
+public class KwazamMatch {
+    // =================================================================
+    // CONSTANTS
+    // =================================================================
+    public static final int DEFAULT_OPENING_PLIES = 4;
+    public static final int DEFAULT_MAX_PLIES = 400;
+
+    // Game results for the first player
+    private static final int WIN = 0;
+    private static final int DRAW = 1;
+    private static final int LOSS = 2;
+
+    // =================================================================
+    // ATTRIBUTES
+    // =================================================================
+    private final Supplier<KwazamPlayer> firstPlayer;
+    private final Supplier<KwazamPlayer> secondPlayer;
+    private int threads;
+    private int openingPlies;
+    private int maxPlies;
+    private long seed;
+    private KwazamSprt sprt;
+    private Consumer<KwazamMatchStatistics> progressListener;
+
+    // Match state, the counts guarded by this
+    private final AtomicInteger nextGame;
+    private final int[] results;
+    private volatile boolean stopped;
+
+    // =================================================================
+    // CONSTRUCTION
+    // =================================================================
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Constructs a match. Every thread asks each supplier for its own player
+     * instance.
+     * 
+     * @param firstPlayer  creates the player the score is counted for
+     * @param secondPlayer creates its opponent
+     */
+    public KwazamMatch(Supplier<KwazamPlayer> firstPlayer, Supplier<KwazamPlayer> secondPlayer) {
+        this.firstPlayer = firstPlayer;
+        this.secondPlayer = secondPlayer;
+        this.threads = Runtime.getRuntime().availableProcessors();
+        this.openingPlies = DEFAULT_OPENING_PLIES;
+        this.maxPlies = DEFAULT_MAX_PLIES;
+        this.seed = System.nanoTime();
+        this.nextGame = new AtomicInteger();
+        this.results = new int[3];
+    }
+
+    // =================================================================
+    // SETTERS
+    // =================================================================
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Sets the number of games played at once.
+     * 
+     * @param threads the thread count, at least 1; defaults to one per core
+     */
+    public void setThreads(int threads) {
+        this.threads = Math.max(threads, 1);
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Sets the number of random plies each opening starts with.
+     * 
+     * @param openingPlies the random plies, 0 to start every game from the start position
+     */
+    public void setOpeningPlies(int openingPlies) {
+        this.openingPlies = Math.max(openingPlies, 0);
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Sets the ply limit after which a game is drawn.
+     * 
+     * @param maxPlies the ply limit
+     */
+    public void setMaxPlies(int maxPlies) {
+        this.maxPlies = maxPlies;
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Sets the seed of the random openings, to replay a match.
+     * 
+     * @param seed the seed
+     */
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Sets the test that stops the match early.
+     * 
+     * @param sprt the test, or null to play every game
+     */
+    public void setSprt(KwazamSprt sprt) {
+        this.sprt = sprt;
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Sets the listener told the score after every game. It is called on the
+     * match threads, one call at a time.
+     * 
+     * @param progressListener the listener, or null
+     */
+    public void setProgressListener(Consumer<KwazamMatchStatistics> progressListener) {
+        this.progressListener = progressListener;
+    }
+
+    // =================================================================
+    // MATCH
+    // =================================================================
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Plays the match and waits for it to finish. A match can be run once.
+     * 
+     * @param games the number of games, rounded up to whole pairs
+     * @return the final score
+     */
+    public KwazamMatchStatistics run(int games) {
+        int pairedGames = games + games % 2;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int i = 0; i < threads; i++)
+                workers.add(pool.submit(() -> playGames(pairedGames)));
+            for (Future<?> worker : workers)
+                KwazamThreads.waitFor(worker, "match thread");
+        } finally {
+            pool.shutdown();
+        }
+        return getStatistics();
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets the score so far.
+     * 
+     * @return the score
+     */
+    public synchronized KwazamMatchStatistics getStatistics() {
+        return new KwazamMatchStatistics(results[WIN], results[DRAW], results[LOSS]);
+    }
+
+    // =================================================================
+    // PRIVATE METHODS
+    // =================================================================
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Plays games on one thread until all are started or the match stops.
+     * 
+     * @param games the number of games in the match
+     */
+    private void playGames(int games) {
+        KwazamModel model = new KwazamModel();
+        model.setDrawRules(true, KwazamModel.DEFAULT_NO_CAPTURE_LIMIT);
+        KwazamPlayer first = firstPlayer.get();
+        KwazamPlayer second = secondPlayer.get();
+        try {
+            int game;
+            while (!stopped && (game = nextGame.getAndIncrement()) < games) {
+                // The first player is Blue, who moves first, in the even game of each pair
+                KwazamPieceColor firstColor = game % 2 == 0 ? KwazamPieceColor.BLUE : KwazamPieceColor.RED;
+                playOpening(model, seed + game / 2);
+                record(playGame(model, first, second, firstColor));
+            }
+        } finally {
+            first.close();
+            second.close();
+        }
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Starts a new game and plays the random opening plies of a pair. The
+     * opening stops early rather than capture a Sau.
+     * 
+     * @param model the thread's game
+     * @param seed  the seed of the pair's opening
+     */
+    private void playOpening(KwazamModel model, long seed) {
+        model.initGame();
+        SplittableRandom random = new SplittableRandom(seed);
+        int[] moves = new int[KwazamMove.MAX_POSITION_MOVES];
+
+        for (int ply = 0; ply < openingPlies; ply++) {
+            int moveCount = model.generateMoves(moves);
+            if (moveCount == 0)
+                return;
+
+            model.makeMove(moves[random.nextInt(moveCount)]);
+            if (model.isSauCaptured()) {
+                model.unmakeMove();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Plays a game to its end from the opening.
+     * 
+     * @param model      the thread's game, after the opening
+     * @param first      the first player
+     * @param second     the second player
+     * @param firstColor the first player's color
+     * @return WIN, DRAW or LOSS for the first player
+     */
+    private int playGame(KwazamModel model, KwazamPlayer first, KwazamPlayer second, KwazamPieceColor firstColor) {
+        int[] moves = new int[KwazamMove.MAX_POSITION_MOVES];
+
+        for (int ply = 0; ply < maxPlies && !stopped; ply++) {
+            if (model.isSauCaptured())
+                return model.getSau(firstColor) != null ? WIN : LOSS;
+            if (model.isDraw())
+                return DRAW;
+
+            boolean firstToMove = model.getCurrentColor() == firstColor;
+            int move = (firstToMove ? first : second).selectMove(model);
+            int moveCount = model.generateMoves(moves);
+            if (moveCount == 0)
+                return DRAW;
+            if (!contains(moves, moveCount, move))
+                return firstToMove ? LOSS : WIN; // Forfeit
+
+            model.makeMove(move);
+        }
+
+        if (model.isSauCaptured())
+            return model.getSau(firstColor) != null ? WIN : LOSS;
+        return DRAW;
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Counts a game, reports the score and runs the test.
+     * 
+     * @param result WIN, DRAW or LOSS for the first player
+     */
+    private synchronized void record(int result) {
+        if (stopped)
+            return; // Games cut short by a decided test are not counted
+
+        results[result]++;
+        KwazamMatchStatistics statistics = getStatistics();
+        if (progressListener != null)
+            progressListener.accept(statistics);
+        if (sprt != null && sprt.decide(statistics) != KwazamSprt.CONTINUE)
+            stopped = true;
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Checks if a move is in a move list.
+     * 
+     * @param moves     the moves
+     * @param moveCount the number of moves
+     * @param move      the move to look for
+     * @return true if the move is in the list
+     */
+    private static boolean contains(int[] moves, int moveCount, int move) {
+        for (int i = 0; i < moveCount; i++) {
+            if (moves[i] == move)
+                return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,191 @@
+package model.match;
+
+/**
+ * The score of a match so far, from the first player's view, and the Elo
+ * difference it implies. Immutable; KwazamMatch makes a new one after every
+ * game.
+ * 
+ * The Elo difference follows from the score fraction s as
+ * -400 log10(1 / s - 1). The error margin is the 95% confidence interval of
+ * the score, from the per-game variance of the results, turned into Elo the
+ * same way.
+ */
+public final class KwazamMatchStatistics {
+    // =================================================================
+    // CONSTANTS
+    // =================================================================
+    // Two-sided 95% quantile of the normal distribution
+    private static final double CONFIDENCE_95 = 1.959964;
+
+    // =================================================================
+    // ATTRIBUTES
+    // =================================================================
+    private final int wins;
+    private final int draws;
+    private final int losses;
+
+    // =================================================================
+    // CONSTRUCTION
+    // =================================================================
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Constructs the statistics of a match score.
+     * 
+     * @param wins   the first player's wins
+     * @param draws  the draws
+     * @param losses the first player's losses
+     */
+    public KwazamMatchStatistics(int wins, int draws, int losses) {
+        this.wins = wins;
+        this.draws = draws;
+        this.losses = losses;
+    }
+
+    // =================================================================
+    // GETTERS
+    // =================================================================
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets the first player's wins.
+     * 
+     * @return the wins
+     */
+    public int getWins() {
+        return wins;
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets the draws.
+     * 
+     * @return the draws
+     */
+    public int getDraws() {
+        return draws;
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets the first player's losses.
+     * 
+     * @return the losses
+     */
+    public int getLosses() {
+        return losses;
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets the number of games played.
+     * 
+     * @return the game count
+     */
+    public int getGames() {
+        return wins + draws + losses;
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets the first player's score fraction, a draw counting half a win.
+     * 
+     * @return the score from 0 to 1, or 0.5 before the first game
+     */
+    public double getScore() {
+        return getGames() == 0 ? 0.5 : (wins + draws / 2.0) / getGames();
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets the variance of a single game's result around the score.
+     * 
+     * @return the per-game variance
+     */
+    public double getVariance() {
+        if (getGames() == 0)
+            return 0;
+
+        double score = getScore();
+        return (wins * (1 - score) * (1 - score) + draws * (0.5 - score) * (0.5 - score)
+                + losses * score * score) / getGames();
+    }
+
+    // =================================================================
+    // ELO
+    // =================================================================
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets the Elo difference of the first player over the second.
+     * 
+     * @return the Elo difference, infinite after only wins or only losses
+     */
+    public double getEloDifference() {
+        return toElo(getScore());
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets the half-width of the 95% confidence interval of the Elo
+     * difference.
+     * 
+     * @return the error margin, infinite if the interval reaches a score of 0 or 1
+     */
+    public double getEloErrorMargin() {
+        if (getGames() == 0)
+            return Double.POSITIVE_INFINITY;
+
+        double margin = CONFIDENCE_95 * Math.sqrt(getVariance() / getGames());
+        if (getScore() - margin <= 0 || getScore() + margin >= 1)
+            return Double.POSITIVE_INFINITY;
+        return (toElo(getScore() + margin) - toElo(getScore() - margin)) / 2;
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Converts a score fraction to an Elo difference.
+     * 
+     * @param score the score from 0 to 1
+     * @return the Elo difference, infinite at 0 and 1
+     */
+    public static double toElo(double score) {
+        if (score <= 0)
+            return Double.NEGATIVE_INFINITY;
+        if (score >= 1)
+            return Double.POSITIVE_INFINITY;
+        return -400 * Math.log10(1 / score - 1);
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Converts an Elo difference to the expected score fraction.
+     * 
+     * @param elo the Elo difference
+     * @return the expected score from 0 to 1
+     */
+    public static double toScore(double elo) {
+        return 1 / (1 + Math.pow(10, -elo / 400));
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets a one-line summary, e.g. "W 60 D 20 L 20 (score 0.700), Elo +147.2 +/- 71.0".
+     * 
+     * @return the summary
+     */
+    @Override
+    public String toString() {
+        return String.format("W %d D %d L %d (score %.3f), Elo %+.1f +/- %.1f", wins, draws, losses, getScore(),
+                getEloDifference(), getEloErrorMargin());
+    }
+}
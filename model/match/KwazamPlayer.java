@@ -0,0 +1,43 @@
+package model.match;
+
+import model.KwazamModel;
+
+/**
+ * Strategy Pattern
+ * 
+ * A move-selection strategy that KwazamMatch can pit against another.
+ * A player instance is used by one match thread only, so it may keep
+ * per-game state such as a search tree or a random generator.
+ */
+public interface KwazamPlayer {
+    // =================================================================
+    // PUBLIC METHODS
+    // =================================================================
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets a short name for match reports.
+     * 
+     * @return the player name
+     */
+    String getName();
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Chooses a move in the game's current position. The player may make and
+     * unmake moves on the game to look ahead, but must leave it as it was.
+     * 
+     * @param game the game, with the player to move
+     * @return the packed move, or KwazamMove.NONE if there is no legal move
+     */
+    int selectMove(KwazamModel game);
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Releases any threads the player holds. Called once the match is over.
+     */
+    default void close() {
+    }
+}
@@ -0,0 +1,60 @@
+package model.match;
+
+import java.util.SplittableRandom;
+import model.KwazamModel;
+import model.movements.KwazamMove;
+
+/**
+ * Baseline player that plays a uniformly random legal move.
+ */
+public class KwazamRandomPlayer implements KwazamPlayer {
+    // =================================================================
+    // ATTRIBUTES
+    // =================================================================
+    private final SplittableRandom random;
+    private final int[] moves;
+
+    // =================================================================
+    // CONSTRUCTION
+    // =================================================================
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Constructs a random player.
+     * 
+     * @param seed the seed of the player's moves
+     */
+    public KwazamRandomPlayer(long seed) {
+        this.random = new SplittableRandom(seed);
+        this.moves = new int[KwazamMove.MAX_POSITION_MOVES];
+    }
+
+    // =================================================================
+    // PLAYER API
+    // =================================================================
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets the player name.
+     * 
+     * @return "random"
+     */
+    @Override
+    public String getName() {
+        return "random";
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Chooses a random legal move.
+     * 
+     * @param game the game, with the player to move
+     * @return the packed move, or KwazamMove.NONE if there is no legal move
+     */
+    @Override
+    public int selectMove(KwazamModel game) {
+        int moveCount = game.generateMoves(moves);
+        return moveCount == 0 ? KwazamMove.NONE : moves[random.nextInt(moveCount)];
+    }
+}
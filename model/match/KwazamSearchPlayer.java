@@ -0,0 +1,75 @@
+package model.match;
+
+import model.KwazamModel;
+import model.ai.KwazamSearchLimits;
+import model.ai.KwazamSearcher;
+
+/**
+ * Player that moves with one of the computer player's searches, e.g. a
+ * single-threaded KwazamParallelSearch or KwazamMonteCarloSearch, so match
+ * games measure the same code the game plays with.
+ */
+public class KwazamSearchPlayer implements KwazamPlayer {
+    // =================================================================
+    // ATTRIBUTES
+    // =================================================================
+    private final String name;
+    private final KwazamSearcher searcher;
+    private final KwazamSearchLimits limits;
+
+    // =================================================================
+    // CONSTRUCTION
+    // =================================================================
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Constructs a search player.
+     * 
+     * @param name     the player name
+     * @param searcher the search, owned by this player from now on
+     * @param limits   the limits of every move's search
+     */
+    public KwazamSearchPlayer(String name, KwazamSearcher searcher, KwazamSearchLimits limits) {
+        this.name = name;
+        this.searcher = searcher;
+        this.limits = limits;
+    }
+
+    // =================================================================
+    // PLAYER API
+    // =================================================================
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets the player name.
+     * 
+     * @return the name given at construction
+     */
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Searches the current position within the limits.
+     * 
+     * @param game the game, with the player to move
+     * @return the best move found, or KwazamMove.NONE if there is no legal move
+     */
+    @Override
+    public int selectMove(KwazamModel game) {
+        return searcher.search(game.getPosition(), limits, searcher.getStopToken()).getBestMove();
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Shuts down the search threads.
+     */
+    @Override
+    public void close() {
+        searcher.shutdown();
+    }
+}
@@ -0,0 +1,135 @@
+package model.match;
+
+/**
+ * Sequential probability ratio test on a match.
+ * Tests H0, the first player is elo0 stronger than the second, against H1,
+ * it is elo1 stronger, after every game, and stops the match as soon as one
+ * is accepted. With the error rates alpha (accepting H1 when H0 holds) and
+ * beta (accepting H0 when H1 holds), H1 is accepted when the log-likelihood
+ * ratio reaches log((1 - beta) / alpha) and H0 when it falls to
+ * log(beta / (1 - alpha)).
+ * 
+ * The log-likelihood ratio uses the normal approximation of the game
+ * results: (s1 - s0) (2 s - s0 - s1) n / (2 var), where s0 and s1 are the
+ * scores expected under the hypotheses, s the score so far, n the games and
+ * var the per-game variance. One win and one loss are added to the score
+ * first, so a match of only wins or only losses still has a variance and
+ * can be decided.
+ */
+public final class KwazamSprt {
+    // =================================================================
+    // CONSTANTS
+    // =================================================================
+    public static final int CONTINUE = 0;
+    public static final int ACCEPT_H0 = 1;
+    public static final int ACCEPT_H1 = 2;
+
+    public static final double DEFAULT_ALPHA = 0.05;
+    public static final double DEFAULT_BETA = 0.05;
+
+    // =================================================================
+    // ATTRIBUTES
+    // =================================================================
+    private final double elo0;
+    private final double elo1;
+    private final double lowerBound;
+    private final double upperBound;
+
+    // =================================================================
+    // CONSTRUCTION
+    // =================================================================
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Constructs a test of two Elo hypotheses.
+     * 
+     * @param elo0  the Elo difference of H0
+     * @param elo1  the Elo difference of H1, above elo0
+     * @param alpha the chance of accepting H1 when H0 holds
+     * @param beta  the chance of accepting H0 when H1 holds
+     * @throws IllegalArgumentException if elo1 is not above elo0 or an error rate is not in (0, 0.5)
+     */
+    public KwazamSprt(double elo0, double elo1, double alpha, double beta) {
+        if (elo1 <= elo0)
+            throw new IllegalArgumentException("elo1 must be above elo0");
+        if (alpha <= 0 || alpha >= 0.5 || beta <= 0 || beta >= 0.5)
+            throw new IllegalArgumentException("Error rates must be between 0 and 0.5");
+
+        this.elo0 = elo0;
+        this.elo1 = elo1;
+        this.lowerBound = Math.log(beta / (1 - alpha));
+        this.upperBound = Math.log((1 - beta) / alpha);
+    }
+
+    // =================================================================
+    // TEST
+    // =================================================================
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets the log-likelihood ratio of H1 over H0 for a match score.
+     * 
+     * @param statistics the match score
+     * @return the log-likelihood ratio
+     */
+    public double getLogLikelihoodRatio(KwazamMatchStatistics statistics) {
+        KwazamMatchStatistics padded = new KwazamMatchStatistics(statistics.getWins() + 1, statistics.getDraws(),
+                statistics.getLosses() + 1);
+
+        double score0 = KwazamMatchStatistics.toScore(elo0);
+        double score1 = KwazamMatchStatistics.toScore(elo1);
+        return (score1 - score0) * (2 * padded.getScore() - score0 - score1) * padded.getGames()
+                / (2 * padded.getVariance());
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Decides the test for a match score.
+     * 
+     * @param statistics the match score
+     * @return ACCEPT_H1, ACCEPT_H0 or CONTINUE
+     */
+    public int decide(KwazamMatchStatistics statistics) {
+        double ratio = getLogLikelihoodRatio(statistics);
+        if (ratio >= upperBound)
+            return ACCEPT_H1;
+        if (ratio <= lowerBound)
+            return ACCEPT_H0;
+        return CONTINUE;
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets the log-likelihood ratio at which H0 is accepted.
+     * 
+     * @return the lower bound
+     */
+    public double getLowerBound() {
+        return lowerBound;
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets the log-likelihood ratio at which H1 is accepted.
+     * 
+     * @return the upper bound
+     */
+    public double getUpperBound() {
+        return upperBound;
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets a description of the hypotheses and bounds.
+     * 
+     * @return the description
+     */
+    @Override
+    public String toString() {
+        return String.format("SPRT elo0 %.1f, elo1 %.1f, bounds [%.2f, %.2f]", elo0, elo1, lowerBound, upperBound);
+    }
+}
@@ -1,7 +1,6 @@
 package model.movements;
 
-import java.util.ArrayList;
-import java.util.List;
+import model.board.KwazamBitboard;
 import model.board.KwazamBoard;
 import model.pieces.KwazamPiece;
 
@@ -13,7 +12,7 @@ public class BizMovement implements MovementStrategy {
     // =================================================================
     // ATTRIBUTES
     // =================================================================
-    private final int[][] directions;
+    private static final BizMovement INSTANCE = new BizMovement();
 
     // =================================================================
     // CONSTRUCTION
@@ -21,68 +20,47 @@ public class BizMovement implements MovementStrategy {
     /**
      * Author(s): Lim Kar Joon
      * 
-     * Constructs an BizMovement.
-     * Initializes the possible movement directions for the Biz piece.
+     * Private constructor, use getInstance().
+     * The strategy holds no state, so one instance is shared by every Biz.
      */
-    public BizMovement() {
-        this.directions = new int[][] {
-                { 2, 1 }, // Right 2, Up 1
-                { 2, -1 }, // Right 2, Down 1
-                { -2, 1 }, // Left 2, Up 1
-                { -2, -1 }, // Left 2, Down 1
-                { 1, 2 }, // Right 1, Up 2
-                { 1, -2 }, // Right 1, Down 2
-                { -1, 2 }, // Left 1, Up 2
-                { -1, -2 } // Left 1, Down 2
-        };
+    private BizMovement() {
     }
 
     // =================================================================
-    // MOVEMENT STRATEGY IMPLEMENTATION
+    // SINGLETON INSTANCE
     // =================================================================
     /**
      * Author(s): Lim Kar Joon
      * 
-     * Gets all valid moves for the Biz piece.
+     * Gets the shared BizMovement instance.
      * 
-     * @param piece the Biz piece
-     * @param board the game board
-     * @return list of valid moves as [x, y] coordinates
+     * @return the BizMovement instance
      */
-    @Override
-    public List<int[]> getValidMoves(KwazamPiece piece, KwazamBoard board) {
-        List<int[]> validMoves = new ArrayList<>();
-        int x = piece.getX();
-        int y = piece.getY();
-
-        for (int[] direction : directions) {
-            int newX = x + direction[0];
-            int newY = y + direction[1];
-
-            if (isValidMove(newX, newY, board, piece)) {
-                validMoves.add(new int[] { newX, newY });
-            }
-        }
-
-        return validMoves;
+    public static BizMovement getInstance() {
+        return INSTANCE;
     }
 
     // =================================================================
-    // PRIVATE METHODS
+    // MOVEMENT STRATEGY IMPLEMENTATION
     // =================================================================
     /**
      * Author(s): Lim Kar Joon
      * 
-     * Checks if a move is valid for the Biz piece.
+     * Writes all valid moves for the Biz piece into the buffer.
+     * Targets come from the precomputed Biz jump table, Biz skips over pieces.
      * 
-     * @param x     the target x-coordinate
-     * @param y     the target y-coordinate
-     * @param board the game board
      * @param piece the Biz piece
-     * @return true if the move is valid, false otherwise
+     * @param board the game board
+     * @param moves the buffer to write the packed moves into
+     * @param count the number of moves already in the buffer
+     * @return the number of moves in the buffer after generation
      */
-    private boolean isValidMove(int x, int y, KwazamBoard board, KwazamPiece piece) {
-        return board.isWithinBounds(x, y) &&
-                (board.getPiece(x, y) == null || board.getPiece(x, y).getColor() != piece.getColor());
+    @Override
+    public int generateMoves(KwazamPiece piece, KwazamBoard board, int[] moves, int count) {
+        KwazamBitboard bitboard = board.getBitboard();
+        int from = KwazamBitboard.toSquare(piece.getX(), piece.getY());
+        long targets = KwazamAttackTables.bizAttacks(from) & ~bitboard.getColorBoard(piece.getColor());
+
+        return KwazamMove.addMoves(from, targets, bitboard.getOccupied(), moves, count);
     }
 }
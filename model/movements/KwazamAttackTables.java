@@ -0,0 +1,247 @@
+package model.movements;
+
+import model.board.KwazamBitboard;
+import utils.KwazamConstants;
+
+/**
+ * Precomputed attack tables for the fixed 5x8 Kwazam board.
+ * Leaper masks (Biz, Sau, Ram) and per-direction ray masks for the sliders
+ * (Tor, Xor) are built once at class load, so move generation and attack
+ * queries become table lookups plus a blocker scan.
+ */
+public final class KwazamAttackTables {
+    // =================================================================
+    // DIRECTIONS
+    // =================================================================
+    private static final int[][] BIZ_OFFSETS = {
+            { 2, 1 }, // Right 2, Up 1
+            { 2, -1 }, // Right 2, Down 1
+            { -2, 1 }, // Left 2, Up 1
+            { -2, -1 }, // Left 2, Down 1
+            { 1, 2 }, // Right 1, Up 2
+            { 1, -2 }, // Right 1, Down 2
+            { -1, 2 }, // Left 1, Up 2
+            { -1, -2 } // Left 1, Down 2
+    };
+
+    // Rays 0-3 are orthogonal (Tor), rays 4-7 are diagonal (Xor and Sau)
+    private static final int[][] RAY_OFFSETS = {
+            { 0, 1 }, // Up
+            { 0, -1 }, // Down
+            { 1, 0 }, // Right
+            { -1, 0 }, // Left
+            { 1, 1 }, // Top-right diagonal
+            { 1, -1 }, // Bottom-right diagonal
+            { -1, 1 }, // Top-left diagonal
+            { -1, -1 } // Bottom-left diagonal
+    };
+
+    public static final int FIRST_ORTHOGONAL_RAY = 0;
+    public static final int FIRST_DIAGONAL_RAY = 4;
+    public static final int RAY_COUNT = 8;
+
+    // =================================================================
+    // TABLES
+    // =================================================================
+    private static final long[] BIZ_ATTACKS = new long[KwazamBitboard.SQUARES];
+    private static final long[] SAU_ATTACKS = new long[KwazamBitboard.SQUARES];
+    private static final long[] RAM_UP_ATTACKS = new long[KwazamBitboard.SQUARES];
+    private static final long[] RAM_DOWN_ATTACKS = new long[KwazamBitboard.SQUARES];
+    private static final long[][] RAYS = new long[RAY_COUNT][KwazamBitboard.SQUARES];
+    private static final boolean[] RAY_ASCENDING = new boolean[RAY_COUNT];
+
+    static {
+        for (int ray = 0; ray < RAY_COUNT; ray++) {
+            // Rays that step towards higher square indices find their blocker in the lowest bit
+            RAY_ASCENDING[ray] = RAY_OFFSETS[ray][1] > 0 || (RAY_OFFSETS[ray][1] == 0 && RAY_OFFSETS[ray][0] > 0);
+        }
+
+        for (int square = 0; square < KwazamBitboard.SQUARES; square++) {
+            int x = KwazamBitboard.squareX(square);
+            int y = KwazamBitboard.squareY(square);
+
+            for (int[] offset : BIZ_OFFSETS) {
+                BIZ_ATTACKS[square] |= maskOf(x + offset[0], y + offset[1]);
+            }
+
+            for (int ray = 0; ray < RAY_COUNT; ray++) {
+                int dx = RAY_OFFSETS[ray][0];
+                int dy = RAY_OFFSETS[ray][1];
+                SAU_ATTACKS[square] |= maskOf(x + dx, y + dy);
+
+                for (int newX = x + dx, newY = y + dy; isWithinBounds(newX, newY); newX += dx, newY += dy) {
+                    RAYS[ray][square] |= maskOf(newX, newY);
+                }
+            }
+
+            // A Ram at the end of the board turns around instead of stepping off it
+            RAM_UP_ATTACKS[square] = y == 0 ? maskOf(x, y + 1) : maskOf(x, y - 1);
+            RAM_DOWN_ATTACKS[square] = y == KwazamConstants.BOARD_ROWS - 1 ? maskOf(x, y - 1) : maskOf(x, y + 1);
+        }
+    }
+
+    // =================================================================
+    // CONSTRUCTION
+    // =================================================================
+    /**
+     * Author(s): Lim Kar Joon
+     * 
+     * Private constructor to prevent instantiation.
+     * This is a utility class with static methods only.
+     */
+    private KwazamAttackTables() {
+    }
+
+    // =================================================================
+    // LEAPER ATTACKS
+    // =================================================================
+    /**
+     * Author(s): Lim Kar Joon
+     * 
+     * Gets the squares a Biz attacks from a square.
+     * 
+     * @param square the square index
+     * @return the attack mask
+     */
+    public static long bizAttacks(int square) {
+        return BIZ_ATTACKS[square];
+    }
+
+    /**
+     * Author(s): Lim Kar Joon
+     * 
+     * Gets the squares a Sau attacks from a square.
+     * 
+     * @param square the square index
+     * @return the attack mask
+     */
+    public static long sauAttacks(int square) {
+        return SAU_ATTACKS[square];
+    }
+
+    /**
+     * Author(s): Lim Kar Joon
+     * 
+     * Gets the square a Ram attacks from a square.
+     * 
+     * @param square    the square index
+     * @param direction the Ram direction (1 down, -1 up)
+     * @return the attack mask
+     */
+    public static long ramAttacks(int square, int direction) {
+        return direction > 0 ? RAM_DOWN_ATTACKS[square] : RAM_UP_ATTACKS[square];
+    }
+
+    // =================================================================
+    // SLIDER ATTACKS
+    // =================================================================
+    /**
+     * Author(s): Lim Kar Joon
+     * 
+     * Gets the empty ray from a square in one direction, up to the board edge.
+     * 
+     * @param ray    the ray index (0-7)
+     * @param square the square index
+     * @return the ray mask
+     */
+    public static long ray(int ray, int square) {
+        return RAYS[ray][square];
+    }
+
+    /**
+     * Author(s): Lim Kar Joon
+     * 
+     * Gets the squares a Tor attacks from a square.
+     * 
+     * @param square   the square index
+     * @param occupied the mask of occupied squares
+     * @return the attack mask, including the first blocker on each ray
+     */
+    public static long torAttacks(int square, long occupied) {
+        return slidingAttacks(square, occupied, FIRST_ORTHOGONAL_RAY, FIRST_DIAGONAL_RAY);
+    }
+
+    /**
+     * Author(s): Lim Kar Joon
+     * 
+     * Gets the squares an Xor attacks from a square.
+     * 
+     * @param square   the square index
+     * @param occupied the mask of occupied squares
+     * @return the attack mask, including the first blocker on each ray
+     */
+    public static long xorAttacks(int square, long occupied) {
+        return slidingAttacks(square, occupied, FIRST_DIAGONAL_RAY, RAY_COUNT);
+    }
+
+    /**
+     * Author(s): Lim Kar Joon
+     * 
+     * Gets the squares attacked along one ray, stopping at the first blocker.
+     * 
+     * @param ray      the ray index (0-7)
+     * @param square   the square index
+     * @param occupied the mask of occupied squares
+     * @return the attack mask, including the first blocker
+     */
+    public static long rayAttacks(int ray, int square, long occupied) {
+        long attacks = RAYS[ray][square];
+        long blockers = attacks & occupied;
+
+        if (blockers != 0) {
+            int blocker = RAY_ASCENDING[ray] ? Long.numberOfTrailingZeros(blockers)
+                    : 63 - Long.numberOfLeadingZeros(blockers);
+            attacks ^= RAYS[ray][blocker];
+        }
+
+        return attacks;
+    }
+
+    // =================================================================
+    // PRIVATE METHODS
+    // =================================================================
+    /**
+     * Author(s): Lim Kar Joon
+     * 
+     * Combines the ray attacks of a range of directions.
+     * 
+     * @param square    the square index
+     * @param occupied  the mask of occupied squares
+     * @param firstRay  the first ray index (inclusive)
+     * @param lastRay   the last ray index (exclusive)
+     * @return the attack mask
+     */
+    private static long slidingAttacks(int square, long occupied, int firstRay, int lastRay) {
+        long attacks = 0L;
+        for (int ray = firstRay; ray < lastRay; ray++) {
+            attacks |= rayAttacks(ray, square, occupied);
+        }
+        return attacks;
+    }
+
+    /**
+     * Author(s): Lim Kar Joon
+     * 
+     * Gets the mask of a coordinate, or an empty mask if it is off the board.
+     * 
+     * @param x the x-coordinate
+     * @param y the y-coordinate
+     * @return the square mask
+     */
+    private static long maskOf(int x, int y) {
+        return isWithinBounds(x, y) ? KwazamBitboard.squareMask(KwazamBitboard.toSquare(x, y)) : 0L;
+    }
+
+    /**
+     * Author(s): Lim Kar Joon
+     * 
+     * Checks if the coordinates are within the board bounds.
+     * 
+     * @param x the x-coordinate
+     * @param y the y-coordinate
+     * @return true if within bounds, false otherwise
+     */
+    private static boolean isWithinBounds(int x, int y) {
+        return x >= 0 && x < KwazamConstants.BOARD_COLS && y >= 0 && y < KwazamConstants.BOARD_ROWS;
+    }
+}
@@ -0,0 +1,165 @@
+package model.movements;
+
+import model.board.KwazamBitboard;
+import utils.KwazamConstants;
+
+/**
+ * Packs Kwazam moves into a single int.
+ * Bits 0-5 hold the source square, bits 6-11 the target square and bit 12
+ * the capture flag, so move lists can live in plain reusable int arrays.
+ */
+public final class KwazamMove {
+    // =================================================================
+    // CONSTANTS
+    // =================================================================
+    public static final int NONE = 0;
+    public static final int MAX_PIECE_MOVES = 16;
+    public static final int MAX_POSITION_MOVES = 256;
+
+    private static final int SQUARE_MASK = 0x3F;
+    private static final int TO_SHIFT = 6;
+    private static final int CAPTURE_FLAG = 1 << 12;
+
+    // =================================================================
+    // CONSTRUCTION
+    // =================================================================
+    /**
+     * Author(s): Lim Kar Joon
+     * 
+     * Private constructor to prevent instantiation.
+     * This is a utility class with static methods only.
+     */
+    private KwazamMove() {
+    }
+
+    // =================================================================
+    // ENCODING
+    // =================================================================
+    /**
+     * Author(s): Lim Kar Joon
+     * 
+     * Packs a move into an int.
+     * 
+     * @param from    the source square index
+     * @param to      the target square index
+     * @param capture true if the move captures a piece
+     * @return the packed move
+     */
+    public static int encode(int from, int to, boolean capture) {
+        return from | (to << TO_SHIFT) | (capture ? CAPTURE_FLAG : 0);
+    }
+
+    /**
+     * Author(s): Lim Kar Joon
+     * 
+     * Gets the source square of a packed move.
+     * 
+     * @param move the packed move
+     * @return the source square index
+     */
+    public static int getFrom(int move) {
+        return move & SQUARE_MASK;
+    }
+
+    /**
+     * Author(s): Lim Kar Joon
+     * 
+     * Gets the target square of a packed move.
+     * 
+     * @param move the packed move
+     * @return the target square index
+     */
+    public static int getTo(int move) {
+        return (move >>> TO_SHIFT) & SQUARE_MASK;
+    }
+
+    /**
+     * Author(s): Lim Kar Joon
+     * 
+     * Checks if a packed move captures a piece.
+     * 
+     * @param move the packed move
+     * @return true if the move is a capture, false otherwise
+     */
+    public static boolean isCapture(int move) {
+        return (move & CAPTURE_FLAG) != 0;
+    }
+
+    /**
+     * Author(s): Lim Kar Joon
+     * 
+     * Writes one packed move per target square into a buffer.
+     * 
+     * @param from     the source square index
+     * @param targets  the mask of target squares
+     * @param occupied the mask of occupied squares, used for the capture flag
+     * @param moves    the buffer to write the packed moves into
+     * @param count    the number of moves already in the buffer
+     * @return the number of moves in the buffer after writing
+     */
+    public static int addMoves(int from, long targets, long occupied, int[] moves, int count) {
+        while (targets != 0) {
+            int to = Long.numberOfTrailingZeros(targets);
+            moves[count++] = encode(from, to, (occupied & KwazamBitboard.squareMask(to)) != 0);
+            targets &= targets - 1;
+        }
+        return count;
+    }
+
+    /**
+     * Author(s): Lim Kar Joon
+     * 
+     * Formats a packed move using the board coordinates drawn on the panel,
+     * e.g. "C7-C6" or "A1xA8".
+     * 
+     * @param move the packed move
+     * @return the move as text
+     */
+    public static String toString(int move) {
+        return squareName(getFrom(move)) + (isCapture(move) ? "x" : "-") + squareName(getTo(move));
+    }
+
+    /**
+     * Author(s): Lim Kar Joon
+     * 
+     * Formats a square index using the board coordinates drawn on the panel.
+     * 
+     * @param square the square index
+     * @return the square as text, e.g. "C7"
+     */
+    public static String squareName(int square) {
+        return String.valueOf((char) ('A' + KwazamBitboard.squareX(square))) + (KwazamBitboard.squareY(square) + 1);
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Parses a move written by toString, e.g. "C7-C6" or "A1xA8".
+     * 
+     * @param text the move as text
+     * @return the packed move
+     * @throws IllegalArgumentException if the text is not a move
+     */
+    public static int parse(String text) {
+        if (text.length() != 5 || (text.charAt(2) != '-' && text.charAt(2) != 'x'))
+            throw new IllegalArgumentException("Not a move: " + text);
+        return encode(parseSquare(text.substring(0, 2)), parseSquare(text.substring(3)), text.charAt(2) == 'x');
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Parses a square written by squareName, e.g. "C7".
+     * 
+     * @param text the square as text
+     * @return the square index
+     * @throws IllegalArgumentException if the text is not a square
+     */
+    public static int parseSquare(String text) {
+        int x = text.length() == 2 ? Character.toUpperCase(text.charAt(0)) - 'A' : -1;
+        int y = text.length() == 2 ? text.charAt(1) - '1' : -1;
+        if (x < 0 || x >= KwazamConstants.BOARD_COLS || y < 0 || y >= KwazamConstants.BOARD_ROWS)
+            throw new IllegalArgumentException("Not a square: " + text);
+        return KwazamBitboard.toSquare(x, y);
+    }
+}
@@ -1,6 +1,8 @@
 package model.movements;
 
+import java.util.ArrayList;
 import java.util.List;
+import model.board.KwazamBitboard;
 import model.board.KwazamBoard;
 import model.pieces.KwazamPiece;
 
@@ -8,12 +10,27 @@ import model.pieces.KwazamPiece;
  * Strategy Pattern
  * 
  * Defines the movement strategy for Kwazam pieces.
- * Provides a method to calculate valid moves for a piece on the board.
+ * Provides methods to calculate valid moves for a piece on the board.
  */
 public interface MovementStrategy {
     // =================================================================
     // PUBLIC METHODS
     // =================================================================
+    /**
+     * Author(s): Lim Kar Joon
+     * 
+     * Polymorphic method to write all valid moves for the piece into a
+     * caller-owned buffer as packed moves (see KwazamMove).
+     * Does not allocate, so it can be called in search and playout loops.
+     * 
+     * @param piece the piece
+     * @param board the game board
+     * @param moves the buffer to write the packed moves into
+     * @param count the number of moves already in the buffer
+     * @return the number of moves in the buffer after generation
+     */
+    public int generateMoves(KwazamPiece piece, KwazamBoard board, int[] moves, int count);
+
     /**
      * Author(s): Ng Wei Da
      * 
@@ -23,5 +40,16 @@ public interface MovementStrategy {
      * @param board the game board
      * @return list of valid moves as [x, y] coordinates
      */
-    public List<int[]> getValidMoves(KwazamPiece piece, KwazamBoard board);
+    public default List<int[]> getValidMoves(KwazamPiece piece, KwazamBoard board) {
+        int[] moves = new int[KwazamMove.MAX_PIECE_MOVES];
+        int count = generateMoves(piece, board, moves, 0);
+
+        List<int[]> validMoves = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int to = KwazamMove.getTo(moves[i]);
+            validMoves.add(new int[] { KwazamBitboard.squareX(to), KwazamBitboard.squareY(to) });
+        }
+
+        return validMoves;
+    }
 }
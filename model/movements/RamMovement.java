@@ -1,7 +1,6 @@
 package model.movements;
 
-import java.util.ArrayList;
-import java.util.List;
+import model.board.KwazamBitboard;
 import model.board.KwazamBoard;
 import model.pieces.KwazamPiece;
 import model.pieces.Ram;
@@ -14,71 +13,62 @@ import model.pieces.Ram;
  */
 public class RamMovement implements MovementStrategy {
     // =================================================================
-    // MOVEMENT STRATEGY IMPLEMENTATION
+    // ATTRIBUTES
+    // =================================================================
+    private static final RamMovement INSTANCE = new RamMovement();
+
+    // =================================================================
+    // CONSTRUCTION
     // =================================================================
     /**
      * Author(s): Lim Kar Joon
      * 
-     * Gets all valid moves for the Ram piece.
-     * 
-     * @param piece the Ram piece
-     * @param board the game board
-     * @return list of valid moves as [x, y] coordinates
+     * Private constructor, use getInstance().
+     * The strategy holds no state, so one instance is shared by every Ram.
      */
-    @Override
-    public List<int[]> getValidMoves(KwazamPiece piece, KwazamBoard board) {
-        List<int[]> validMoves = new ArrayList<>();
-        Ram ram = (Ram) piece;
-        int x = ram.getX();
-        int y = ram.getY();
-
-        // Update direction if the Ram reaches the top or bottom of the board
-        updateDirection(ram, board);
-
-        // Calculate the next position based on the current direction
-        int targetY = y + ram.getDirection();
-        if (isValidMove(x, targetY, board, piece)) {
-            validMoves.add(new int[] { x, targetY });
-        }
-
-        return validMoves;
+    private RamMovement() {
     }
 
     // =================================================================
-    // PRIVATE METHODS
+    // SINGLETON INSTANCE
     // =================================================================
     /**
      * Author(s): Lim Kar Joon
      * 
-     * Updates the Ram's direction if it reaches the top or bottom of the board.
+     * Gets the shared RamMovement instance.
      * 
-     * @param ram   the Ram piece
-     * @param board the game board
+     * @return the RamMovement instance
      */
-    private void updateDirection(Ram ram, KwazamBoard board) {
-        int y = ram.getY();
-        int direction = ram.getDirection();
-
-        if (y == 0 && direction == -1) { // Reached top
-            ram.setDirection(1); // Change to downward movement
-        } else if (y == board.getRows() - 1 && direction == 1) { // Reached bottom
-            ram.setDirection(-1); // Change to upward movement
-        }
+    public static RamMovement getInstance() {
+        return INSTANCE;
     }
 
+    // =================================================================
+    // MOVEMENT STRATEGY IMPLEMENTATION
+    // =================================================================
     /**
      * Author(s): Lim Kar Joon
      * 
-     * Checks if a move is valid for the Ram piece.
+     * Writes all valid moves for the Ram piece into the buffer.
+     * Has no side effects on the piece or the board.
      * 
-     * @param x     the target x-coordinate
-     * @param y     the target y-coordinate
-     * @param board the game board
      * @param piece the Ram piece
-     * @return true if the move is valid, false otherwise
+     * @param board the game board
+     * @param moves the buffer to write the packed moves into
+     * @param count the number of moves already in the buffer
+     * @return the number of moves in the buffer after generation
      */
-    private boolean isValidMove(int x, int y, KwazamBoard board, KwazamPiece piece) {
-        return board.isWithinBounds(x, y) &&
-                (board.getPiece(x, y) == null || board.getPiece(x, y).getColor() != piece.getColor());
+    @Override
+    public int generateMoves(KwazamPiece piece, KwazamBoard board, int[] moves, int count) {
+        Ram ram = (Ram) piece;
+        KwazamBitboard bitboard = board.getBitboard();
+        int from = KwazamBitboard.toSquare(ram.getX(), ram.getY());
+
+        // The Ram step table already turns the Ram around at the end of the board,
+        // so generation only reads the direction and never changes it
+        long targets = KwazamAttackTables.ramAttacks(from, ram.getDirection())
+                & ~bitboard.getColorBoard(piece.getColor());
+
+        return KwazamMove.addMoves(from, targets, bitboard.getOccupied(), moves, count);
     }
 }
@@ -1,7 +1,6 @@
 package model.movements;
 
-import java.util.ArrayList;
-import java.util.List;
+import model.board.KwazamBitboard;
 import model.board.KwazamBoard;
 import model.pieces.KwazamPiece;
 
@@ -13,7 +12,7 @@ public class SauMovement implements MovementStrategy {
     // =================================================================
     // ATTRIBUTES
     // =================================================================
-    private final int[][] directions;
+    private static final SauMovement INSTANCE = new SauMovement();
 
     // =================================================================
     // CONSTRUCTION
@@ -21,68 +20,47 @@ public class SauMovement implements MovementStrategy {
     /**
      * Author(s): Lim Kar Joon
      * 
-     * Constructs a SauMovement.
-     * Initializes the possible movement directions for the Sau piece.
+     * Private constructor, use getInstance().
+     * The strategy holds no state, so one instance is shared by every Sau.
      */
-    public SauMovement() {
-        this.directions = new int[][] {
-                { 1, 0 }, // Right
-                { -1, 0 }, // Left
-                { 0, 1 }, // Up
-                { 0, -1 }, // Down
-                { 1, 1 }, // Top-right diagonal
-                { 1, -1 }, // Bottom-right diagonal
-                { -1, 1 }, // Top-left diagonal
-                { -1, -1 } // Bottom-left diagonal
-        };
+    private SauMovement() {
     }
 
     // =================================================================
-    // MOVEMENT STRATEGY IMPLEMENTATION
+    // SINGLETON INSTANCE
     // =================================================================
     /**
      * Author(s): Lim Kar Joon
      * 
-     * Gets all valid moves for the Sau piece.
+     * Gets the shared SauMovement instance.
      * 
-     * @param piece the Sau piece
-     * @param board the game board
-     * @return list of valid moves as [x, y] coordinates
+     * @return the SauMovement instance
      */
-    @Override
-    public List<int[]> getValidMoves(KwazamPiece piece, KwazamBoard board) {
-        List<int[]> validMoves = new ArrayList<>();
-        int x = piece.getX();
-        int y = piece.getY();
-
-        for (int[] direction : directions) {
-            int newX = x + direction[0];
-            int newY = y + direction[1];
-
-            if (isValidMove(newX, newY, board, piece)) {
-                validMoves.add(new int[] { newX, newY });
-            }
-        }
-
-        return validMoves;
+    public static SauMovement getInstance() {
+        return INSTANCE;
     }
 
     // =================================================================
-    // PRIVATE METHODS
+    // MOVEMENT STRATEGY IMPLEMENTATION
     // =================================================================
     /**
      * Author(s): Lim Kar Joon
      * 
-     * Checks if a move is valid for the Sau piece.
+     * Writes all valid moves for the Sau piece into the buffer.
+     * Targets come from the precomputed Sau step table.
      * 
-     * @param x     the target x-coordinate
-     * @param y     the target y-coordinate
-     * @param board the game board
      * @param piece the Sau piece
-     * @return true if the move is valid, false otherwise
+     * @param board the game board
+     * @param moves the buffer to write the packed moves into
+     * @param count the number of moves already in the buffer
+     * @return the number of moves in the buffer after generation
      */
-    private boolean isValidMove(int x, int y, KwazamBoard board, KwazamPiece piece) {
-        return board.isWithinBounds(x, y) &&
-                (board.getPiece(x, y) == null || board.getPiece(x, y).getColor() != piece.getColor());
+    @Override
+    public int generateMoves(KwazamPiece piece, KwazamBoard board, int[] moves, int count) {
+        KwazamBitboard bitboard = board.getBitboard();
+        int from = KwazamBitboard.toSquare(piece.getX(), piece.getY());
+        long targets = KwazamAttackTables.sauAttacks(from) & ~bitboard.getColorBoard(piece.getColor());
+
+        return KwazamMove.addMoves(from, targets, bitboard.getOccupied(), moves, count);
     }
 }
@@ -1,7 +1,6 @@
 package model.movements;
 
-import java.util.ArrayList;
-import java.util.List;
+import model.board.KwazamBitboard;
 import model.board.KwazamBoard;
 import model.pieces.KwazamPiece;
 
@@ -13,7 +12,7 @@ public class TorMovement implements MovementStrategy {
     // =================================================================
     // ATTRIBUTES
     // =================================================================
-    private final int[][] directions;
+    private static final TorMovement INSTANCE = new TorMovement();
 
     // =================================================================
     // CONSTRUCTION
@@ -21,78 +20,47 @@ public class TorMovement implements MovementStrategy {
     /**
      * Author(s): Lim Kar Joon
      * 
-     * Constructs a TorMovement.
-     * Initializes the possible movement directions for the Tor piece.
+     * Private constructor, use getInstance().
+     * The strategy holds no state, so one instance is shared by every Tor.
      */
-    public TorMovement() {
-        this.directions = new int[][] {
-                { 0, 1 }, // Up
-                { 0, -1 }, // Down
-                { 1, 0 }, // Right
-                { -1, 0 } // Left
-        };
+    private TorMovement() {
     }
 
     // =================================================================
-    // MOVEMENT STRATEGY IMPLEMENTATION
+    // SINGLETON INSTANCE
     // =================================================================
     /**
      * Author(s): Lim Kar Joon
      * 
-     * Gets all valid moves for the Tor piece.
+     * Gets the shared TorMovement instance.
      * 
-     * @param piece the Tor piece
-     * @param board the game board
-     * @return list of valid moves as [x, y] coordinates
+     * @return the TorMovement instance
      */
-    @Override
-    public List<int[]> getValidMoves(KwazamPiece piece, KwazamBoard board) {
-        List<int[]> validMoves = new ArrayList<>();
-        int x = piece.getX();
-        int y = piece.getY();
-
-        for (int[] direction : directions) {
-            checkDirectionalMoves(x, y, board, piece, validMoves, direction[0], direction[1]);
-        }
-
-        return validMoves;
+    public static TorMovement getInstance() {
+        return INSTANCE;
     }
 
     // =================================================================
-    // PRIVATE METHODS
+    // MOVEMENT STRATEGY IMPLEMENTATION
     // =================================================================
     /**
      * Author(s): Lim Kar Joon
      * 
-     * Checks valid moves in a specific direction for the Tor piece.
+     * Writes all valid moves for the Tor piece into the buffer.
+     * Each orthogonal ray stops at the first piece, which is capturable if it is an opponent's.
      * 
-     * @param x          the starting x-coordinate
-     * @param y          the starting y-coordinate
-     * @param board      the game board
-     * @param piece      the Tor piece
-     * @param validMoves list to store valid moves
-     * @param dx         the x-direction (1 or -1)
-     * @param dy         the y-direction (1 or -1)
+     * @param piece the Tor piece
+     * @param board the game board
+     * @param moves the buffer to write the packed moves into
+     * @param count the number of moves already in the buffer
+     * @return the number of moves in the buffer after generation
      */
-    private void checkDirectionalMoves(int x, int y, KwazamBoard board, KwazamPiece piece, List<int[]> validMoves,
-            int dx, int dy) {
-        int newX = x + dx;
-        int newY = y + dy;
-
-        while (board.isWithinBounds(newX, newY)) {
-            KwazamPiece targetPiece = board.getPiece(newX, newY);
-
-            if (targetPiece == null) {
-                validMoves.add(new int[] { newX, newY });
-            } else {
-                if (targetPiece.getColor() != piece.getColor()) {
-                    validMoves.add(new int[] { newX, newY });
-                }
-                break; // Stop after encountering any piece
-            }
+    @Override
+    public int generateMoves(KwazamPiece piece, KwazamBoard board, int[] moves, int count) {
+        KwazamBitboard bitboard = board.getBitboard();
+        int from = KwazamBitboard.toSquare(piece.getX(), piece.getY());
+        long targets = KwazamAttackTables.torAttacks(from, bitboard.getOccupied()) & ~bitboard.getColorBoard(piece.getColor());
 
-            newX += dx;
-            newY += dy;
-        }
+        return KwazamMove.addMoves(from, targets, bitboard.getOccupied(), moves, count);
     }
 }
@@ -1,7 +1,6 @@
 package model.movements;
 
-import java.util.ArrayList;
-import java.util.List;
+import model.board.KwazamBitboard;
 import model.board.KwazamBoard;
 import model.pieces.KwazamPiece;
 
@@ -13,7 +12,7 @@ public class XorMovement implements MovementStrategy {
     // =================================================================
     // ATTRIBUTES
     // =================================================================
-    private final int[][] directions;
+    private static final XorMovement INSTANCE = new XorMovement();
 
     // =================================================================
     // CONSTRUCTION
@@ -21,77 +20,47 @@ public class XorMovement implements MovementStrategy {
     /**
      * Author(s): Lim Kar Joon
      * 
-     * Constructs an XorMovement.
-     * Initializes the possible movement directions for the Xor piece.
+     * Private constructor, use getInstance().
+     * The strategy holds no state, so one instance is shared by every Xor.
      */
-    public XorMovement() {
-        this.directions = new int[][] {
-                { 1, 1 }, // Top-right diagonal
-                { 1, -1 }, // Bottom-right diagonal
-                { -1, 1 }, // Top-left diagonal
-                { -1, -1 } // Bottom-left diagonal
-        };
+    private XorMovement() {
     }
 
     // =================================================================
-    // MOVEMENT STRATEGY IMPLEMENTATION
+    // SINGLETON INSTANCE
     // =================================================================
     /**
      * Author(s): Lim Kar Joon
      * 
-     * Gets all valid moves for the Xor piece.
+     * Gets the shared XorMovement instance.
      * 
-     * @param piece the Xor piece
-     * @param board the game board
-     * @return list of valid moves as [x, y] coordinates
+     * @return the XorMovement instance
      */
-    @Override
-    public List<int[]> getValidMoves(KwazamPiece piece, KwazamBoard board) {
-        List<int[]> validMoves = new ArrayList<>();
-        int x = piece.getX();
-        int y = piece.getY();
-
-        for (int[] direction : directions) {
-            checkDirectionalMoves(x, y, board, piece, validMoves, direction[0], direction[1]);
-        }
-
-        return validMoves;
+    public static XorMovement getInstance() {
+        return INSTANCE;
     }
 
     // =================================================================
-    // PRIVATE METHODS
+    // MOVEMENT STRATEGY IMPLEMENTATION
     // =================================================================
     /**
      * Author(s): Lim Kar Joon
      * 
-     * Checks valid moves in a specific direction for the Xor piece.
+     * Writes all valid moves for the Xor piece into the buffer.
+     * Each diagonal ray stops at the first piece, which is capturable if it is an opponent's.
      * 
-     * @param x          the starting x-coordinate
-     * @param y          the starting y-coordinate
-     * @param board      the game board
-     * @param piece      the Xor piece
-     * @param validMoves list to store valid moves
-     * @param dx         the x-direction (1 or -1)
-     * @param dy         the y-direction (1 or -1)
+     * @param piece the Xor piece
+     * @param board the game board
+     * @param moves the buffer to write the packed moves into
+     * @param count the number of moves already in the buffer
+     * @return the number of moves in the buffer after generation
      */
-    private void checkDirectionalMoves(int x, int y, KwazamBoard board, KwazamPiece piece,
-            List<int[]> validMoves, int dx, int dy) {
-        int newX = x + dx;
-        int newY = y + dy;
-
-        while (board.isWithinBounds(newX, newY)) {
-            KwazamPiece targetPiece = board.getPiece(newX, newY);
+    @Override
+    public int generateMoves(KwazamPiece piece, KwazamBoard board, int[] moves, int count) {
+        KwazamBitboard bitboard = board.getBitboard();
+        int from = KwazamBitboard.toSquare(piece.getX(), piece.getY());
+        long targets = KwazamAttackTables.xorAttacks(from, bitboard.getOccupied()) & ~bitboard.getColorBoard(piece.getColor());
 
-            if (targetPiece == null) {
-                validMoves.add(new int[] { newX, newY });
-            } else {
-                if (targetPiece.getColor() != piece.getColor()) {
-                    validMoves.add(new int[] { newX, newY });
-                }
-                break; // Stop after encountering any piece
-            }
-            newX += dx;
-            newY += dy;
-        }
+        return KwazamMove.addMoves(from, targets, bitboard.getOccupied(), moves, count);
     }
 }
@@ -100,6 +100,20 @@ public class KwazamPiece {
         return movementStrategy.getValidMoves(this, board);
     }
 
+    /**
+     * Author(s): Lim Kar Joon
+     * 
+     * Writes all valid moves for the piece into a caller-owned buffer.
+     * 
+     * @param board the game board
+     * @param moves the buffer to write the packed moves into
+     * @param count the number of moves already in the buffer
+     * @return the number of moves in the buffer after generation
+     */
+    public int generateMoves(KwazamBoard board, int[] moves, int count) {
+        return movementStrategy.generateMoves(this, board, moves, count);
+    }
+
     // =================================================================
     // SETTERS
     // =================================================================
@@ -135,4 +149,15 @@ public class KwazamPiece {
     public void setType(KwazamPieceType type) {
         this.type = type;
     }
+
+    /**
+     * Author(s): Lim Kar Joon
+     * 
+     * Sets the movement strategy of the piece.
+     * 
+     * @param movementStrategy the new movement strategy
+     */
+    public void setMovementStrategy(MovementStrategy movementStrategy) {
+        this.movementStrategy = movementStrategy;
+    }
 }
@@ -1,6 +1,7 @@
 package model.pieces;
 
 import model.movements.BizMovement;
+import model.movements.MovementStrategy;
 import model.movements.RamMovement;
 import model.movements.SauMovement;
 import model.movements.TorMovement;
@@ -12,9 +13,22 @@ import utils.KwazamPieceType;
  * Factory Pattern
  * 
  * Factory class for creating Kwazam pieces.
- * Provides a method to create pieces based on type, color, and position.
+ * Provides methods to create pieces based on type, color, and position, or
+ * from a compact piece code. Pieces share stateless movement strategies.
  */
 public final class KwazamPieceFactory {
+    // =================================================================
+    // CONSTANTS
+    // =================================================================
+    // Compact piece codes: bits 0-2 hold type + 1, bit 3 the color, bit 4 a downward Ram
+    public static final int EMPTY_CODE = 0;
+    public static final int TYPE_MASK = 0x07;
+    public static final int COLOR_SHIFT = 3;
+    public static final int RAM_DOWN_FLAG = 0x10;
+
+    private static final KwazamPieceColor[] COLORS = KwazamPieceColor.values();
+    private static final KwazamPieceType[] TYPES = KwazamPieceType.values();
+
     // =================================================================
     // CONSTRUCTION
     // =================================================================
@@ -44,15 +58,85 @@ public final class KwazamPieceFactory {
     public static KwazamPiece getPiece(KwazamPieceColor color, KwazamPieceType type, int x, int y) {
         switch (type) {
             case BIZ:
-                return new Biz(color, x, y, new BizMovement());
+                return new Biz(color, x, y, BizMovement.getInstance());
+            case RAM:
+                return new Ram(color, x, y, RamMovement.getInstance());
+            case SAU:
+                return new Sau(color, x, y, SauMovement.getInstance());
+            case TOR:
+                return new Tor(color, x, y, TorMovement.getInstance());
+            case XOR:
+                return new Xor(color, x, y, XorMovement.getInstance());
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Creates a Kwazam piece from a compact piece code, without going through
+     * the text format of the save files.
+     * 
+     * @param code the piece code (see toCode)
+     * @param x    the x-coordinate of the piece
+     * @param y    the y-coordinate of the piece
+     * @return the created piece, or null if the code is EMPTY_CODE
+     */
+    public static KwazamPiece getPiece(int code, int x, int y) {
+        if (code == EMPTY_CODE)
+            return null;
+
+        KwazamPieceColor color = COLORS[(code >> COLOR_SHIFT) & 1];
+        KwazamPieceType type = TYPES[(code & TYPE_MASK) - 1];
+        KwazamPiece piece = getPiece(color, type, x, y);
+
+        if (type == KwazamPieceType.RAM)
+            ((Ram) piece).setDirection((code & RAM_DOWN_FLAG) != 0 ? 1 : -1);
+
+        return piece;
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Encodes a piece as a compact piece code.
+     * The code holds the color, the type and, for a Ram, its direction.
+     * 
+     * @param piece the piece, or null for an empty square
+     * @return the piece code, fits in a byte
+     */
+    public static int toCode(KwazamPiece piece) {
+        if (piece == null)
+            return EMPTY_CODE;
+
+        int code = (piece.getType().ordinal() + 1) | (piece.getColor().ordinal() << COLOR_SHIFT);
+        if (piece.getType() == KwazamPieceType.RAM && ((Ram) piece).getDirection() == 1)
+            code |= RAM_DOWN_FLAG;
+
+        return code;
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets the shared movement strategy of a piece type.
+     * 
+     * @param type the type of the piece
+     * @return the shared movement strategy, or null if the type is invalid
+     */
+    public static MovementStrategy getMovementStrategy(KwazamPieceType type) {
+        switch (type) {
+            case BIZ:
+                return BizMovement.getInstance();
             case RAM:
-                return new Ram(color, x, y, new RamMovement());
+                return RamMovement.getInstance();
             case SAU:
-                return new Sau(color, x, y, new SauMovement());
+                return SauMovement.getInstance();
             case TOR:
-                return new Tor(color, x, y, new TorMovement());
+                return TorMovement.getInstance();
             case XOR:
-                return new Xor(color, x, y, new XorMovement());
+                return XorMovement.getInstance();
             default:
                 return null;
         }
@@ -7,6 +7,8 @@ import utils.KwazamPieceType;
 /**
  * Represents the Tor piece in Kwazam.
  * Inherits from KwazamPiece and uses a specific movement strategy.
+ * Every two turns the piece turns into an Xor in place, changing its type and
+ * movement strategy while keeping its identity.
  */
 public class Tor extends KwazamPiece {
     // =================================================================
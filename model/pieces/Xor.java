@@ -7,6 +7,8 @@ import utils.KwazamPieceType;
 /**
  * Represents the Xor piece in Kwazam.
  * Inherits from KwazamPiece and uses a specific movement strategy.
+ * Every two turns the piece turns into a Tor in place, changing its type and
+ * movement strategy while keeping its identity.
  */
 public class Xor extends KwazamPiece {
     // =================================================================
@@ -0,0 +1,363 @@
+package model.tablebase;
+
+import model.board.KwazamBitboard;
+import model.board.KwazamZobrist;
+
+/**
+ * A tablebase material signature and its position index.
+ * An endgame is two groups of pieces, each with exactly one Sau and at most
+ * one piece of every other kind, written as letters in the order S (Sau),
+ * T (Tor or Xor), B (Biz), R (Ram), e.g. "STvS" or "SBvSR". The first group
+ * is the stronger one: more pieces, or on a tie the earlier letters. The
+ * game has no color-specific rule, a Ram's direction is part of the
+ * position, so one table covers both color assignments; the probe maps the
+ * colors onto the groups.
+ * 
+ * Every group letter is a slot. A position index is, in mixed radix: the
+ * group to move (2), the transformation phase (4), one square per slot (40
+ * each) and one bit per Tor/Xor slot (1 for an Xor) and per Ram slot (1 for
+ * facing down). Indices where two slots share a square are unused.
+ */
+public final class KwazamEndgame {
+    // =================================================================
+    // CONSTANTS
+    // =================================================================
+    public static final int SAU = 0;
+    public static final int TOR_XOR = 1;
+    public static final int BIZ = 2;
+    public static final int RAM = 3;
+    public static final int MAX_PIECES = 4;
+
+    // Group letters, indexed by piece class
+    public static final String LETTERS = "STBR";
+    private static final String SEPARATOR = "v";
+
+    // =================================================================
+    // ATTRIBUTES
+    // =================================================================
+    private final String name;
+    private final String[] groups;
+    private final int[] slotGroups;
+    private final int[] slotClasses;
+    private final int[] bitSlots;
+    private final int size;
+
+    // =================================================================
+    // CONSTRUCTION
+    // =================================================================
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Constructs an endgame from its canonical groups.
+     * 
+     * @param strong the first group's letters
+     * @param weak   the second group's letters
+     */
+    private KwazamEndgame(String strong, String weak) {
+        this.name = strong + SEPARATOR + weak;
+        this.groups = new String[] { strong, weak };
+
+        int slots = strong.length() + weak.length();
+        this.slotGroups = new int[slots];
+        this.slotClasses = new int[slots];
+        int bits = 0;
+        for (int slot = 0; slot < slots; slot++) {
+            slotGroups[slot] = slot < strong.length() ? 0 : 1;
+            slotClasses[slot] = LETTERS.indexOf(slot < strong.length() ? strong.charAt(slot)
+                    : weak.charAt(slot - strong.length()));
+            if (hasBit(slotClasses[slot]))
+                bits++;
+        }
+
+        this.bitSlots = new int[bits];
+        for (int slot = 0, i = 0; slot < slots; slot++) {
+            if (hasBit(slotClasses[slot]))
+                bitSlots[i++] = slot;
+        }
+
+        long positions = 2L * KwazamZobrist.PHASES << bits;
+        for (int slot = 0; slot < slots; slot++)
+            positions *= KwazamBitboard.SQUARES;
+        this.size = (int) positions;
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Parses an endgame name such as "STvS". The groups may be given in
+     * either order.
+     * 
+     * @param name the endgame name
+     * @return the endgame
+     * @throws IllegalArgumentException if the name is not a valid endgame
+     */
+    public static KwazamEndgame of(String name) {
+        String[] parts = name.toUpperCase().split(SEPARATOR.toUpperCase());
+        if (parts.length != 2)
+            throw new IllegalArgumentException("Endgame names look like STvS: " + name);
+        return of(parts[0], parts[1]);
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets the endgame of two groups, in canonical order.
+     * 
+     * @param first  one group's letters
+     * @param second the other group's letters
+     * @return the endgame
+     * @throws IllegalArgumentException if a group is not valid or there are too many pieces
+     */
+    public static KwazamEndgame of(String first, String second) {
+        checkGroup(first);
+        checkGroup(second);
+        if (first.length() + second.length() > MAX_PIECES)
+            throw new IllegalArgumentException("At most " + MAX_PIECES + " pieces: " + first + SEPARATOR + second);
+
+        return isStronger(second, first) ? new KwazamEndgame(second, first) : new KwazamEndgame(first, second);
+    }
+
+    // =================================================================
+    // GETTERS
+    // =================================================================
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets the canonical name, e.g. "STvS".
+     * 
+     * @return the name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets the letters of a group.
+     * 
+     * @param group 0 for the stronger group, 1 for the other
+     * @return the letters
+     */
+    public String getGroup(int group) {
+        return groups[group];
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets the number of slots, one per piece.
+     * 
+     * @return the slot count
+     */
+    public int getSlotCount() {
+        return slotClasses.length;
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets the group a slot belongs to.
+     * 
+     * @param slot the slot
+     * @return 0 for the stronger group, 1 for the other
+     */
+    public int getSlotGroup(int slot) {
+        return slotGroups[slot];
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets the piece class of a slot.
+     * 
+     * @param slot the slot
+     * @return SAU, TOR_XOR, BIZ or RAM
+     */
+    public int getSlotClass(int slot) {
+        return slotClasses[slot];
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets the number of indices, used or not.
+     * 
+     * @return the table size
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Checks if two endgames are the same.
+     * 
+     * @param obj the other object
+     * @return true if the names match
+     */
+    @Override
+    public boolean equals(Object obj) {
+        return obj instanceof KwazamEndgame && ((KwazamEndgame) obj).name.equals(name);
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets a hash code consistent with equals.
+     * 
+     * @return the hash code
+     */
+    @Override
+    public int hashCode() {
+        return name.hashCode();
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets the canonical name.
+     * 
+     * @return the name
+     */
+    @Override
+    public String toString() {
+        return name;
+    }
+
+    // =================================================================
+    // INDEXING
+    // =================================================================
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets the index of a position.
+     * 
+     * @param side    the group to move
+     * @param phase   the transformation phase (0-3)
+     * @param squares the square of each slot
+     * @param bits    the bit of each slot: 1 for an Xor or a Ram facing down
+     * @return the position index
+     */
+    public int index(int side, int phase, int[] squares, int[] bits) {
+        int index = side * KwazamZobrist.PHASES + phase;
+        for (int square : squares)
+            index = index * KwazamBitboard.SQUARES + square;
+        for (int slot : bitSlots)
+            index = index * 2 + bits[slot];
+        return index;
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Decodes a position index.
+     * 
+     * @param index   the position index
+     * @param squares receives the square of each slot
+     * @param bits    receives the bit of each slot, 0 for slots without one
+     * @return the group to move times 4 plus the transformation phase
+     */
+    public int decode(int index, int[] squares, int[] bits) {
+        for (int i = bitSlots.length - 1; i >= 0; i--) {
+            bits[bitSlots[i]] = index & 1;
+            index >>>= 1;
+        }
+        for (int slot = squares.length - 1; slot >= 0; slot--) {
+            squares[slot] = index % KwazamBitboard.SQUARES;
+            index /= KwazamBitboard.SQUARES;
+        }
+        return index;
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets the endgame left after a slot's piece is captured. The remaining
+     * slots keep their order within each group, but the groups may swap if
+     * the other group becomes the stronger one.
+     * 
+     * @param slot the captured slot, not a Sau
+     * @return the smaller endgame
+     */
+    public KwazamEndgame without(int slot) {
+        int group = slotGroups[slot];
+        int position = group == 0 ? slot : slot - groups[0].length();
+        String reduced = groups[group].substring(0, position) + groups[group].substring(position + 1);
+        return group == 0 ? of(reduced, groups[1]) : of(groups[0], reduced);
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Checks if the groups of the endgame left after a capture are swapped
+     * relative to this one.
+     * 
+     * @param slot the captured slot
+     * @return true if this endgame's group 0 is group 1 of the smaller one
+     */
+    public boolean isSwappedWithout(int slot) {
+        int group = slotGroups[slot];
+        int position = group == 0 ? slot : slot - groups[0].length();
+        String reduced = groups[group].substring(0, position) + groups[group].substring(position + 1);
+        return group == 0 && isStronger(groups[1], reduced);
+    }
+
+    // =================================================================
+    // PRIVATE METHODS
+    // =================================================================
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Checks if a piece class has an index bit.
+     * 
+     * @param pieceClass the piece class
+     * @return true for Tor/Xor and Ram
+     */
+    private static boolean hasBit(int pieceClass) {
+        return pieceClass == TOR_XOR || pieceClass == RAM;
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Checks if a group comes before another in canonical order: more
+     * pieces first, then earlier letters.
+     * 
+     * @param group the group
+     * @param other the other group
+     * @return true if group is strictly stronger
+     */
+    private static boolean isStronger(String group, String other) {
+        if (group.length() != other.length())
+            return group.length() > other.length();
+
+        for (int i = 0; i < group.length(); i++) {
+            int difference = LETTERS.indexOf(group.charAt(i)) - LETTERS.indexOf(other.charAt(i));
+            if (difference != 0)
+                return difference < 0;
+        }
+        return false;
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Checks that a group is one Sau followed by distinct piece letters in
+     * canonical order.
+     * 
+     * @param group the group's letters
+     * @throws IllegalArgumentException if the group is not valid
+     */
+    private static void checkGroup(String group) {
+        if (group.isEmpty() || group.charAt(0) != 'S')
+            throw new IllegalArgumentException("A group starts with its Sau: " + group);
+
+        for (int i = 1; i < group.length(); i++) {
+            int letter = LETTERS.indexOf(group.charAt(i));
+            if (letter <= LETTERS.indexOf(group.charAt(i - 1)))
+                throw new IllegalArgumentException("Use the letters " + LETTERS + " once each, in order: " + group);
+        }
+    }
+}
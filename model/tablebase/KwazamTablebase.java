@@ -0,0 +1,289 @@
+package model.tablebase;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import model.KwazamPosition;
+import model.board.KwazamBitboard;
+import model.pieces.KwazamPieceFactory;
+import utils.KwazamPieceColor;
+import utils.KwazamPieceType;
+
+/**
+ * Probes the endgame tablebases in a directory.
+ * Every endgame has two files, both a 16-byte header (magic, version,
+ * position count, reserved) followed by one entry per position index:
+ * 
+ * name.wdl: 2 bits per position, four per byte from the low bits up:
+ *           0 draw, 1 win, 2 loss for the side to move, 3 unused index
+ * name.dtc: 1 byte per position, the distance to capture in plies
+ * 
+ * The files are memory-mapped when an endgame is first probed, so probing
+ * reads a few bytes and costs no heap. Files generated while the game runs
+ * are picked up on their next probe. Any thread may probe.
+ */
+public class KwazamTablebase {
+    // =================================================================
+    // CONSTANTS
+    // =================================================================
+    public static final int UNUSED = 3;
+
+    private static final int WDL_MAGIC = 0x4B5A5744; // "KZWD"
+    private static final int DTC_MAGIC = 0x4B5A4443; // "KZDC"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 16;
+    private static final String WDL_EXTENSION = ".wdl";
+    private static final String DTC_EXTENSION = ".dtc";
+
+    // Tablebase group letter of each KwazamPieceType ordinal: RAM, BIZ, TOR, XOR, SAU
+    private static final int[] TYPE_CLASSES = { KwazamEndgame.RAM, KwazamEndgame.BIZ, KwazamEndgame.TOR_XOR,
+            KwazamEndgame.TOR_XOR, KwazamEndgame.SAU };
+
+    // =================================================================
+    // ATTRIBUTES
+    // =================================================================
+    private final String directory;
+    private final Map<String, MappedByteBuffer[]> tables;
+
+    // =================================================================
+    // CONSTRUCTION
+    // =================================================================
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Constructs a prober for the tablebase files in a directory. The
+     * directory need not exist yet.
+     * 
+     * @param directory the tablebase directory
+     */
+    public KwazamTablebase(String directory) {
+        this.directory = directory;
+        this.tables = new ConcurrentHashMap<>();
+    }
+
+    // =================================================================
+    // PROBING
+    // =================================================================
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Looks up a position.
+     * 
+     * @param position the position
+     * @return the solved value, or null if no available table covers the position
+     */
+    public KwazamTablebaseResult probe(KwazamPosition position) {
+        // Square and bit of each piece, by color and tablebase class; -1 when absent
+        int[][] classSquares = new int[KwazamPieceColor.values().length][KwazamEndgame.LETTERS.length()];
+        int[][] classBits = new int[KwazamPieceColor.values().length][KwazamEndgame.LETTERS.length()];
+        for (int[] squares : classSquares)
+            Arrays.fill(squares, -1);
+
+        int pieces = 0;
+        for (int square = 0; square < KwazamBitboard.SQUARES; square++) {
+            int code = position.getPieceCode(square);
+            if (code == KwazamPieceFactory.EMPTY_CODE)
+                continue;
+
+            int type = (code & KwazamPieceFactory.TYPE_MASK) - 1;
+            int color = code >> KwazamPieceFactory.COLOR_SHIFT & 1;
+            int pieceClass = TYPE_CLASSES[type];
+            if (++pieces > KwazamEndgame.MAX_PIECES || classSquares[color][pieceClass] >= 0)
+                return null; // Too many pieces, or two of a kind
+
+            classSquares[color][pieceClass] = square;
+            if (type == KwazamPieceType.XOR.ordinal() || (code & KwazamPieceFactory.RAM_DOWN_FLAG) != 0)
+                classBits[color][pieceClass] = 1;
+        }
+
+        int blue = KwazamPieceColor.BLUE.ordinal();
+        int red = KwazamPieceColor.RED.ordinal();
+        if (classSquares[blue][KwazamEndgame.SAU] < 0 || classSquares[red][KwazamEndgame.SAU] < 0)
+            return null; // The game is over
+
+        String blueGroup = groupOf(classSquares[blue]);
+        KwazamEndgame endgame = KwazamEndgame.of(blueGroup, groupOf(classSquares[red]));
+        int[] groupColors = endgame.getGroup(0).equals(blueGroup) ? new int[] { blue, red }
+                : new int[] { red, blue };
+
+        int[] squares = new int[endgame.getSlotCount()];
+        int[] bits = new int[endgame.getSlotCount()];
+        for (int slot = 0; slot < squares.length; slot++) {
+            int color = groupColors[endgame.getSlotGroup(slot)];
+            squares[slot] = classSquares[color][endgame.getSlotClass(slot)];
+            bits[slot] = classBits[color][endgame.getSlotClass(slot)];
+        }
+
+        int side = groupColors[0] == position.getSideToMove().ordinal() ? 0 : 1;
+        return probe(endgame, endgame.index(side, position.getTransformationPhase(), squares, bits));
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Looks up a position index of an endgame.
+     * 
+     * @param endgame the endgame
+     * @param index   the position index
+     * @return the solved value, or null if the table is not available or the index is unused
+     */
+    public KwazamTablebaseResult probe(KwazamEndgame endgame, int index) {
+        MappedByteBuffer[] table = getTable(endgame);
+        if (table == null)
+            return null;
+
+        int outcome = table[0].get(HEADER_BYTES + (index >>> 2)) >> ((index & 3) * 2) & 3;
+        if (outcome == UNUSED)
+            return null;
+        return new KwazamTablebaseResult(endgame, outcome, table[1].get(HEADER_BYTES + index) & 0xFF);
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Checks if the files of an endgame are available.
+     * 
+     * @param endgame the endgame
+     * @return true if the endgame can be probed
+     */
+    public boolean isAvailable(KwazamEndgame endgame) {
+        return getTable(endgame) != null;
+    }
+
+    // =================================================================
+    // WRITING
+    // =================================================================
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Writes the files of an endgame into the directory, creating it if
+     * needed.
+     * 
+     * @param endgame   the endgame
+     * @param outcomes  the outcome of each index: DRAW, WIN, LOSS or UNUSED
+     * @param distances the distance to capture of each index
+     * @throws IOException if the files cannot be written
+     */
+    public void write(KwazamEndgame endgame, byte[] outcomes, byte[] distances) throws IOException {
+        new File(directory).mkdirs();
+
+        try (DataOutputStream out = openFile(endgame, WDL_EXTENSION, WDL_MAGIC, outcomes.length)) {
+            for (int index = 0; index < outcomes.length; index += 4) {
+                int packed = 0;
+                for (int i = 0; i < 4; i++)
+                    packed |= (index + i < outcomes.length ? outcomes[index + i] : UNUSED) << (i * 2);
+                out.writeByte(packed);
+            }
+        }
+
+        try (DataOutputStream out = openFile(endgame, DTC_EXTENSION, DTC_MAGIC, distances.length)) {
+            out.write(distances);
+        }
+        tables.remove(endgame.getName());
+    }
+
+    // =================================================================
+    // PRIVATE METHODS
+    // =================================================================
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets the letters of a color's group.
+     * 
+     * @param classSquares the square of each class, -1 when absent
+     * @return the group's letters in canonical order
+     */
+    private static String groupOf(int[] classSquares) {
+        StringBuilder group = new StringBuilder();
+        for (int pieceClass = 0; pieceClass < classSquares.length; pieceClass++) {
+            if (classSquares[pieceClass] >= 0)
+                group.append(KwazamEndgame.LETTERS.charAt(pieceClass));
+        }
+        return group.toString();
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets the mapped files of an endgame, mapping them on first use.
+     * 
+     * @param endgame the endgame
+     * @return the mapped WDL and DTC files, or null if they are missing or damaged
+     */
+    private MappedByteBuffer[] getTable(KwazamEndgame endgame) {
+        MappedByteBuffer[] table = tables.get(endgame.getName());
+        if (table != null)
+            return table;
+
+        File wdl = new File(directory, endgame.getName() + WDL_EXTENSION);
+        File dtc = new File(directory, endgame.getName() + DTC_EXTENSION);
+        if (!wdl.exists() || !dtc.exists())
+            return null;
+
+        try {
+            table = new MappedByteBuffer[] { mapFile(wdl, WDL_MAGIC, endgame.getSize(), (endgame.getSize() + 3) / 4),
+                    mapFile(dtc, DTC_MAGIC, endgame.getSize(), endgame.getSize()) };
+        } catch (IOException e) {
+            System.out.println("Error loading tablebase: " + e.getMessage());
+            return null;
+        }
+
+        tables.put(endgame.getName(), table);
+        return table;
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Maps a tablebase file and checks its header and length.
+     * 
+     * @param file      the file
+     * @param magic     the expected magic number
+     * @param positions the expected position count
+     * @param bytes     the expected data length after the header
+     * @return the mapped file
+     * @throws IOException if the file cannot be read or does not match
+     */
+    private static MappedByteBuffer mapFile(File file, int magic, int positions, int bytes) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            // The mapping stays valid after the channel is closed
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.capacity() != HEADER_BYTES + bytes || buffer.getInt(0) != magic
+                    || buffer.getInt(4) != VERSION || buffer.getInt(8) != positions)
+                throw new IOException("Not a matching tablebase file: " + file);
+            return buffer;
+        }
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Creates a tablebase file and writes its header.
+     * 
+     * @param endgame   the endgame
+     * @param extension the file extension
+     * @param magic     the magic number
+     * @param positions the position count
+     * @return the stream to write the data to
+     * @throws IOException if the file cannot be created
+     */
+    private DataOutputStream openFile(KwazamEndgame endgame, String extension, int magic, int positions)
+            throws IOException {
+        Path path = Path.of(directory, endgame.getName() + extension);
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(path.toFile())));
+        out.writeInt(magic);
+        out.writeInt(VERSION);
+        out.writeInt(positions);
+        out.writeInt(0);
+        return out;
+    }
+}
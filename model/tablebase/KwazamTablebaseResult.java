@@ -0,0 +1,97 @@
+package model.tablebase;
+
+/**
+ * The solved value of a tablebase position: win, draw or loss for the side
+ * to move with perfect play, and for a win or loss the distance to capture,
+ * the number of plies until the next capture when the winner hurries and
+ * the loser holds out. A capture of the Sau ends the game; any other capture
+ * leads into a smaller endgame, where the count starts again.
+ */
+public final class KwazamTablebaseResult {
+    // =================================================================
+    // CONSTANTS
+    // =================================================================
+    public static final int DRAW = 0;
+    public static final int WIN = 1;
+    public static final int LOSS = 2;
+
+    // =================================================================
+    // ATTRIBUTES
+    // =================================================================
+    private final KwazamEndgame endgame;
+    private final int outcome;
+    private final int distanceToCapture;
+
+    // =================================================================
+    // CONSTRUCTION
+    // =================================================================
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Constructs a result.
+     * 
+     * @param endgame           the endgame of the position
+     * @param outcome           WIN, DRAW or LOSS for the side to move
+     * @param distanceToCapture the plies to the next capture, 0 for a draw
+     */
+    public KwazamTablebaseResult(KwazamEndgame endgame, int outcome, int distanceToCapture) {
+        this.endgame = endgame;
+        this.outcome = outcome;
+        this.distanceToCapture = distanceToCapture;
+    }
+
+    // =================================================================
+    // GETTERS
+    // =================================================================
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets the endgame of the position.
+     * 
+     * @return the endgame
+     */
+    public KwazamEndgame getEndgame() {
+        return endgame;
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets the outcome for the side to move.
+     * 
+     * @return WIN, DRAW or LOSS
+     */
+    public int getOutcome() {
+        return outcome;
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets the number of plies to the next capture with perfect play.
+     * 
+     * @return the distance to capture, 0 for a draw
+     */
+    public int getDistanceToCapture() {
+        return distanceToCapture;
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets a one-line summary of the result.
+     * 
+     * @return the summary
+     */
+    @Override
+    public String toString() {
+        switch (outcome) {
+            case WIN:
+                return endgame + ": win, capture in " + distanceToCapture;
+            case LOSS:
+                return endgame + ": loss, capture in " + distanceToCapture;
+            default:
+                return endgame + ": draw";
+        }
+    }
+}
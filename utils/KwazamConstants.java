@@ -12,6 +12,22 @@ public class KwazamConstants {
     public static final int BOARD_ROWS = 8;
     public static final int BOARD_COLS = 5;
     public static final int BORDER_WIDTH = 4;
+    public static final int ADVANTAGE_BAR_WIDTH = 32;
+
+    // =================================================================
+    // COMPUTER PLAYER
+    // =================================================================
+    public static final long COMPUTER_MOVE_TIME_MILLIS = 1000;
+    public static final long[] COMPUTER_MOVE_TIME_CHOICES_MILLIS = { 500, 1000, 2000, 5000, 10000 };
+    public static final int POSITION_CACHE_MB = 16;
+    public static final int COMPUTER_THREADS = Runtime.getRuntime().availableProcessors();
+
+    // =================================================================
+    // HINTS
+    // =================================================================
+    public static final long HINT_TIME_MILLIS = 300;
+    public static final int HINT_CACHE_MB = 4;
+    public static final int HINT_CACHE_SIZE = 1024;
 
     // =================================================================
     // FILE PATHS
@@ -20,6 +36,8 @@ public class KwazamConstants {
     public static final String CAPTURE_SOUND_PATH = "/audio/capture.wav";
     public static final String WINNING_SOUND_PATH = "/audio/winning.wav";
     public static final String BACKGROUND_MUSIC_PATH = "/audio/background.wav";
+    public static final String OPENING_BOOK_FILE = "book/opening.book";
+    public static final String TABLEBASE_DIRECTORY = "tablebases";
 
     // =================================================================
     // COLORS
@@ -31,4 +49,9 @@ public class KwazamConstants {
     public static final Color BORDER_COLOR = new Color(82, 125, 107); // Deep, calm forest green
     public static final Color BACKGROUND_COLOR = new Color(233, 224, 218); // Soft pastel beige
     public static final Color VALID_MOVE_COLOR = new Color(128, 128, 128, 180); // Semi-transparent grey
+    public static final Color ADVANTAGE_BLUE_COLOR = new Color(96, 140, 200); // Muted blue
+    public static final Color ADVANTAGE_RED_COLOR = new Color(200, 96, 96); // Muted red
+    public static final Color HINT_ARROW_COLOR = new Color(255, 140, 0, 170); // Semi-transparent orange
+    public static final Color BOOK_MOVE_COLOR = new Color(60, 120, 90, 160); // Semi-transparent green
+    public static final Color SOLVED_COLOR = new Color(70, 60, 110, 200); // Semi-transparent indigo
 }
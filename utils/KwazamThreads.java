@@ -0,0 +1,48 @@
+package utils;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+/**
+ * Helpers for the worker threads of the engines and analysis tools.
+ */
+public final class KwazamThreads {
+    // =================================================================
+    // CONSTRUCTION
+    // =================================================================
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Private constructor to prevent instantiation.
+     * This is a utility class with static methods only.
+     */
+    private KwazamThreads() {
+    }
+
+    // =================================================================
+    // WAITING
+    // =================================================================
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Waits for a worker's result. An interrupt is kept on the calling
+     * thread and, like a failure of the worker, ends the wait with an
+     * unchecked exception.
+     * 
+     * @param <T>    the result type
+     * @param future the worker's pending result
+     * @param worker what the worker is, for the exception message, e.g. "search thread"
+     * @return the result
+     * @throws IllegalStateException if the wait is interrupted or the worker failed
+     */
+    public static <T> T waitFor(Future<T> future, String worker) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a " + worker, e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("A " + worker + " failed", e.getCause());
+        }
+    }
+}
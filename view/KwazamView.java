@@ -6,6 +6,7 @@ import java.util.List;
 import java.util.Optional;
 import javax.swing.JFrame;
 import utils.KwazamConstants;
+import view.components.KwazamAdvantageBar;
 import view.components.KwazamMenuBar;
 import view.dialogs.EndGameDialog;
 import view.dialogs.NewGameDialog;
@@ -28,6 +29,7 @@ public class KwazamView extends JFrame {
     // ATTRIBUTES
     // =================================================================
     private final KwazamBoardPanel boardPanel;
+    private final KwazamAdvantageBar advantageBar;
     private final KwazamMenuBar menuBar;
     private final QuitGameDialog quitGameDialog;
     private final StartGameDialog startGameDialog;
@@ -49,6 +51,7 @@ public class KwazamView extends JFrame {
      */
     public KwazamView() {
         boardPanel = new KwazamBoardPanel();
+        advantageBar = new KwazamAdvantageBar();
         menuBar = new KwazamMenuBar();
         quitGameDialog = new QuitGameDialog();
         startGameDialog = new StartGameDialog();
@@ -74,6 +77,17 @@ public class KwazamView extends JFrame {
         return boardPanel;
     }
 
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets the advantage bar.
+     * 
+     * @return the advantage bar
+     */
+    public KwazamAdvantageBar getAdvantageBar() {
+        return advantageBar;
+    }
+
     /**
      * Author(s): Ng Wei Da
      * 
@@ -115,10 +129,11 @@ public class KwazamView extends JFrame {
     /**
      * Author(s): Ng Wei Da
      * 
-     * Adds the chess board to the view.
+     * Adds the chess board to the view, with the advantage bar beside it.
      */
     public void addChessBoard() {
         add(boardPanel, BorderLayout.CENTER);
+        add(advantageBar, BorderLayout.EAST);
     }
 
     /**
@@ -0,0 +1,108 @@
+package view.components;
+
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import javax.swing.JPanel;
+import utils.KwazamConstants;
+
+/**
+ * Vertical bar showing which player is ahead.
+ * The Blue share of the bar grows with the position score and sits on Blue's
+ * side of the board, so it follows the board when it is flipped. The score
+ * is written in Rams at the end of the leading side.
+ */
+public class KwazamAdvantageBar extends JPanel {
+    // =================================================================
+    // CONSTANTS
+    // =================================================================
+    // Score at which the bar is completely filled by one side, in hundredths of a Ram
+    private static final int FULL_SCALE_SCORE = 1000;
+
+    // =================================================================
+    // ATTRIBUTES
+    // =================================================================
+    private int score;
+    private boolean flipped;
+
+    // =================================================================
+    // CONSTRUCTION
+    // =================================================================
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Constructs an advantage bar showing an even position.
+     */
+    public KwazamAdvantageBar() {
+        setPreferredSize(new Dimension(KwazamConstants.ADVANTAGE_BAR_WIDTH, 0));
+        setBackground(KwazamConstants.BACKGROUND_COLOR);
+    }
+
+    // =================================================================
+    // SETTERS
+    // =================================================================
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Sets the score to show and the board orientation.
+     * 
+     * @param score   the position score from Blue's view, in hundredths of a Ram
+     * @param flipped true if the board is flipped, with Blue at the top
+     */
+    public void setAdvantage(int score, boolean flipped) {
+        this.score = score;
+        this.flipped = flipped;
+        repaint();
+    }
+
+    // =================================================================
+    // RENDERING
+    // =================================================================
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Paints the bar along the height of the board.
+     * 
+     * @param g the graphics context
+     */
+    @Override
+    public void paintComponent(Graphics g) {
+        super.paintComponent(g);
+        Graphics2D g2 = (Graphics2D) g;
+        g2.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+
+        // Match the board, which fills 90% of the board panel's height
+        int barHeight = (int) (getHeight() * 0.9);
+        int barWidth = getWidth() / 2;
+        int x = (getWidth() - barWidth) / 2;
+        int y = (getHeight() - barHeight) / 2;
+
+        int clamped = Math.max(-FULL_SCALE_SCORE, Math.min(FULL_SCALE_SCORE, score));
+        int blueHeight = (int) (barHeight * (0.5 + clamped / (2.0 * FULL_SCALE_SCORE)));
+        int redHeight = barHeight - blueHeight;
+
+        // Blue sits at the bottom unless the board is flipped
+        g2.setColor(KwazamConstants.ADVANTAGE_RED_COLOR);
+        g2.fillRect(x, flipped ? y + blueHeight : y, barWidth, redHeight);
+        g2.setColor(KwazamConstants.ADVANTAGE_BLUE_COLOR);
+        g2.fillRect(x, flipped ? y : y + redHeight, barWidth, blueHeight);
+
+        g2.setColor(KwazamConstants.BORDER_COLOR);
+        g2.drawRect(x, y, barWidth, barHeight);
+        g2.drawLine(x - 2, y + barHeight / 2, x + barWidth + 2, y + barHeight / 2);
+
+        // Write the score at the leading side's end of the bar
+        String text = String.format("%.1f", Math.abs(score) / 100.0);
+        Font font = new Font("Arial", Font.BOLD, 10);
+        g2.setFont(font);
+        FontMetrics metrics = g2.getFontMetrics(font);
+        boolean textAtBottom = (score >= 0) != flipped;
+        g2.setColor(Color.BLACK);
+        g2.drawString(text, (getWidth() - metrics.stringWidth(text)) / 2,
+                textAtBottom ? y + barHeight + metrics.getAscent() : y - metrics.getDescent() - 1);
+    }
+}
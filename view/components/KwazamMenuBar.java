@@ -2,12 +2,16 @@ package view.components;
 
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.awt.event.KeyEvent;
 import java.io.File;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 
 import javax.swing.*;
 
 import controller.KwazamController;
+import utils.KwazamConstants;
 import utils.SoundEffect;
 
 /**
@@ -22,6 +26,7 @@ public class KwazamMenuBar extends JMenuBar {
     private final JMenu menu;
     private final JMenu help;
     private final JMenu settings;
+    private final JMenu computer;
     private final JMenuItem newGameOption;
     private final JMenuItem restartOption;
     private final JMenuItem saveGameOption;
@@ -30,6 +35,18 @@ public class KwazamMenuBar extends JMenuBar {
     private final JMenuItem toggleSoundOption;
     private final JMenuItem toggleBackgroundMusicOption;
     private final JMenuItem rulesOption;
+    private final JMenuItem computerBlueOption;
+    private final JMenuItem computerRedOption;
+    private final JMenu computerAlgorithmMenu;
+    private final JRadioButtonMenuItem computerAlphaBetaOption;
+    private final JRadioButtonMenuItem computerMonteCarloOption;
+    private final JMenu computerThreadsMenu;
+    private final JRadioButtonMenuItem[] computerThreadOptions;
+    private final JMenu computerMoveTimeMenu;
+    private final JRadioButtonMenuItem[] computerMoveTimeOptions;
+    private final JMenuItem computerPonderOption;
+    private final JMenuItem hintOption;
+    private final JMenuItem bookMovesOption;
 
     // =================================================================
     // CONSTRUCTION
@@ -56,6 +73,29 @@ public class KwazamMenuBar extends JMenuBar {
         toggleSoundOption = new JCheckBoxMenuItem("Toggle Sound");
         toggleBackgroundMusicOption = new JCheckBoxMenuItem("Toggle Background Music");
 
+        computer = new JMenu("Computer");
+        computerBlueOption = new JCheckBoxMenuItem("Computer Plays Blue");
+        computerRedOption = new JCheckBoxMenuItem("Computer Plays Red");
+        computerAlgorithmMenu = new JMenu("Algorithm");
+        computerAlphaBetaOption = new JRadioButtonMenuItem("Alpha-Beta");
+        computerAlphaBetaOption.setSelected(true);
+        computerMonteCarloOption = new JRadioButtonMenuItem("Monte Carlo Tree Search");
+        ButtonGroup algorithmGroup = new ButtonGroup();
+        algorithmGroup.add(computerAlphaBetaOption);
+        algorithmGroup.add(computerMonteCarloOption);
+        computerAlgorithmMenu.add(computerAlphaBetaOption);
+        computerAlgorithmMenu.add(computerMonteCarloOption);
+        computerThreadsMenu = new JMenu("Search Threads");
+        computerThreadOptions = createThreadOptions();
+        computerMoveTimeMenu = new JMenu("Time Per Move");
+        computerMoveTimeOptions = createMoveTimeOptions();
+        computerPonderOption = new JCheckBoxMenuItem("Think on Opponent's Time");
+        computerPonderOption.setSelected(true);
+        hintOption = new JMenuItem("Show Hint");
+        hintOption.setAccelerator(KeyStroke.getKeyStroke(KeyEvent.VK_H, 0));
+        bookMovesOption = new JCheckBoxMenuItem("Show Book Moves");
+        bookMovesOption.setSelected(true);
+
         toggleSoundOption.setSelected(true);
         toggleBackgroundMusicOption.setSelected(true);
 
@@ -80,11 +120,23 @@ public class KwazamMenuBar extends JMenuBar {
         settings.add(toggleSoundOption);
         settings.add(toggleBackgroundMusicOption);
 
+        computer.add(hintOption);
+        computer.add(bookMovesOption);
+        computer.addSeparator();
+        computer.add(computerBlueOption);
+        computer.add(computerRedOption);
+        computer.addSeparator();
+        computer.add(computerAlgorithmMenu);
+        computer.add(computerThreadsMenu);
+        computer.add(computerMoveTimeMenu);
+        computer.add(computerPonderOption);
+
         help.add(rulesOption); // Add "Game Rules" below "Quit Game"
 
         // Add menu to the menu bar
         this.add(menu);
         this.add(settings);
+        this.add(computer);
         this.add(help);
     }
 
@@ -168,6 +220,107 @@ public class KwazamMenuBar extends JMenuBar {
         return toggleBackgroundMusicOption;
     }
 
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets the "Computer Plays Blue" menu item.
+     * 
+     * @return the "Computer Plays Blue" menu item
+     */
+    public JMenuItem getComputerBlueOption() {
+        return computerBlueOption;
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets the "Computer Plays Red" menu item.
+     * 
+     * @return the "Computer Plays Red" menu item
+     */
+    public JMenuItem getComputerRedOption() {
+        return computerRedOption;
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets the "Search Threads" menu items, one per thread count. The action
+     * command of each item is its thread count.
+     * 
+     * @return the thread count menu items
+     */
+    public JRadioButtonMenuItem[] getComputerThreadOptions() {
+        return computerThreadOptions;
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets the "Show Hint" menu item.
+     * 
+     * @return the "Show Hint" menu item
+     */
+    public JMenuItem getHintOption() {
+        return hintOption;
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets the "Alpha-Beta" algorithm menu item.
+     * 
+     * @return the "Alpha-Beta" menu item
+     */
+    public JRadioButtonMenuItem getComputerAlphaBetaOption() {
+        return computerAlphaBetaOption;
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets the "Monte Carlo Tree Search" algorithm menu item.
+     * 
+     * @return the "Monte Carlo Tree Search" menu item
+     */
+    public JRadioButtonMenuItem getComputerMonteCarloOption() {
+        return computerMonteCarloOption;
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets the "Show Book Moves" menu item.
+     * 
+     * @return the "Show Book Moves" menu item
+     */
+    public JMenuItem getBookMovesOption() {
+        return bookMovesOption;
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets the "Time Per Move" menu items. The action command of each item is
+     * its time in milliseconds.
+     * 
+     * @return the move time menu items
+     */
+    public JRadioButtonMenuItem[] getComputerMoveTimeOptions() {
+        return computerMoveTimeOptions;
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Gets the "Think on Opponent's Time" menu item.
+     * 
+     * @return the "Think on Opponent's Time" menu item
+     */
+    public JMenuItem getComputerPonderOption() {
+        return computerPonderOption;
+    }
+
     /**
      * Author(s): Lam Rong Yi
      * 
@@ -182,6 +335,53 @@ public class KwazamMenuBar extends JMenuBar {
     // =================================================================
     // MENU POPULATION
     // =================================================================
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Creates the "Search Threads" items: 1, 2, 4, ... threads and the
+     * number of processors, with the default thread count selected.
+     * 
+     * @return the thread count menu items
+     */
+    private JRadioButtonMenuItem[] createThreadOptions() {
+        int processors = Runtime.getRuntime().availableProcessors();
+        List<JRadioButtonMenuItem> options = new ArrayList<>();
+        ButtonGroup group = new ButtonGroup();
+
+        for (int threads = 1; threads <= processors; threads = threads == processors ? threads + 1
+                : Math.min(threads * 2, processors)) {
+            JRadioButtonMenuItem option = new JRadioButtonMenuItem(threads + (threads == 1 ? " Thread" : " Threads"));
+            option.setActionCommand(String.valueOf(threads));
+            option.setSelected(threads == KwazamConstants.COMPUTER_THREADS);
+            group.add(option);
+            computerThreadsMenu.add(option);
+            options.add(option);
+        }
+        return options.toArray(new JRadioButtonMenuItem[0]);
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Creates the "Time Per Move" items, with the default time selected.
+     * 
+     * @return the move time menu items
+     */
+    private JRadioButtonMenuItem[] createMoveTimeOptions() {
+        long[] choices = KwazamConstants.COMPUTER_MOVE_TIME_CHOICES_MILLIS;
+        JRadioButtonMenuItem[] options = new JRadioButtonMenuItem[choices.length];
+        ButtonGroup group = new ButtonGroup();
+
+        for (int i = 0; i < choices.length; i++) {
+            options[i] = new JRadioButtonMenuItem(choices[i] / 1000.0 + " Seconds");
+            options[i].setActionCommand(String.valueOf(choices[i]));
+            options[i].setSelected(choices[i] == KwazamConstants.COMPUTER_MOVE_TIME_MILLIS);
+            group.add(options[i]);
+            computerMoveTimeMenu.add(options[i]);
+        }
+        return options;
+    }
+
     /**
      * Author(s): Lam Rong Yi
      * 
@@ -201,9 +401,9 @@ public class KwazamMenuBar extends JMenuBar {
             // Clear existing items in the load game submenu
             loadGameMenu.removeAll();
 
-            // Add each saved game as a menu item
+            // Add each saved game as a menu item, skipping other files such as annotations
             for (File file : savedGames) {
-                if (file.isFile()) {
+                if (file.isFile() && file.getName().endsWith(".txt")) {
                     JMenuItem gameItem = new JMenuItem(file.getName());
                     gameItem.addActionListener(new ActionListener() {
                         @Override
@@ -36,6 +36,9 @@ public class KwazamBoardPanel extends JPanel {
     private int sauInCheckX = -1; // X position of the Sau in check
     private int sauInCheckY = -1; // Y position of the Sau in check
     private boolean boardFlipped;
+    private int[] hintMove; // From x, from y, to x, to y of the suggested move
+    private List<int[]> bookMoves; // From x, from y, to x, to y and win rate in percent
+    private String solvedText; // Tablebase verdict of the position
 
     // =================================================================
     // CONSTRUCTION
@@ -360,6 +363,84 @@ public class KwazamBoardPanel extends JPanel {
         this.availableMoves = null;
     }
 
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Shows a suggested move as an arrow.
+     * 
+     * @param fromX the x-coordinate of the piece to move
+     * @param fromY the y-coordinate of the piece to move
+     * @param toX   the x-coordinate of the target square
+     * @param toY   the y-coordinate of the target square
+     */
+    public void setHintMove(int fromX, int fromY, int toX, int toY) {
+        this.hintMove = new int[] { fromX, fromY, toX, toY };
+        repaint();
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Clears the suggested move arrow.
+     */
+    public void clearHintMove() {
+        if (hintMove != null) {
+            this.hintMove = null;
+            repaint();
+        }
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Shows the opening book moves of the position, each as a line to its
+     * target square labelled with its win rate.
+     * 
+     * @param bookMoves the book moves as {fromX, fromY, toX, toY, win rate in percent}
+     */
+    public void setBookMoves(List<int[]> bookMoves) {
+        this.bookMoves = bookMoves;
+        repaint();
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Clears the opening book moves.
+     */
+    public void clearBookMoves() {
+        if (bookMoves != null) {
+            this.bookMoves = null;
+            repaint();
+        }
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Shows a badge saying the position is solved by the endgame tablebase.
+     * 
+     * @param solvedText the verdict, e.g. "Solved: Blue wins, capture in 7"
+     */
+    public void setSolvedText(String solvedText) {
+        if (!solvedText.equals(this.solvedText)) {
+            this.solvedText = solvedText;
+            repaint();
+        }
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Clears the solved badge.
+     */
+    public void clearSolvedText() {
+        if (solvedText != null) {
+            this.solvedText = null;
+            repaint();
+        }
+    }
+
     // =================================================================
     // BOARD RENDERING
     // =================================================================
@@ -499,6 +580,124 @@ public class KwazamBoardPanel extends JPanel {
                 g2.fillOval(centerX - circleRadius, centerY - circleRadius, 2 * circleRadius, 2 * circleRadius);
             }
         }
+
+        // Draw the book moves and the suggested move over the pieces
+        if (bookMoves != null) {
+            drawBookMoves(g2);
+        }
+        if (hintMove != null) {
+            drawHintArrow(g2);
+        }
+        if (solvedText != null) {
+            drawSolvedBadge(g2);
+        }
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Draws the solved badge centred at the top of the board.
+     * 
+     * @param g2 the graphics context
+     */
+    private void drawSolvedBadge(Graphics2D g2) {
+        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        Font font = new Font("Arial", Font.BOLD, Math.max(squareSize / 5, 10));
+        g2.setFont(font);
+        FontMetrics metrics = g2.getFontMetrics(font);
+
+        int badgeWidth = metrics.stringWidth(solvedText) + 12;
+        int badgeHeight = metrics.getHeight() + 4;
+        int badgeX = xOffset + (KwazamConstants.BOARD_COLS * squareSize - badgeWidth) / 2;
+        int badgeY = yOffset + 4;
+
+        g2.setColor(KwazamConstants.SOLVED_COLOR);
+        g2.fillRoundRect(badgeX, badgeY, badgeWidth, badgeHeight, 10, 10);
+        g2.setColor(Color.WHITE);
+        g2.drawString(solvedText, badgeX + 6, badgeY + 2 + metrics.getAscent());
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Draws the opening book moves as lines from the pieces to their
+     * targets, with the win rate at the target.
+     * 
+     * @param g2 the graphics context
+     */
+    private void drawBookMoves(Graphics2D g2) {
+        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g2.setStroke(new BasicStroke(Math.max(squareSize / 20f, 2f), BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND));
+        Font font = new Font("Arial", Font.BOLD, Math.max(squareSize / 6, 9));
+        g2.setFont(font);
+        FontMetrics metrics = g2.getFontMetrics(font);
+
+        // Labels already drawn per target square, to stack moves with the same target
+        int[][] labelCounts = new int[KwazamConstants.BOARD_ROWS][KwazamConstants.BOARD_COLS];
+
+        for (int[] move : bookMoves) {
+            int fromX = boardFlipped ? KwazamConstants.BOARD_COLS - 1 - move[0] : move[0];
+            int fromY = boardFlipped ? KwazamConstants.BOARD_ROWS - 1 - move[1] : move[1];
+            int toX = boardFlipped ? KwazamConstants.BOARD_COLS - 1 - move[2] : move[2];
+            int toY = boardFlipped ? KwazamConstants.BOARD_ROWS - 1 - move[3] : move[3];
+
+            int startX = xOffset + fromX * squareSize + squareSize / 2;
+            int startY = yOffset + fromY * squareSize + squareSize / 2;
+            int endX = xOffset + toX * squareSize + squareSize / 2;
+            int endY = yOffset + toY * squareSize + squareSize / 2;
+
+            g2.setColor(KwazamConstants.BOOK_MOVE_COLOR);
+            g2.drawLine(startX, startY, endX, endY);
+
+            // Label the target square with the win rate on a filled tag
+            String label = move[4] + "%";
+            int labelWidth = metrics.stringWidth(label) + 6;
+            int labelHeight = metrics.getHeight();
+            int labelX = endX - labelWidth / 2;
+            int labelY = endY - labelHeight / 2 + labelCounts[toY][toX]++ * (labelHeight + 1);
+            g2.fillRoundRect(labelX, labelY, labelWidth, labelHeight, 6, 6);
+            g2.setColor(Color.WHITE);
+            g2.drawString(label, labelX + 3, labelY + metrics.getAscent());
+        }
+    }
+
+    /**
+     * Author(s): Ng Wei Da
+     * 
+     * Draws the suggested move as an arrow from the piece to its target.
+     * 
+     * @param g2 the graphics context
+     */
+    private void drawHintArrow(Graphics2D g2) {
+        int fromX = boardFlipped ? KwazamConstants.BOARD_COLS - 1 - hintMove[0] : hintMove[0];
+        int fromY = boardFlipped ? KwazamConstants.BOARD_ROWS - 1 - hintMove[1] : hintMove[1];
+        int toX = boardFlipped ? KwazamConstants.BOARD_COLS - 1 - hintMove[2] : hintMove[2];
+        int toY = boardFlipped ? KwazamConstants.BOARD_ROWS - 1 - hintMove[3] : hintMove[3];
+
+        // Square centres
+        double startX = xOffset + fromX * squareSize + squareSize / 2.0;
+        double startY = yOffset + fromY * squareSize + squareSize / 2.0;
+        double endX = xOffset + toX * squareSize + squareSize / 2.0;
+        double endY = yOffset + toY * squareSize + squareSize / 2.0;
+
+        double angle = Math.atan2(endY - startY, endX - startX);
+        double headLength = squareSize / 3.0;
+        double headWidth = squareSize / 5.0;
+
+        // Stop the shaft at the base of the head, so the two do not overlap
+        double baseX = endX - headLength * Math.cos(angle);
+        double baseY = endY - headLength * Math.sin(angle);
+
+        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g2.setColor(KwazamConstants.HINT_ARROW_COLOR);
+        g2.setStroke(new BasicStroke(Math.max(squareSize / 10f, 3f), BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND));
+        g2.drawLine((int) startX, (int) startY, (int) baseX, (int) baseY);
+
+        int[] headXs = { (int) endX, (int) (baseX + headWidth * Math.sin(angle)),
+                (int) (baseX - headWidth * Math.sin(angle)) };
+        int[] headYs = { (int) endY, (int) (baseY - headWidth * Math.cos(angle)),
+                (int) (baseY + headWidth * Math.cos(angle)) };
+        g2.fillPolygon(headXs, headYs, 3);
     }
 
     /**